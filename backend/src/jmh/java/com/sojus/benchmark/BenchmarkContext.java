@@ -0,0 +1,98 @@
+package com.sojus.benchmark;
+
+import com.sojus.SojusApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contexto Spring compartido por los benchmarks JMH: levanta la aplicación sin servidor web
+ * sobre una H2 en memoria propia y la siembra a escala realista ({@value #TICKETS} tickets,
+ * {@value #HARDWARE} equipos) con inserts JDBC por lotes, sobre los datos de DataInitializer.
+ */
+public final class BenchmarkContext {
+
+    public static final int TICKETS = 100_000;
+    public static final int HARDWARE = 20_000;
+
+    private static final int BATCH = 1_000;
+    private static final String[] STATUSES = {"SOLICITADO", "ASIGNADO", "EN_CURSO", "CERRADO", "CERRADO", "CERRADO"};
+    private static final String[] PRIORIDADES = {"BAJA", "MEDIA", "MEDIA", "ALTA"};
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SojusApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos de línea de comandos para que prevalezcan sobre application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:sojus-jmh;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.sojus=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        List<Long> juzgados = jdbc.queryForList("SELECT id FROM juzgados ORDER BY id", Long.class);
+        Long solicitante = jdbc.queryForObject("SELECT id FROM users WHERE username = 'operador'", Long.class);
+        Long tecnico = jdbc.queryForObject("SELECT id FROM users WHERE username = 'tecnico'", Long.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 0; i < HARDWARE; i++) {
+            rows.add(new Object[]{String.format("JMH-%06d", i), "SN-" + i, i % 3 == 0 ? "IMPRESORA" : "PC",
+                    "Escritorio", "Marca " + (i % 7), "Modelo " + (i % 11), "ACTIVO",
+                    juzgados.get(i % juzgados.size()), "Oficina " + (i % 40), now});
+            if (rows.size() == BATCH) {
+                insertHardware(jdbc, rows);
+            }
+        }
+        insertHardware(jdbc, rows);
+
+        List<Long> hardware = jdbc.queryForList(
+                "SELECT id FROM hardware WHERE inventario_patrimonial LIKE 'JMH-%' ORDER BY id", Long.class);
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        for (int i = 0; i < TICKETS; i++) {
+            String status = STATUSES[i % STATUSES.length];
+            // Un ticket activo como máximo por equipo; los cerrados no referencian hardware
+            Long hw = !"CERRADO".equals(status) && i < hardware.size() ? hardware.get(i) : null;
+            rows.add(new Object[]{"Ticket de carga " + i,
+                    "Descripción del incidente número " + i + " reportado por el juzgado",
+                    status, PRIORIDADES[i % PRIORIDADES.length], juzgados.get(i % juzgados.size()),
+                    solicitante, "SOLICITADO".equals(status) ? null : tecnico, hw,
+                    0, "WEB",
+                    Timestamp.valueOf(base.plusSeconds(i * 300L))});
+            if (rows.size() == BATCH) {
+                insertTickets(jdbc, rows);
+            }
+        }
+        insertTickets(jdbc, rows);
+    }
+
+    private static void insertHardware(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("""
+                INSERT INTO hardware (inventario_patrimonial, numero_serie, clase, tipo, marca, modelo,
+                                      estado, juzgado_id, ubicacion_fisica, created_at, deleted, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0)
+                """, rows);
+        rows.clear();
+    }
+
+    private static void insertTickets(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("""
+                INSERT INTO tickets (asunto, descripcion, status, prioridad, juzgado_id, solicitante_id,
+                                     tecnico_asignado_id, hardware_id, bitacora_count, canal, created_at, deleted, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0)
+                """, rows);
+        rows.clear();
+    }
+}
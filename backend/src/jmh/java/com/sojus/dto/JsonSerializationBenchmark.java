@@ -0,0 +1,74 @@
+package com.sojus.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.benchmark.BenchmarkContext;
+import com.sojus.domain.entity.Hardware;
+import com.sojus.service.TicketService;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON con el ObjectMapper de la aplicación de lo que devuelven los listados:
+ * 1000 TicketResponse y 1000 entidades Hardware (con juzgado inicializado).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int ITEMS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<TicketResponse> tickets;
+    private List<Hardware> hardware;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        tickets = context.getBean(TicketService.class).findAll().subList(0, ITEMS);
+        var em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            hardware = em.createQuery("SELECT h FROM Hardware h LEFT JOIN FETCH h.juzgado ORDER BY h.id",
+                            Hardware.class)
+                    .setMaxResults(ITEMS)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] ticketResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public byte[] hardwareEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(hardware);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sojus.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de autenticación por request en JwtAuthenticationFilter: el camino anterior (tres
+ * parsers nuevos, tres verificaciones HMAC) contra {@link JwtTokenProvider#parseToken} sin caché
+ * (una verificación) y con caché de tokens verificados (solo SHA-256 del token).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "DefaultDevSecretKeyThatMustBeChangedInProduction2024!!";
+
+    private SecretKey key;
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = new JwtTokenProvider(SECRET, 86_400_000L, 0);
+        cached = new JwtTokenProvider(SECRET, 86_400_000L, 10_000);
+        token = cached.generateToken("tecnico", "TECNICO");
+    }
+
+    /** Camino anterior: validateToken + getUsernameFromToken + getRoleFromToken. */
+    @Benchmark
+    public void tripleParse(Blackhole bh) {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        bh.consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject());
+        bh.consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload()
+                .get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtClaims parseOnce() {
+        return uncached.parseToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public JwtClaims parseOnceCached() {
+        return cached.parseToken(token).orElseThrow();
+    }
+}
@@ -0,0 +1,55 @@
+package com.sojus.service;
+
+import com.sojus.benchmark.BenchmarkContext;
+import com.sojus.dto.LoginRequest;
+import com.sojus.dto.LoginResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login completo por {@link AuthService#login}: búsqueda del usuario, BCrypt y emisión del JWT.
+ * El costo lo domina BCrypt, así que un cambio de strength se ve aquí.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthLoginBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private LoginRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        authService = context.getBean(AuthService.class);
+        request = new LoginRequest();
+        request.setUsername("operador");
+        request.setPassword("oper123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoginResponse login() {
+        return authService.login(request);
+    }
+}
@@ -0,0 +1,85 @@
+package com.sojus.service;
+
+import com.sojus.benchmark.BenchmarkContext;
+import com.sojus.domain.entity.Ticket;
+import com.sojus.domain.entity.User;
+import com.sojus.dto.TicketPageResponse;
+import com.sojus.dto.TicketResponse;
+import com.sojus.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de tickets sobre 100k filas: mapeo {@link TicketService#toResponse} de entidades ya
+ * hidratadas, listado completo por proyección y primera página por keyset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketReadBenchmark {
+
+    private static final int MAPPED = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private User admin;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        ticketService = context.getBean(TicketService.class);
+        admin = context.getBean(UserRepository.class).findByUsernameAndDeletedFalse("admin").orElseThrow();
+        var em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            tickets = em.createQuery("""
+                            SELECT t FROM Ticket t
+                            LEFT JOIN FETCH t.juzgado LEFT JOIN FETCH t.solicitante
+                            LEFT JOIN FETCH t.tecnicoAsignado LEFT JOIN FETCH t.hardwareAfectado
+                            ORDER BY t.id""", Ticket.class)
+                    .setMaxResults(MAPPED)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<TicketResponse> toResponse() {
+        return tickets.stream().map(ticketService::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<TicketResponse> findAllProjection() {
+        return ticketService.findAll();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TicketPageResponse firstPage() {
+        return ticketService.findPageForUser(admin, null, 50);
+    }
+}
@@ -0,0 +1,62 @@
+package com.sojus.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantenimiento de las particiones mensuales de {@code audit_log} en PostgreSQL: crea por adelantado
+ * las de los próximos {@code app.audit.partitions.months-ahead} meses y, si
+ * {@code app.audit.partitions.retention-months} es mayor que cero, desprende y elimina las que
+ * quedaron fuera de la retención. Delega en las funciones {@code fn_audit_log_*} del DDL, que son
+ * idempotentes; corre al arrancar y una vez por día.
+ * <p>
+ * La tabla particionada y esas funciones solo existen si la base se creó con
+ * {@code database/schemas/V001__complete_ddl.sql}; con el DDL de Hibernate no hay nada que
+ * mantener. Por eso se activa explícitamente con {@code app.audit.partitions.enabled}, y un fallo
+ * se registra sin impedir el arranque.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.partitions.enabled", havingValue = "true")
+@Slf4j
+public class AuditPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public AuditPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.audit.partitions.months-ahead:3}") int monthsAhead,
+                                     @Value("${app.audit.partitions.retention-months:60}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.audit.partitions.cron:0 15 2 * * *}")
+    public void maintain() {
+        try {
+            // Mes en curso más los siguientes
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT fn_audit_log_crear_particiones(CURRENT_DATE, ?)", Integer.class, monthsAhead + 1);
+            Integer dropped = 0;
+            if (retentionMonths > 0) {
+                dropped = jdbcTemplate.queryForObject(
+                        "SELECT fn_audit_log_purgar_particiones(?)", Integer.class, retentionMonths);
+            }
+            if ((created != null && created > 0) || (dropped != null && dropped > 0)) {
+                log.info("Particiones de auditoría: {} creadas, {} eliminadas por retención", created, dropped);
+            }
+        } catch (DataAccessException e) {
+            // Sin las funciones de V001 (o con la BD caída) se reintenta en la próxima corrida
+            log.error("No se pudieron mantener las particiones de auditoría: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sojus.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traslada la bitácora heredada ({@code tickets.bitacora}, texto "[yyyy-MM-dd HH:mm] usuario: comentario"
+ * por línea) a filas de {@code ticket_bitacora}. Procesa lotes de tickets, cada uno en su propia
+ * transacción, y vacía la columna al migrar: es idempotente y retoma donde quedó si se interrumpe.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BitacoraMigration {
+
+    private static final int BATCH_SIZE = 500;
+    /** El autor es un nombre de usuario: sin espacios y dentro de {@code ticket_bitacora.autor}. */
+    private static final Pattern LINE =
+            Pattern.compile("^\\[(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2})] ([\\w.@-]{1,50}): ?(.*)$");
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int tickets = 0;
+        int entries = 0;
+        while (true) {
+            int[] migrated = tx.execute(status -> migrateBatch());
+            if (migrated == null || migrated[0] == 0) {
+                break;
+            }
+            tickets += migrated[0];
+            entries += migrated[1];
+        }
+        if (tickets > 0) {
+            log.info("Bitácora heredada migrada: {} tickets, {} entradas", tickets, entries);
+        }
+    }
+
+    /** Migra un lote; devuelve {tickets, entradas}. */
+    private int[] migrateBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, bitacora, created_at FROM tickets WHERE bitacora IS NOT NULL ORDER BY id LIMIT ?",
+                BATCH_SIZE);
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Long ticketId = ((Number) row.get("id")).longValue();
+            Timestamp createdAt = (Timestamp) row.get("created_at");
+            List<Entry> parsed = parse((String) row.get("bitacora"),
+                    createdAt != null ? createdAt.toLocalDateTime() : LocalDateTime.now());
+            for (Entry e : parsed) {
+                inserts.add(new Object[]{ticketId, e.autor(), e.texto(), Timestamp.valueOf(e.createdAt())});
+            }
+            updates.add(new Object[]{parsed.size(), ticketId});
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO ticket_bitacora (ticket_id, autor, texto, created_at) VALUES (?, ?, ?, ?)", inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE tickets SET bitacora = NULL, bitacora_count = bitacora_count + ?, "
+                    + "version = version + 1 WHERE id = ?", updates);
+        }
+        return new int[]{rows.size(), inserts.size()};
+    }
+
+    /**
+     * Separa el texto heredado en entradas. Las líneas sin encabezado "[fecha] usuario:" continúan
+     * la entrada anterior; si no hay ninguna, forman una entrada sin autor con la fecha del ticket.
+     * Una nota con fecha cuyo texto antes de los dos puntos no es un usuario (tiene espacios o supera
+     * el largo de la columna) también es texto libre.
+     */
+    static List<Entry> parse(String legacy, LocalDateTime fallback) {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : legacy.split("\\R")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Matcher m = LINE.matcher(line);
+            LocalDateTime at = null;
+            if (m.matches()) {
+                try {
+                    at = LocalDateTime.parse(m.group(1), FMT);
+                } catch (DateTimeParseException ignored) {
+                    // Se trata como texto libre
+                }
+            }
+            if (at != null) {
+                entries.add(new Entry(m.group(2), m.group(3), at));
+            } else if (!entries.isEmpty()) {
+                Entry last = entries.remove(entries.size() - 1);
+                entries.add(new Entry(last.autor(), last.texto() + "\n" + line, last.createdAt()));
+            } else {
+                entries.add(new Entry(null, line, fallback));
+            }
+        }
+        return entries;
+    }
+
+    record Entry(String autor, String texto, LocalDateTime createdAt) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.sojus.config;
 
+import com.sojus.domain.entity.BitacoraEntry;
 import com.sojus.domain.entity.Circunscripcion;
 import com.sojus.domain.entity.Contract;
 import com.sojus.domain.entity.Distrito;
 import com.sojus.domain.entity.Edificio;
 import com.sojus.domain.entity.Hardware;
 import com.sojus.domain.entity.Juzgado;
+import com.sojus.domain.entity.PriorityRule;
 import com.sojus.domain.entity.Software;
 import com.sojus.domain.entity.Ticket;
 import com.sojus.domain.entity.User;
@@ -13,10 +15,12 @@ import com.sojus.domain.enums.AssetStatus;
 import com.sojus.domain.enums.Priority;
 import com.sojus.domain.enums.RoleName;
 import com.sojus.domain.enums.TicketStatus;
+import com.sojus.repository.BitacoraEntryRepository;
 import com.sojus.repository.CircunscripcionRepository;
 import com.sojus.repository.ContractRepository;
 import com.sojus.repository.HardwareRepository;
 import com.sojus.repository.JuzgadoRepository;
+import com.sojus.repository.PriorityRuleRepository;
 import com.sojus.repository.SoftwareRepository;
 import com.sojus.repository.TicketRepository;
 import com.sojus.repository.UserRepository;
@@ -27,6 +31,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -40,6 +46,8 @@ public class DataInitializer implements CommandLineRunner {
         private final SoftwareRepository softwareRepository;
         private final ContractRepository contractRepository;
         private final TicketRepository ticketRepository;
+        private final BitacoraEntryRepository bitacoraEntryRepository;
+        private final PriorityRuleRepository priorityRuleRepository;
         private final PasswordEncoder passwordEncoder;
 
         @Override
@@ -163,15 +171,25 @@ public class DataInitializer implements CommandLineRunner {
                                 .coberturaSw("Office 365, Windows, Azure AD").slaDescripcion("Mesa de ayuda 24/7")
                                 .build());
 
+                // ---- Reglas de prioridad ----
+                priorityRuleRepository.saveAll(List.of(
+                                PriorityRule.builder().keyword("juez").prioridad(Priority.ALTA).build(),
+                                PriorityRule.builder().keyword("audiencia").prioridad(Priority.ALTA).build(),
+                                PriorityRule.builder().keyword("sala").prioridad(Priority.ALTA).build()));
+
                 // ---- Tickets ----
-                ticketRepository.save(Ticket.builder()
+                Ticket impresora = ticketRepository.save(Ticket.builder()
                                 .asunto("Impresora no funciona en Secretaría")
                                 .descripcion("La impresora del puesto del Secretario no enciende desde ayer.")
                                 .prioridad(Priority.MEDIA).juzgado(juz1).solicitante(operador)
                                 .tecnicoAsignado(tecnico).status(TicketStatus.ASIGNADO)
                                 .hardwareAfectado(hw3).canal("WEB")
-                                .bitacora("[2026-02-25 09:00] operador: Creado el ticket\n[2026-02-25 09:15] admin: Asignado a Ana Martínez\n")
+                                .bitacoraCount(2)
                                 .build());
+                bitacoraEntryRepository.save(bitacora(impresora, "operador", "Creado el ticket",
+                                LocalDateTime.of(2026, 2, 25, 9, 0)));
+                bitacoraEntryRepository.save(bitacora(impresora, "admin", "Asignado a Ana Martínez",
+                                LocalDateTime.of(2026, 2, 25, 9, 15)));
 
                 ticketRepository.save(Ticket.builder()
                                 .asunto("PC del Juez no inicia - Sala de Audiencias")
@@ -187,16 +205,24 @@ public class DataInitializer implements CommandLineRunner {
                                 .tecnicoAsignado(tecnico).status(TicketStatus.EN_CURSO)
                                 .canal("PORTAL").build());
 
-                ticketRepository.save(Ticket.builder()
+                Ticket lexDoctor = ticketRepository.save(Ticket.builder()
                                 .asunto("Instalación de LEX Doctor en nueva PC")
                                 .descripcion("Instalar LEX Doctor 12.0 en la nueva PC del Juzgado Laboral.")
                                 .prioridad(Priority.MEDIA).juzgado(juz3).solicitante(operador)
                                 .tecnicoAsignado(tecnico).status(TicketStatus.CERRADO)
                                 .canal("WEB")
-                                .bitacora("[2026-02-20 10:00] operador: Solicitud de instalación\n[2026-02-21 14:30] tecnico: Instalación completada\n")
+                                .bitacoraCount(2)
                                 .build());
+                bitacoraEntryRepository.save(bitacora(lexDoctor, "operador", "Solicitud de instalación",
+                                LocalDateTime.of(2026, 2, 20, 10, 0)));
+                bitacoraEntryRepository.save(bitacora(lexDoctor, "tecnico", "Instalación completada",
+                                LocalDateTime.of(2026, 2, 21, 14, 30)));
 
                 log.info("✅ Datos de demostración cargados exitosamente");
                 log.info("   👤 Usuarios de demo creados (ver documentación para credenciales)");
         }
+
+        private static BitacoraEntry bitacora(Ticket ticket, String autor, String texto, LocalDateTime createdAt) {
+                return BitacoraEntry.builder().ticket(ticket).autor(autor).texto(texto).createdAt(createdAt).build();
+        }
 }
@@ -0,0 +1,12 @@
+package com.sojus.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas ({@code @Scheduled}) de los servicios.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,20 @@
 package com.sojus.controller;
 
 import com.sojus.domain.entity.AuditLog;
+import com.sojus.dto.AuditChainReport;
+import com.sojus.dto.AuditFilter;
+import com.sojus.dto.AuditPageResponse;
+import com.sojus.service.AuditChainVerifier;
 import com.sojus.service.AuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,6 +25,7 @@ import java.util.List;
 public class AuditController {
 
     private final AuditService auditService;
+    private final AuditChainVerifier auditChainVerifier;
 
     @GetMapping
     @Operation(summary = "Últimos 100 registros de auditoría")
@@ -26,6 +33,23 @@ public class AuditController {
         return ResponseEntity.ok(auditService.findRecent());
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Buscar en la auditoría por usuario, acción, entidad, campo y rango [desde, hasta), "
+            + "paginado por cursor (timestamp DESC, id DESC)")
+    public ResponseEntity<AuditPageResponse> search(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityName,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String field,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        AuditFilter filter = new AuditFilter(username, action, entityName, entityId, field, desde, hasta);
+        return ResponseEntity.ok(auditService.search(filter, cursor, size));
+    }
+
     @GetMapping("/entity/{entityName}/{entityId}")
     @Operation(summary = "Historial de una entidad específica")
     public ResponseEntity<List<AuditLog>> findByEntity(
@@ -33,4 +57,10 @@ public class AuditController {
             @PathVariable Long entityId) {
         return ResponseEntity.ok(auditService.findByEntity(entityName, entityId));
     }
+
+    @PostMapping("/verify")
+    @Operation(summary = "Verificar la cadena de hashes de la auditoría desde el último checkpoint válido")
+    public ResponseEntity<AuditChainReport> verify() {
+        return ResponseEntity.ok(auditChainVerifier.verify());
+    }
 }
@@ -2,16 +2,32 @@ package com.sojus.controller;
 
 import com.sojus.domain.entity.Hardware;
 import com.sojus.domain.entity.Software;
+import com.sojus.domain.entity.User;
+import com.sojus.dto.ExportFilter;
+import com.sojus.dto.HardwareImportResult;
+import com.sojus.dto.HardwareImportRow;
+import com.sojus.service.ExportFormat;
+import com.sojus.service.ExportService;
+import com.sojus.service.IdempotencyStore;
 import com.sojus.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,6 +37,8 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final ExportService exportService;
+    private final IdempotencyStore idempotencyStore;
 
     // ---- Hardware ----
 
@@ -30,6 +48,19 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.findAllHardware());
     }
 
+    @GetMapping("/hardware/export")
+    @Operation(summary = "Exportar hardware en streaming (CSV o NDJSON), filtrable por juzgado, estado y fechas")
+    public ResponseEntity<StreamingResponseBody> exportHardware(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long juzgadoId,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        ExportFilter filter = new ExportFilter(juzgadoId, estado, desde, hasta);
+        return attachment("hardware", exportFormat, exportService.exportHardware(filter, exportFormat));
+    }
+
     @GetMapping("/hardware/{id}")
     @Operation(summary = "Obtener hardware por ID")
     public ResponseEntity<Hardware> findHardwareById(@PathVariable Long id) {
@@ -38,9 +69,28 @@ public class InventoryController {
 
     @PostMapping("/hardware")
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'TECNICO')")
-    @Operation(summary = "Crear nuevo hardware")
-    public ResponseEntity<Hardware> createHardware(@Valid @RequestBody Hardware hardware) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(inventoryService.createHardware(hardware));
+    @Operation(summary = "Crear nuevo hardware (un reintento con la misma Idempotency-Key repite la respuesta)")
+    public ResponseEntity<Hardware> createHardware(
+            @Valid @RequestBody Hardware hardware,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal User user) {
+        return idempotencyStore.execute(idempotencyKey, user.getUsername(), "POST /api/inventory/hardware",
+                hardware, Hardware.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(inventoryService.createHardware(hardware)));
+    }
+
+    @PostMapping(value = "/hardware/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'TECNICO')")
+    @Operation(summary = "Importación masiva de hardware (array JSON)")
+    public ResponseEntity<HardwareImportResult> importHardware(@RequestBody List<HardwareImportRow> rows) {
+        return ResponseEntity.ok(inventoryService.importHardware(rows));
+    }
+
+    @PostMapping(value = "/hardware/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'TECNICO')")
+    @Operation(summary = "Importación masiva de hardware (CSV con encabezado)")
+    public ResponseEntity<HardwareImportResult> importHardwareCsv(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(inventoryService.importHardwareCsv(request.getReader()));
     }
 
     @PutMapping("/hardware/{id}")
@@ -66,6 +116,18 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.findAllSoftware());
     }
 
+    @GetMapping("/software/export")
+    @Operation(summary = "Exportar software en streaming (CSV o NDJSON), filtrable por estado y fechas")
+    public ResponseEntity<StreamingResponseBody> exportSoftware(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        ExportFilter filter = new ExportFilter(null, estado, desde, hasta);
+        return attachment("software", exportFormat, exportService.exportSoftware(filter, exportFormat));
+    }
+
     @GetMapping("/software/{id}")
     @Operation(summary = "Obtener software por ID")
     public ResponseEntity<Software> findSoftwareById(@PathVariable Long id) {
@@ -93,4 +155,13 @@ public class InventoryController {
         inventoryService.softDeleteSoftware(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+                                                                    StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "-" + LocalDate.now() + "." + format.getExtension()).build().toString())
+                .body(body);
+    }
 }
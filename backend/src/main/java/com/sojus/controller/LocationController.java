@@ -1,16 +1,18 @@
 package com.sojus.controller;
 
-import com.sojus.domain.entity.Circunscripcion;
-import com.sojus.domain.entity.Juzgado;
 import com.sojus.service.LocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
+/**
+ * Las respuestas salen de la instantánea de LocationService con su ETag: si coincide con
+ * If-None-Match, Spring MVC responde 304 sin cuerpo.
+ */
 @RestController
 @RequestMapping("/api/locations")
 @RequiredArgsConstructor
@@ -21,19 +23,27 @@ public class LocationController {
 
     @GetMapping("/circunscripciones")
     @Operation(summary = "Listar circunscripciones con su jerarquía")
-    public ResponseEntity<List<Circunscripcion>> findCircunscripciones() {
-        return ResponseEntity.ok(locationService.findAllCircunscripciones());
+    public ResponseEntity<byte[]> findCircunscripciones() {
+        return json(locationService.circunscripciones());
     }
 
     @GetMapping("/juzgados")
     @Operation(summary = "Listar todos los juzgados activos")
-    public ResponseEntity<List<Juzgado>> findJuzgados() {
-        return ResponseEntity.ok(locationService.findAllJuzgados());
+    public ResponseEntity<byte[]> findJuzgados() {
+        return json(locationService.juzgados());
     }
 
     @GetMapping("/edificios/{edificioId}/juzgados")
     @Operation(summary = "Listar juzgados de un edificio")
-    public ResponseEntity<List<Juzgado>> findJuzgadosByEdificio(@PathVariable Long edificioId) {
-        return ResponseEntity.ok(locationService.findJuzgadosByEdificio(edificioId));
+    public ResponseEntity<byte[]> findJuzgadosByEdificio(@PathVariable Long edificioId) {
+        return json(locationService.juzgadosByEdificio(edificioId));
+    }
+
+    private static ResponseEntity<byte[]> json(LocationService.Body body) {
+        return ResponseEntity.ok()
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.json());
     }
 }
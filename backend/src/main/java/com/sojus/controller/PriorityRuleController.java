@@ -0,0 +1,56 @@
+package com.sojus.controller;
+
+import com.sojus.domain.entity.PriorityRule;
+import com.sojus.service.PriorityRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/priority-rules")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMINISTRADOR')")
+@Tag(name = "Reglas de Prioridad", description = "Palabras clave que elevan la prioridad de los tickets nuevos")
+public class PriorityRuleController {
+
+    private final PriorityRuleService priorityRuleService;
+
+    @GetMapping
+    @Operation(summary = "Listar reglas de prioridad")
+    public ResponseEntity<List<PriorityRule>> findAll() {
+        return ResponseEntity.ok(priorityRuleService.findAll());
+    }
+
+    @GetMapping("/hits")
+    @Operation(summary = "Coincidencias por palabra clave activa desde el arranque")
+    public ResponseEntity<Map<String, Long>> hits() {
+        return ResponseEntity.ok(priorityRuleService.hits());
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear regla de prioridad")
+    public ResponseEntity<PriorityRule> create(@Valid @RequestBody PriorityRule rule) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(priorityRuleService.create(rule));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Actualizar regla de prioridad")
+    public ResponseEntity<PriorityRule> update(@PathVariable Long id, @Valid @RequestBody PriorityRule rule) {
+        return ResponseEntity.ok(priorityRuleService.update(id, rule));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Desactivar regla de prioridad")
+    public ResponseEntity<Void> deactivate(@PathVariable Long id) {
+        priorityRuleService.deactivate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,20 +1,38 @@
 package com.sojus.controller;
 
 import com.sojus.domain.entity.User;
+import com.sojus.dto.BitacoraEntryResponse;
+import com.sojus.dto.BitacoraPageResponse;
+import com.sojus.dto.BitacoraRequest;
+import com.sojus.dto.BulkTicketRequest;
+import com.sojus.dto.BulkTicketResult;
+import com.sojus.dto.ExportFilter;
 import com.sojus.dto.StatusChangeRequest;
+import com.sojus.dto.TicketPageResponse;
 import com.sojus.dto.TicketRequest;
 import com.sojus.dto.TicketResponse;
+import com.sojus.service.ExportFormat;
+import com.sojus.service.ExportService;
+import com.sojus.service.IdempotencyStore;
+import com.sojus.service.TicketEventStream;
 import com.sojus.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,6 +42,9 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final ExportService exportService;
+    private final TicketEventStream ticketEventStream;
+    private final IdempotencyStore idempotencyStore;
 
     @GetMapping
     @Operation(summary = "Listar todos los tickets")
@@ -37,20 +58,97 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.findByUser(user));
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Listar tickets paginados por cursor (createdAt DESC, id DESC)")
+    public ResponseEntity<TicketPageResponse> findPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(ticketService.findPageForUser(user, cursor, size));
+    }
+
+    @GetMapping("/my/page")
+    @Operation(summary = "Listar tickets del usuario autenticado paginados por cursor")
+    public ResponseEntity<TicketPageResponse> findMyTicketsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(ticketService.findPageByUser(user, cursor, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar tickets en streaming (CSV o NDJSON), filtrable por juzgado, estado y fechas")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long juzgadoId,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @AuthenticationPrincipal User user) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        ExportFilter filter = new ExportFilter(juzgadoId, estado, desde, hasta);
+        StreamingResponseBody body = exportService.exportTickets(user, filter, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets-" + LocalDate.now() + "." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Flujo SSE de cambios de tickets (scope=my como /my, scope=all como el listado general), reanudable con Last-Event-ID")
+    public SseEmitter stream(
+            @RequestParam(required = false) String scope,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal User user) {
+        return ticketEventStream.subscribe(user, scope, lastEventId);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener ticket por ID")
     public ResponseEntity<TicketResponse> findById(@PathVariable Long id) {
         return ResponseEntity.ok(ticketService.findById(id));
     }
 
+    @GetMapping("/{id}/bitacora")
+    @Operation(summary = "Historial de bitácora del ticket paginado por cursor (más antiguas primero)")
+    public ResponseEntity<BitacoraPageResponse> findBitacora(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ticketService.findBitacora(id, cursor, size));
+    }
+
+    @PostMapping("/{id}/bitacora")
+    @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'TECNICO')")
+    @Operation(summary = "Agregar un comentario a la bitácora del ticket")
+    public ResponseEntity<BitacoraEntryResponse> addComment(
+            @PathVariable Long id,
+            @Valid @RequestBody BitacoraRequest request,
+            @AuthenticationPrincipal User user) {
+        BitacoraEntryResponse response = ticketService.addComment(id, request.getTexto(), user.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'OPERADOR')")
-    @Operation(summary = "Crear nuevo ticket")
+    @Operation(summary = "Crear nuevo ticket (un reintento con la misma Idempotency-Key repite la respuesta)")
     public ResponseEntity<TicketResponse> create(
             @Valid @RequestBody TicketRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal User user) {
-        TicketResponse response = ticketService.create(request, user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return idempotencyStore.execute(idempotencyKey, user.getUsername(), "POST /api/tickets", request,
+                TicketResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(ticketService.create(request, user)));
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @Operation(summary = "Aplicar una operación a varios tickets (asignar, cambiar estado, comentar o eliminar)")
+    public ResponseEntity<BulkTicketResult> bulk(
+            @Valid @RequestBody BulkTicketRequest request,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(ticketService.bulk(request, user.getUsername()));
     }
 
     @PatchMapping("/{id}/status")
@@ -0,0 +1,57 @@
+package com.sojus.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una corrida de verificación de la cadena de auditoría. Las válidas son puntos de
+ * partida: la siguiente verificación arranca después de la posición {@code lastSeq} con
+ * {@code lastHash} como hash anterior. Una ruptura se registra con {@code valid = false} y el id donde se detectó.
+ */
+@Entity
+@Table(name = "audit_checkpoints", indexes = @Index(name = "idx_audit_checkpoints_valid", columnList = "valid, id DESC"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AuditCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    /** Última posición verificada de la cadena (0 si aún no hay registros encadenados). */
+    @Column(nullable = false)
+    private Long lastSeq;
+
+    /** Hash de ese registro; null si la cadena todavía no empezó. */
+    @Column(length = 64)
+    private String lastHash;
+
+    @Column(nullable = false)
+    private Long rowsVerified;
+
+    @Column(nullable = false)
+    private boolean valid;
+
+    private Long brokenId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime verifiedAt = LocalDateTime.now();
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,8 +15,20 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import java.time.LocalDateTime;
 
+/**
+ * Registro de auditoría. Cada índice es (filtro, timestamp DESC, id DESC): el mismo orden que la
+ * paginación por keyset de la búsqueda, así cada combinación de filtros recorre solo su página.
+ */
 @Entity
-@Table(name = "audit_log")
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp DESC, id DESC"),
+        @Index(name = "idx_audit_entity", columnList = "entity_name, entity_id, timestamp DESC, id DESC"),
+        @Index(name = "idx_audit_entity_name", columnList = "entity_name, timestamp DESC, id DESC"),
+        @Index(name = "idx_audit_username", columnList = "username, timestamp DESC, id DESC"),
+        @Index(name = "idx_audit_action", columnList = "action, timestamp DESC, id DESC"),
+        @Index(name = "idx_audit_field", columnList = "field, timestamp DESC, id DESC"),
+        @Index(name = "idx_audit_chain_seq", columnList = "chain_seq")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -52,4 +65,12 @@ public class AuditLog {
     @Column(nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime timestamp = LocalDateTime.now();
+
+    /** Posición en la cadena de hashes, asignada por AuditLogWriter; null en registros previos a la cadena. */
+    @Column(updatable = false)
+    private Long chainSeq;
+
+    /** SHA-256 encadenado con el registro anterior (ver AuditChain); null en registros previos a la cadena. */
+    @Column(length = 64, updatable = false)
+    private String hash;
 }
@@ -1,9 +1,11 @@
 package com.sojus.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.sojus.domain.event.LocationChangeListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -22,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(LocationChangeListener.class)
 @Table(name = "circunscripciones")
 @Getter
 @Setter
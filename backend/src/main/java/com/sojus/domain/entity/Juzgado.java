@@ -1,8 +1,10 @@
 package com.sojus.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.sojus.domain.event.LocationChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -20,6 +22,7 @@ import lombok.ToString;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LocationChangeListener.class)
 @Table(name = "juzgados")
 @Getter
 @Setter
@@ -16,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -36,6 +37,12 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Ticket {
 
+    /**
+     * Índice único que garantiza un solo ticket activo (no CERRADO, no eliminado) por equipo.
+     * Lo crean los scripts schema-*.sql: parcial en PostgreSQL, sobre columna generada en H2.
+     */
+    public static final String UK_HARDWARE_ACTIVO = "uk_tickets_hardware_activo";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
@@ -77,9 +84,18 @@ public class Ticket {
     @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "juzgado" })
     private Hardware hardwareAfectado;
 
+    /**
+     * Bitácora heredada en texto plano. Ya no se escribe: las entradas viven en
+     * {@link BitacoraEntry} y BitacoraMigration traslada el contenido existente al arrancar.
+     */
     @Column(columnDefinition = "TEXT")
     private String bitacora;
 
+    /** Cantidad de entradas de bitácora; evita un COUNT por fila en los listados. */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer bitacoraCount = 0;
+
     @Column(length = 50)
     private String canal;
 
@@ -90,10 +106,18 @@ public class Ticket {
 
     private LocalDateTime closedAt;
 
+    /** Vencimiento del plazo de resolución, fijado al abrir el ticket (ver SlaPolicy). */
+    private LocalDateTime slaVencimiento;
+
     @Column(nullable = false)
     @Builder.Default
     private Boolean deleted = false;
 
+    /** Control de concurrencia optimista: cada UPDATE exige la versión leída. */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,17 @@
+package com.sojus.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado por InventoryService al crear o eliminar hardware/software.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class InventoryChangedEvent {
+    private final String assetType; // HARDWARE, SOFTWARE
+    private final Long assetId;
+    private final String action;    // CREAR, ELIMINAR
+}
@@ -0,0 +1,53 @@
+package com.sojus.domain.event;
+
+import com.sojus.domain.entity.Circunscripcion;
+import com.sojus.domain.entity.Distrito;
+import com.sojus.domain.entity.Edificio;
+import com.sojus.domain.entity.Juzgado;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de las entidades territoriales. Como esas tablas no tienen un servicio de escritura
+ * propio (se cargan desde la semilla o la administración), el evento sale de cualquier escritura
+ * por JPA. Hibernate obtiene esta instancia del contenedor de Spring.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    void onCreate(Object entity) {
+        publish(entity, "CREAR");
+    }
+
+    @PostUpdate
+    void onUpdate(Object entity) {
+        publish(entity, "ACTUALIZAR");
+    }
+
+    @PostRemove
+    void onDelete(Object entity) {
+        publish(entity, "ELIMINAR");
+    }
+
+    private void publish(Object entity, String action) {
+        Long id = null;
+        if (entity instanceof Circunscripcion c) {
+            id = c.getId();
+        } else if (entity instanceof Distrito d) {
+            id = d.getId();
+        } else if (entity instanceof Edificio e) {
+            id = e.getId();
+        } else if (entity instanceof Juzgado j) {
+            id = j.getId();
+        }
+        eventPublisher.publishEvent(new LocationsChangedEvent(entity.getClass().getSimpleName(), id, action));
+    }
+}
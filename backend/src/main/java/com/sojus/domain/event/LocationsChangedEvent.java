@@ -0,0 +1,18 @@
+package com.sojus.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado por {@link LocationChangeListener} al crear, modificar o eliminar una
+ * circunscripción, distrito, edificio o juzgado.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class LocationsChangedEvent {
+    private final String entityName;
+    private final Long entityId;
+    private final String action;    // CREAR, ACTUALIZAR, ELIMINAR
+}
@@ -0,0 +1,16 @@
+package com.sojus.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado por PriorityRuleService al modificar las reglas de priorización.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PriorityRulesChangedEvent {
+    private final Long ruleId;
+    private final String action; // CREAR, ACTUALIZAR, DESACTIVAR
+}
@@ -0,0 +1,29 @@
+package com.sojus.domain.event;
+
+import com.sojus.domain.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado por SlaTracker cuando un ticket abierto entra en riesgo (WARNING) o vence su
+ * plazo de resolución (BREACH). Se publica fuera de transacción: los consumidores usan
+ * {@code @EventListener}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SlaEvent {
+
+    public enum Type {
+        WARNING,
+        BREACH
+    }
+
+    private final Type type;
+    private final Long ticketId;
+    private final Priority prioridad;
+    private final LocalDateTime vencimiento;
+}
@@ -0,0 +1,44 @@
+package com.sojus.domain.event;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio publicado por TicketService en cada mutación de un ticket.
+ * Los consumidores lo escuchan con {@code @TransactionalEventListener(phase = AFTER_COMMIT)}
+ * para reaccionar solo a cambios confirmados.
+ */
+@Getter
+@Builder
+@ToString
+public class TicketChangedEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long ticketId;
+    private final TicketStatus previousStatus;
+    private final TicketStatus status;
+    private final Priority prioridad;
+    private final Long juzgadoId;
+    private final Long solicitanteId;
+    private final Long previousTecnicoId;
+    private final Long tecnicoId;
+    private final String username;
+    private final LocalDateTime slaVencimiento;
+    /** Texto del ticket, solo en CREATED (índice de duplicados). */
+    private final String asunto;
+    private final String descripcion;
+
+    @Builder.Default
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+}
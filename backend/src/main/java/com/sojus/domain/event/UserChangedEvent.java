@@ -0,0 +1,17 @@
+package com.sojus.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento de dominio publicado por UserService al crear, modificar o eliminar un usuario.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class UserChangedEvent {
+    private final Long userId;
+    private final String username;
+    private final String action;    // CREAR, ACTUALIZAR, ELIMINAR
+}
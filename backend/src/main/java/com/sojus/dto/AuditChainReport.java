@@ -0,0 +1,25 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de verificar la cadena de auditoría desde el último punto válido. Las posiciones son
+ * {@code chain_seq}; los registros anteriores a la cadena no tienen posición y no se recorren.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditChainReport {
+    private boolean valid;
+    private long desdeSeq;
+    private long hastaSeq;
+    private long verificados;
+    /** Primer registro cuyo hash no coincide; null si la cadena está íntegra. */
+    private Long brokenId;
+    /** Posición de la cabeza que el recorrido no alcanzó (últimos registros borrados); null si la alcanzó. */
+    private Long truncadaEn;
+}
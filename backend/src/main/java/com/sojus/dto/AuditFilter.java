@@ -0,0 +1,26 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros de la búsqueda de auditoría; los nulos no filtran. El rango de fechas es
+ * {@code [desde, hasta)}: incluye {@code desde} y excluye {@code hasta}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditFilter {
+    private String username;
+    private String action;
+    private String entityName;
+    private Long entityId;
+    private String field;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+}
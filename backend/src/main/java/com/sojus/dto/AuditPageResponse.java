@@ -0,0 +1,24 @@
+package com.sojus.dto;
+
+import com.sojus.domain.entity.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de auditoría paginada por keyset (timestamp DESC, id DESC).
+ * {@code nextCursor} es opaco: se reenvía tal cual junto con los mismos filtros.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditPageResponse {
+    private List<AuditLog> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
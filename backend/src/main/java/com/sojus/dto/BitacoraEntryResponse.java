@@ -0,0 +1,28 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BitacoraEntryResponse {
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private Long id;
+    private String autor;
+    private String texto;
+    private String createdAt;
+
+    /** Constructor usado por la proyección JPQL de BitacoraEntryRepository. */
+    public BitacoraEntryResponse(Long id, String autor, String texto, LocalDateTime createdAt) {
+        this(id, autor, texto, createdAt != null ? createdAt.format(FMT) : null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de la bitácora de un ticket, de la entrada más antigua a la más reciente.
+ * {@code nextCursor} es opaco: se reenvía tal cual para obtener la página siguiente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BitacoraPageResponse {
+    private List<BitacoraEntryResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
@@ -0,0 +1,10 @@
+package com.sojus.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class BitacoraRequest {
+    @NotBlank(message = "El comentario es obligatorio")
+    private String texto;
+}
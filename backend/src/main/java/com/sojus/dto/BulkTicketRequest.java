@@ -0,0 +1,28 @@
+package com.sojus.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Operación masiva sobre tickets: una misma operación aplicada a una lista de ids.
+ */
+@Data
+public class BulkTicketRequest {
+    @NotEmpty(message = "Debe indicar al menos un ticket")
+    @Size(max = 500, message = "Como máximo 500 tickets por operación")
+    private List<@NotNull(message = "Los ids no pueden ser nulos") Long> ids;
+
+    @NotBlank(message = "La operación es obligatoria")
+    private String operacion; // ASIGNAR, CAMBIAR_ESTADO, COMENTAR, ELIMINAR
+
+    private String status; // CAMBIAR_ESTADO
+
+    private Long tecnicoId; // ASIGNAR (opcional en CAMBIAR_ESTADO)
+
+    private String comentario; // COMENTAR (opcional en las demás, salvo ELIMINAR)
+}
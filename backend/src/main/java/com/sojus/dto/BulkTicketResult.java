@@ -0,0 +1,37 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Reporte de una operación masiva: totales y el resultado de cada ticket, en el orden recibido.
+ * {@code version} es la versión vigente del ticket: la nueva si se aplicó, la leída si se rechazó.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTicketResult {
+    private int total;
+    private int aplicados;
+    private int rechazados;
+    private List<Item> items;
+
+    public enum Resultado {
+        APLICADO, NO_ENCONTRADO, TRANSICION_INVALIDA, CONFLICTO
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private Resultado resultado;
+        private String mensaje;
+        private Long version;
+    }
+}
@@ -17,4 +17,7 @@ public class DashboardStats {
     private long totalSoftware;
     private long contratosVigentes;
     private long contratosProximosVencer;
+    private long slaEnRiesgo;
+    private long slaIncumplidos;
+    private Long slaMinutosProximoIncumplimiento;
 }
@@ -0,0 +1,23 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros comunes de las exportaciones. {@code estado} es el TicketStatus o AssetStatus según el
+ * recurso; el rango de fechas aplica sobre la fecha de alta y ambos extremos son inclusivos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportFilter {
+    private Long juzgadoId;
+    private String estado;
+    private LocalDate desde;
+    private LocalDate hasta;
+}
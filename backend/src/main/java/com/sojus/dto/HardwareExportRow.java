@@ -0,0 +1,39 @@
+package com.sojus.dto;
+
+import com.sojus.domain.enums.AssetStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fila de exportación de hardware, proyectada por JPQL sin hidratar entidades.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HardwareExportRow {
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private Long id;
+    private String inventarioPatrimonial;
+    private String numeroSerie;
+    private String clase;
+    private String tipo;
+    private String marca;
+    private String modelo;
+    private String estado;
+    private String juzgadoNombre;
+    private String ubicacionFisica;
+    private String createdAt;
+
+    public HardwareExportRow(Long id, String inventarioPatrimonial, String numeroSerie, String clase, String tipo,
+            String marca, String modelo, AssetStatus estado, String juzgadoNombre, String ubicacionFisica,
+            LocalDateTime createdAt) {
+        this(id, inventarioPatrimonial, numeroSerie, clase, tipo, marca, modelo, estado.name(), juzgadoNombre,
+                ubicacionFisica, createdAt != null ? createdAt.format(FMT) : null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Reporte de una importación masiva de hardware: totales y el resultado de cada fila
+ * (numeradas desde 1 en el orden recibido).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HardwareImportResult {
+    private int total;
+    private int creados;
+    private int rechazados;
+    private List<Fila> filas;
+
+    public enum Resultado {
+        CREADO, DUPLICADO, INVALIDO
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Fila {
+        private int fila;
+        private String inventarioPatrimonial;
+        private Resultado resultado;
+        private String mensaje;
+    }
+}
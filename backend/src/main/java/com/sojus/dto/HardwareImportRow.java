@@ -0,0 +1,27 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de importación masiva de hardware (JSON o CSV). El estado se recibe como texto y se valida
+ * por fila para poder reportar el error sin rechazar el lote completo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HardwareImportRow {
+    private String inventarioPatrimonial;
+    private String numeroSerie;
+    private String clase;
+    private String tipo;
+    private String marca;
+    private String modelo;
+    private String estado;
+    private Long juzgadoId;
+    private String ubicacionFisica;
+    private String observaciones;
+}
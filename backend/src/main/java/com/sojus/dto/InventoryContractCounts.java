@@ -0,0 +1,16 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Conteos de inventario y contratos resueltos en una única consulta.
+ */
+@Getter
+@AllArgsConstructor
+public class InventoryContractCounts {
+    private final long totalHardware;
+    private final long totalSoftware;
+    private final long contratosVigentes;
+    private final long contratosProximosVencer;
+}
@@ -0,0 +1,30 @@
+package com.sojus.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Jerarquía territorial inmutable: circunscripción → distrito → edificio → juzgado. Los nombres de
+ * los campos son los mismos que serializaban las entidades, así el JSON no cambia para los clientes.
+ */
+public final class LocationTree {
+
+    private LocationTree() {
+    }
+
+    public record CircunscripcionNode(Long id, String nombre, String codigo, List<DistritoNode> distritos,
+                                      LocalDateTime createdAt) {
+    }
+
+    public record DistritoNode(Long id, String nombre, String ciudad, List<EdificioNode> edificios,
+                               LocalDateTime createdAt) {
+    }
+
+    public record EdificioNode(Long id, String nombre, String direccion, List<JuzgadoNode> juzgados,
+                               LocalDateTime createdAt) {
+    }
+
+    public record JuzgadoNode(Long id, String nombre, String fuero, String secretaria, Boolean active,
+                              LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.sojus.dto;
+
+import com.sojus.domain.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ticket abierto con lo necesario para reconstruir su SLA al arrancar.
+ */
+@Getter
+@AllArgsConstructor
+public class SlaTicketRow {
+    private final Long id;
+    private final Priority prioridad;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime slaVencimiento;
+}
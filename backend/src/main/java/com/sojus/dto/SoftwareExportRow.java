@@ -0,0 +1,40 @@
+package com.sojus.dto;
+
+import com.sojus.domain.enums.AssetStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fila de exportación de software, proyectada por JPQL sin hidratar entidades.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoftwareExportRow {
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private Long id;
+    private String nombre;
+    private String version;
+    private String fabricante;
+    private String tipoLicencia;
+    private String numeroLicencia;
+    private Integer cantidadLicencias;
+    private String fechaVencimiento;
+    private String estado;
+    private String createdAt;
+
+    public SoftwareExportRow(Long id, String nombre, String version, String fabricante, String tipoLicencia,
+            String numeroLicencia, Integer cantidadLicencias, LocalDate fechaVencimiento, AssetStatus estado,
+            LocalDateTime createdAt) {
+        this(id, nombre, version, fabricante, tipoLicencia, numeroLicencia, cantidadLicencias,
+                fechaVencimiento != null ? fechaVencimiento.toString() : null, estado.name(),
+                createdAt != null ? createdAt.format(FMT) : null);
+    }
+}
@@ -11,4 +11,7 @@ public class StatusChangeRequest {
     private Long tecnicoId;
 
     private String comentario;
+
+    /** Versión del ticket que vio el cliente; si se informa y ya cambió, responde 409 sin aplicar. */
+    private Long version;
 }
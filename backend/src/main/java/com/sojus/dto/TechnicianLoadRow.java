@@ -0,0 +1,19 @@
+package com.sojus.dto;
+
+import com.sojus.domain.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fila de carga de un técnico activo: tickets abiertos asignados por prioridad, con su juzgado y
+ * edificio para la afinidad. Un técnico sin tickets abiertos aparece una vez con prioridad null.
+ */
+@Getter
+@AllArgsConstructor
+public class TechnicianLoadRow {
+    private final Long tecnicoId;
+    private final Long juzgadoId;
+    private final Long edificioId;
+    private final Priority prioridad;
+    private final long total;
+}
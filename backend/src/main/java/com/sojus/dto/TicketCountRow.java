@@ -0,0 +1,22 @@
+package com.sojus.dto;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fila del conteo agregado de tickets (GROUP BY status, prioridad[, juzgado]).
+ */
+@Getter
+@AllArgsConstructor
+public class TicketCountRow {
+    private final TicketStatus status;
+    private final Priority prioridad;
+    private final Long juzgadoId;
+    private final long total;
+
+    public TicketCountRow(TicketStatus status, Priority prioridad, long total) {
+        this(status, prioridad, null, total);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de tickets paginada por keyset (createdAt DESC, id DESC).
+ * {@code nextCursor} es opaco: se reenvía tal cual para obtener la página siguiente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketPageResponse {
+    private List<TicketResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
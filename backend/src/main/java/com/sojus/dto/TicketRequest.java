@@ -20,4 +20,6 @@ public class TicketRequest {
     private Long hardwareId;
 
     private String canal; // WEB, PORTAL, EMAIL
+
+    private Boolean autoAsignar; // null = según app.tickets.auto-assign.enabled
 }
@@ -1,15 +1,24 @@
 package com.sojus.dto;
 
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TicketResponse {
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private Long id;
     private String asunto;
     private String descripcion;
@@ -19,9 +28,31 @@ public class TicketResponse {
     private String solicitanteNombre;
     private String tecnicoNombre;
     private String hardwareInventario;
-    private String bitacora;
+    private int bitacoraCount;
     private String canal;
     private String createdAt;
     private String updatedAt;
     private String closedAt;
+    private Long version;
+    private String slaVencimiento;
+    /** Solo al crear: tickets abiertos del mismo juzgado con asunto y descripción parecidos. */
+    private List<Long> posiblesDuplicados;
+
+    /**
+     * Constructor usado por las proyecciones JPQL ({@code SELECT new ...}) de TicketRepository:
+     * los nombres asociados llegan resueltos por SQL y no se hidrata ninguna entidad.
+     */
+    public TicketResponse(Long id, String asunto, String descripcion, TicketStatus status, Priority prioridad,
+            String juzgadoNombre, String solicitanteNombre, String tecnicoNombre, String hardwareInventario,
+            int bitacoraCount, String canal, LocalDateTime createdAt, LocalDateTime updatedAt,
+            LocalDateTime closedAt, Long version, LocalDateTime slaVencimiento) {
+        this(id, asunto, descripcion, status.name(), prioridad.name(), juzgadoNombre, solicitanteNombre,
+                tecnicoNombre, hardwareInventario, bitacoraCount, canal,
+                createdAt != null ? createdAt.format(FMT) : null,
+                updatedAt != null ? updatedAt.format(FMT) : null,
+                closedAt != null ? closedAt.format(FMT) : null,
+                version,
+                slaVencimiento != null ? slaVencimiento.format(FMT) : null,
+                null);
+    }
 }
@@ -0,0 +1,32 @@
+package com.sojus.dto;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de un ticket tal como se emite por {@code GET /api/tickets/stream}. Lleva lo necesario
+ * para que el cliente decida si refrescar la fila ({@code GET /api/tickets/{id}}), quitarla de la
+ * lista o recalcular el dashboard, sin volver a pedir el listado completo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketStreamEvent {
+    private String id;
+    private TicketChangedEvent.Type type;
+    private Long ticketId;
+    private TicketStatus previousStatus;
+    private TicketStatus status;
+    private Priority prioridad;
+    private Long juzgadoId;
+    private Long tecnicoId;
+    private LocalDateTime occurredAt;
+}
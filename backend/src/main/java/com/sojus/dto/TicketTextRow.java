@@ -0,0 +1,16 @@
+package com.sojus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Ticket abierto con el texto necesario para reconstruir el índice de duplicados al arrancar.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketTextRow {
+    private final Long id;
+    private final Long juzgadoId;
+    private final String asunto;
+    private final String descripcion;
+}
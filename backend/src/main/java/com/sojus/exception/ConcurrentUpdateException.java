@@ -0,0 +1,21 @@
+package com.sojus.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Conflicto de concurrencia optimista: el registro cambió desde que el cliente lo leyó.
+ * {@code current} lleva el estado vigente (si se conoce) para que el cliente decida sin releer.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+@Getter
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private final transient Object current;
+
+    public ConcurrentUpdateException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.AuditCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AuditCheckpointRepository extends JpaRepository<AuditCheckpoint, Long> {
+
+    Optional<AuditCheckpoint> findFirstByValidTrueOrderByIdDesc();
+}
@@ -2,9 +2,12 @@ package com.sojus.repository;
 
 import com.sojus.domain.entity.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findAllByEntityNameAndEntityIdOrderByTimestampDesc(String entityName, Long entityId);
     List<AuditLog> findTop100ByOrderByTimestampDesc();
+    /** Acotada por fecha: en PostgreSQL solo lee las particiones desde {@code desde}. */
+    List<AuditLog> findTop100ByTimestampGreaterThanEqualOrderByTimestampDesc(LocalDateTime desde);
 }
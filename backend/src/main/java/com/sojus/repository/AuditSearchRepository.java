@@ -0,0 +1,93 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.AuditLog;
+import com.sojus.dto.AuditFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Búsqueda de auditoría con filtros opcionales y keyset sobre (timestamp DESC, id DESC).
+ * <p>
+ * El SQL se arma solo con los filtros presentes, sin {@code (:x IS NULL OR ...)}: así el planificador
+ * elige el índice compuesto {@code (filtro, timestamp DESC, id DESC)} que corresponde y recorre solo
+ * la página pedida, aunque la tabla tenga decenas de millones de filas. El rango de fechas, además,
+ * acota las particiones mensuales que se leen en PostgreSQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditSearchRepository {
+
+    /** Tabla viva o archivo de tickets cerrados; ambas comparten columnas y espacio de ids. */
+    public enum Source {
+        LIVE("audit_log"), ARCHIVE("audit_log_archive");
+
+        private final String table;
+
+        Source(String table) {
+            this.table = table;
+        }
+    }
+
+    static final RowMapper<AuditLog> AUDIT_LOG_MAPPER = (rs, i) -> AuditLog.builder()
+            .id(rs.getLong("id"))
+            .entityName(rs.getString("entity_name"))
+            .entityId(rs.getObject("entity_id", Long.class))
+            .action(rs.getString("action"))
+            .username(rs.getString("username"))
+            .oldValue(rs.getString("old_value"))
+            .newValue(rs.getString("new_value"))
+            .field(rs.getString("field"))
+            .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+            .chainSeq(rs.getObject("chain_seq", Long.class))
+            .hash(rs.getString("hash"))
+            .build();
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Hasta {@code limit} registros que cumplen el filtro, posteriores al cursor en el orden
+     * (timestamp DESC, id DESC). Sin cursor arranca por el más reciente.
+     */
+    public List<AuditLog> search(Source source, AuditFilter filter, LocalDateTime cursorAt, Long cursorId,
+                                 int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, entity_name, entity_id, action, username, old_value, new_value, field, timestamp,
+                       chain_seq, hash
+                FROM\s""").append(source.table).append(" WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        equal(sql, params, "username", filter.getUsername());
+        equal(sql, params, "action", filter.getAction());
+        equal(sql, params, "entity_name", filter.getEntityName());
+        equal(sql, params, "entity_id", filter.getEntityId());
+        equal(sql, params, "field", filter.getField());
+        if (filter.getDesde() != null) {
+            sql.append(" AND timestamp >= :desde");
+            params.addValue("desde", Timestamp.valueOf(filter.getDesde()));
+        }
+        if (filter.getHasta() != null) {
+            sql.append(" AND timestamp < :hasta");
+            params.addValue("hasta", Timestamp.valueOf(filter.getHasta()));
+        }
+        if (cursorAt != null) {
+            // Comparación de filas: un único rango sobre el índice (…, timestamp DESC, id DESC)
+            sql.append(" AND (timestamp, id) < (:cursorAt, :cursorId)");
+            params.addValue("cursorAt", Timestamp.valueOf(cursorAt)).addValue("cursorId", cursorId);
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT :limit");
+        return namedJdbcTemplate.query(sql.toString(), params, AUDIT_LOG_MAPPER);
+    }
+
+    private static void equal(StringBuilder sql, MapSqlParameterSource params, String column, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = :").append(column);
+            params.addValue(column, value);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.BitacoraEntry;
+import com.sojus.dto.BitacoraEntryResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
+
+public interface BitacoraEntryRepository extends JpaRepository<BitacoraEntry, Long> {
+
+    /** Historial de un ticket en orden cronológico, paginado por keyset sobre el id. */
+    @Query("""
+            SELECT new com.sojus.dto.BitacoraEntryResponse(b.id, b.autor, b.texto, b.createdAt)
+            FROM BitacoraEntry b
+            WHERE b.ticket.id = :ticketId AND (:afterId IS NULL OR b.id > :afterId)
+            ORDER BY b.id
+            """)
+    List<BitacoraEntryResponse> findPage(Long ticketId, Long afterId, Limit limit);
+}
@@ -0,0 +1,34 @@
+package com.sojus.repository;
+
+import com.sojus.dto.InventoryContractCounts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Consultas agregadas del dashboard que cruzan varias tablas en un solo round-trip.
+ */
+@Repository
+public class DashboardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public InventoryContractCounts countInventoryAndContracts(LocalDate expiringBefore) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("""
+                SELECT (SELECT COUNT(*) FROM hardware WHERE deleted = FALSE),
+                       (SELECT COUNT(*) FROM software WHERE deleted = FALSE),
+                       (SELECT COUNT(*) FROM contracts WHERE active = TRUE),
+                       (SELECT COUNT(*) FROM contracts WHERE active = TRUE AND fecha_fin <= :date)
+                """)
+                .setParameter("date", expiringBefore)
+                .getSingleResult();
+        return new InventoryContractCounts(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(),
+                ((Number) row[3]).longValue());
+    }
+}
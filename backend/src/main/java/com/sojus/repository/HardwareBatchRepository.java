@@ -0,0 +1,77 @@
+package com.sojus.repository;
+
+import com.sojus.dto.HardwareImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Acceso JDBC para la importación masiva de hardware. Hardware usa IDENTITY, lo que impide el
+ * batching de Hibernate; aquí los inserts van en lotes de {@code batchSize} sentencias por round-trip.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HardwareBatchRepository {
+
+    /** Límite de parámetros por IN: PostgreSQL admite hasta 32767 binds por sentencia. */
+    private static final int IN_CHUNK = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Devuelve cuáles de los inventarios patrimoniales ya existen (incluidos los eliminados, ya que
+     * la columna es única), con un SELECT ... IN por cada bloque de {@value #IN_CHUNK} valores.
+     */
+    public Set<String> findExistingInventarios(Collection<String> inventarios) {
+        Set<String> existing = new HashSet<>();
+        List<String> values = List.copyOf(inventarios);
+        for (int from = 0; from < values.size(); from += IN_CHUNK) {
+            List<String> chunk = values.subList(from, Math.min(from + IN_CHUNK, values.size()));
+            existing.addAll(namedJdbcTemplate.queryForList(
+                    "SELECT inventario_patrimonial FROM hardware WHERE inventario_patrimonial IN (:inventarios)",
+                    new MapSqlParameterSource("inventarios", chunk), String.class));
+        }
+        return existing;
+    }
+
+    public Set<Long> findJuzgadoIds() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM juzgados", Long.class));
+    }
+
+    public void insertAll(List<HardwareImportRow> rows, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO hardware (inventario_patrimonial, numero_serie, clase, tipo, marca, modelo,
+                                      estado, juzgado_id, ubicacion_fisica, observaciones, created_at, deleted,
+                                      version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0)
+                """, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.getInventarioPatrimonial());
+            ps.setString(2, row.getNumeroSerie());
+            ps.setString(3, row.getClase());
+            ps.setString(4, row.getTipo());
+            ps.setString(5, row.getMarca());
+            ps.setString(6, row.getModelo());
+            ps.setString(7, row.getEstado());
+            if (row.getJuzgadoId() != null) {
+                ps.setLong(8, row.getJuzgadoId());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setString(9, row.getUbicacionFisica());
+            ps.setString(10, row.getObservaciones());
+            ps.setTimestamp(11, now);
+        });
+    }
+}
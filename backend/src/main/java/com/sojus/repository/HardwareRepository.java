@@ -1,9 +1,18 @@
 package com.sojus.repository;
 
 import com.sojus.domain.entity.Hardware;
+import com.sojus.domain.enums.AssetStatus;
+import com.sojus.dto.HardwareExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface HardwareRepository extends JpaRepository<Hardware, Long> {
     List<Hardware> findAllByDeletedFalse();
@@ -15,4 +24,25 @@ public interface HardwareRepository extends JpaRepository<Hardware, Long> {
     boolean existsByInventarioPatrimonial(String inventarioPatrimonial);
 
     long countByDeletedFalse();
+
+    /** Exportación por cursor forward-only de DTOs; consumir dentro de una transacción. */
+    @Query("""
+            SELECT new com.sojus.dto.HardwareExportRow(
+                h.id, h.inventarioPatrimonial, h.numeroSerie, h.clase, h.tipo, h.marca, h.modelo,
+                h.estado, j.nombre, h.ubicacionFisica, h.createdAt)
+            FROM Hardware h
+            LEFT JOIN h.juzgado j
+            WHERE h.deleted = false
+              AND (:juzgadoId IS NULL OR j.id = :juzgadoId)
+              AND (:estado IS NULL OR h.estado = :estado)
+              AND (:desde IS NULL OR h.createdAt >= :desde)
+              AND (:hasta IS NULL OR h.createdAt < :hasta)
+            ORDER BY h.id
+            """)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<HardwareExportRow> streamForExport(Long juzgadoId, AssetStatus estado,
+                                              LocalDateTime desde, LocalDateTime hasta);
 }
@@ -0,0 +1,48 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+
+    /** Libera una clave reclamada cuya solicitud falló, sin tocar una respuesta ya guardada. */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.statusCode IS NULL")
+    int deletePending(String id);
+
+    /**
+     * Reclama una clave cuya fila venció (p. ej. la instancia que la tenía cayó). Es un único UPDATE
+     * condicionado al vencimiento: si dos instancias compiten, solo una afecta la fila.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE IdempotencyKey k SET k.username = :username, k.endpoint = :endpoint,
+                   k.requestHash = :requestHash, k.statusCode = NULL, k.responseBody = NULL,
+                   k.createdAt = :now, k.expiresAt = :expiresAt
+            WHERE k.id = :id AND k.expiresAt < :now
+            """)
+    int takeOverExpired(String id, String username, String endpoint, String requestHash, LocalDateTime now,
+                        LocalDateTime expiresAt);
+
+    /** INSERT sin merge previo: si la clave ya existe falla con violación de clave primaria. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO idempotency_keys (id, username, endpoint, request_hash, created_at, expires_at)
+            VALUES (:id, :username, :endpoint, :requestHash, :now, :expiresAt)
+            """, nativeQuery = true)
+    int insertPending(String id, String username, String endpoint, String requestHash, LocalDateTime now,
+                      LocalDateTime expiresAt);
+}
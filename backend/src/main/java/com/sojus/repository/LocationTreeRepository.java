@@ -0,0 +1,67 @@
+package com.sojus.repository;
+
+import com.sojus.dto.LocationTree.CircunscripcionNode;
+import com.sojus.dto.LocationTree.DistritoNode;
+import com.sojus.dto.LocationTree.EdificioNode;
+import com.sojus.dto.LocationTree.JuzgadoNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga la jerarquía territorial completa con una consulta por nivel (cuatro en total, sin N+1) y
+ * la arma de abajo hacia arriba en listas inmutables, ordenadas por id en cada nivel.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LocationTreeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<CircunscripcionNode> load() {
+        Map<Long, List<JuzgadoNode>> juzgados = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT id, nombre, fuero, secretaria, active, created_at, edificio_id
+                FROM juzgados ORDER BY id
+                """, rs -> {
+            children(juzgados, rs.getLong("edificio_id")).add(new JuzgadoNode(rs.getLong("id"),
+                    rs.getString("nombre"), rs.getString("fuero"), rs.getString("secretaria"),
+                    rs.getBoolean("active"), createdAt(rs)));
+        });
+        Map<Long, List<EdificioNode>> edificios = new HashMap<>();
+        jdbcTemplate.query("SELECT id, nombre, direccion, created_at, distrito_id FROM edificios ORDER BY id", rs -> {
+            long id = rs.getLong("id");
+            children(edificios, rs.getLong("distrito_id")).add(new EdificioNode(id, rs.getString("nombre"),
+                    rs.getString("direccion"), immutable(juzgados, id), createdAt(rs)));
+        });
+        Map<Long, List<DistritoNode>> distritos = new HashMap<>();
+        jdbcTemplate.query("SELECT id, nombre, ciudad, created_at, circunscripcion_id FROM distritos ORDER BY id", rs -> {
+            long id = rs.getLong("id");
+            children(distritos, rs.getLong("circunscripcion_id")).add(new DistritoNode(id, rs.getString("nombre"),
+                    rs.getString("ciudad"), immutable(edificios, id), createdAt(rs)));
+        });
+        return jdbcTemplate.query("SELECT id, nombre, codigo, created_at FROM circunscripciones ORDER BY id",
+                (rs, i) -> new CircunscripcionNode(rs.getLong("id"), rs.getString("nombre"), rs.getString("codigo"),
+                        immutable(distritos, rs.getLong("id")), createdAt(rs)));
+    }
+
+    private static <T> List<T> children(Map<Long, List<T>> byParent, long parentId) {
+        return byParent.computeIfAbsent(parentId, k -> new ArrayList<>());
+    }
+
+    private static <T> List<T> immutable(Map<Long, List<T>> byParent, long parentId) {
+        return List.copyOf(byParent.getOrDefault(parentId, List.of()));
+    }
+
+    private static LocalDateTime createdAt(ResultSet rs) throws SQLException {
+        return rs.getTimestamp("created_at").toLocalDateTime();
+    }
+}
@@ -0,0 +1,15 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.PriorityRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface PriorityRuleRepository extends JpaRepository<PriorityRule, Long> {
+    List<PriorityRule> findAllByActiveTrueOrderById();
+
+    List<PriorityRule> findAllByOrderByKeyword();
+
+    boolean existsByKeywordIgnoreCase(String keyword);
+
+    boolean existsByKeywordIgnoreCaseAndIdNot(String keyword, Long id);
+}
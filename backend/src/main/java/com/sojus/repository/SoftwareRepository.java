@@ -1,11 +1,38 @@
 package com.sojus.repository;
 
 import com.sojus.domain.entity.Software;
+import com.sojus.domain.enums.AssetStatus;
+import com.sojus.dto.SoftwareExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SoftwareRepository extends JpaRepository<Software, Long> {
     List<Software> findAllByDeletedFalse();
 
     long countByDeletedFalse();
+
+    /** Exportación por cursor forward-only de DTOs; consumir dentro de una transacción. */
+    @Query("""
+            SELECT new com.sojus.dto.SoftwareExportRow(
+                s.id, s.nombre, s.version, s.fabricante, s.tipoLicencia, s.numeroLicencia,
+                s.cantidadLicencias, s.fechaVencimiento, s.estado, s.createdAt)
+            FROM Software s
+            WHERE s.deleted = false
+              AND (:estado IS NULL OR s.estado = :estado)
+              AND (:desde IS NULL OR s.createdAt >= :desde)
+              AND (:hasta IS NULL OR s.createdAt < :hasta)
+            ORDER BY s.id
+            """)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<SoftwareExportRow> streamForExport(AssetStatus estado, LocalDateTime desde, LocalDateTime hasta);
 }
@@ -0,0 +1,151 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.AuditLog;
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.dto.BitacoraEntryResponse;
+import com.sojus.dto.TicketResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acceso JDBC al archivo de tickets cerrados ({@code tickets_archive}, {@code ticket_bitacora_archive}
+ * y {@code audit_log_archive}). Los tickets se guardan con los nombres asociados ya resueltos, así
+ * una lectura no depende de que el juzgado, los usuarios o el equipo sigan existiendo.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketArchiveRepository {
+
+    /** Solo se archiva la auditoría de los tickets. */
+    public static final String AUDIT_ENTITY = "Ticket";
+
+    private static final String RESPONSE_COLUMNS = """
+            SELECT id, asunto, descripcion, status, prioridad, juzgado_nombre, solicitante_nombre,
+                   tecnico_nombre, hardware_inventario, bitacora_count, canal, created_at, updated_at,
+                   closed_at, version, sla_vencimiento
+            FROM tickets_archive
+            """;
+
+    private static final RowMapper<TicketResponse> RESPONSE_MAPPER = (rs, i) -> new TicketResponse(
+            rs.getLong("id"),
+            rs.getString("asunto"),
+            rs.getString("descripcion"),
+            TicketStatus.valueOf(rs.getString("status")),
+            Priority.valueOf(rs.getString("prioridad")),
+            rs.getString("juzgado_nombre"),
+            rs.getString("solicitante_nombre"),
+            rs.getString("tecnico_nombre"),
+            rs.getString("hardware_inventario"),
+            rs.getInt("bitacora_count"),
+            rs.getString("canal"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("closed_at")),
+            rs.getLong("version"),
+            toLocalDateTime(rs.getTimestamp("sla_vencimiento")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Bloquea el próximo bloque de tickets cerrados antes de {@code cutoff}. SKIP LOCKED deja que
+     * otra instancia tome el bloque siguiente en lugar de esperar a éste.
+     */
+    public List<Long> lockClosedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT id FROM tickets WHERE status = 'CERRADO' AND closed_at < ?
+                ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+                """, Long.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * Copia los tickets, su bitácora y su auditoría al archivo y los borra de las tablas vivas.
+     * Debe ejecutarse en la misma transacción que {@link #lockClosedBefore}; devuelve los tickets movidos.
+     */
+    public int moveToArchive(List<Long> ids, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("entity", AUDIT_ENTITY)
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt));
+        namedJdbcTemplate.update("""
+                INSERT INTO tickets_archive (id, asunto, descripcion, status, prioridad,
+                        juzgado_id, juzgado_nombre, solicitante_id, solicitante_nombre,
+                        tecnico_asignado_id, tecnico_nombre, hardware_id, hardware_inventario,
+                        bitacora_count, canal, created_at, updated_at, closed_at, sla_vencimiento,
+                        deleted, version, archived_at)
+                SELECT t.id, t.asunto, t.descripcion, t.status, t.prioridad,
+                       t.juzgado_id, j.nombre, t.solicitante_id, s.full_name,
+                       t.tecnico_asignado_id, tec.full_name, t.hardware_id, h.inventario_patrimonial,
+                       t.bitacora_count, t.canal, t.created_at, t.updated_at, t.closed_at, t.sla_vencimiento,
+                       t.deleted, t.version, :archivedAt
+                FROM tickets t
+                LEFT JOIN juzgados j ON j.id = t.juzgado_id
+                LEFT JOIN users s ON s.id = t.solicitante_id
+                LEFT JOIN users tec ON tec.id = t.tecnico_asignado_id
+                LEFT JOIN hardware h ON h.id = t.hardware_id
+                WHERE t.id IN (:ids)
+                """, params);
+        namedJdbcTemplate.update("""
+                INSERT INTO ticket_bitacora_archive (id, ticket_id, autor, texto, created_at)
+                SELECT id, ticket_id, autor, texto, created_at FROM ticket_bitacora WHERE ticket_id IN (:ids)
+                """, params);
+        namedJdbcTemplate.update("""
+                INSERT INTO audit_log_archive (id, entity_name, entity_id, action, username, old_value,
+                        new_value, field, timestamp, chain_seq, hash)
+                SELECT id, entity_name, entity_id, action, username, old_value, new_value, field, timestamp,
+                       chain_seq, hash
+                FROM audit_log WHERE entity_name = :entity AND entity_id IN (:ids)
+                """, params);
+        namedJdbcTemplate.update("DELETE FROM audit_log WHERE entity_name = :entity AND entity_id IN (:ids)",
+                params);
+        namedJdbcTemplate.update("DELETE FROM ticket_bitacora WHERE ticket_id IN (:ids)", params);
+        return namedJdbcTemplate.update("DELETE FROM tickets WHERE id IN (:ids)", params);
+    }
+
+    public Optional<TicketResponse> findResponseById(Long id) {
+        return jdbcTemplate.query(RESPONSE_COLUMNS + "WHERE id = ? AND deleted = FALSE", RESPONSE_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    public boolean existsById(Long id) {
+        return !jdbcTemplate.queryForList("SELECT id FROM tickets_archive WHERE id = ? AND deleted = FALSE",
+                Long.class, id).isEmpty();
+    }
+
+    /** Misma página por keyset que {@code BitacoraEntryRepository.findPage}, sobre el archivo. */
+    public List<BitacoraEntryResponse> findBitacoraPage(Long ticketId, Long afterId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, autor, texto, created_at FROM ticket_bitacora_archive
+                WHERE ticket_id = ? AND id > ? ORDER BY id LIMIT ?
+                """, (rs, i) -> new BitacoraEntryResponse(
+                rs.getLong("id"),
+                rs.getString("autor"),
+                rs.getString("texto"),
+                toLocalDateTime(rs.getTimestamp("created_at"))), ticketId, afterId != null ? afterId : 0L, limit);
+    }
+
+    public List<AuditLog> findAuditByEntity(String entityName, Long entityId) {
+        return jdbcTemplate.query("""
+                SELECT * FROM audit_log_archive WHERE entity_name = ? AND entity_id = ?
+                ORDER BY timestamp DESC, id DESC
+                """, AuditSearchRepository.AUDIT_LOG_MAPPER, entityName, entityId);
+    }
+
+    public List<AuditLog> findRecentAudit(int limit) {
+        return jdbcTemplate.query("SELECT * FROM audit_log_archive ORDER BY timestamp DESC LIMIT ?",
+                AuditSearchRepository.AUDIT_LOG_MAPPER, limit);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sojus.repository;
+
+import com.sojus.domain.entity.AuditLog;
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Acceso JDBC para las operaciones masivas sobre tickets: una lectura IN por bloque y las
+ * escrituras en lotes de sentencias por round-trip, sin hidratar entidades. Cada UPDATE exige la
+ * versión leída y la incrementa, igual que el {@code @Version} de Ticket.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketBatchRepository {
+
+    /** Límite de parámetros por IN: PostgreSQL admite hasta 32767 binds por sentencia. */
+    private static final int IN_CHUNK = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /** Estado vigente de un ticket no eliminado. */
+    public record Row(Long id, TicketStatus status, Priority prioridad, Long juzgadoId, Long solicitanteId,
+                      Long tecnicoId, long version) {
+    }
+
+    /** Nuevo estado de un ticket; {@code closedAt} null conserva el valor actual. */
+    public record Update(Long id, long version, TicketStatus status, Long tecnicoId, LocalDateTime closedAt,
+                         int comentarios) {
+    }
+
+    public List<Row> findActiveByIds(Collection<Long> ids) {
+        List<Row> rows = new ArrayList<>(ids.size());
+        List<Long> values = List.copyOf(ids);
+        for (int from = 0; from < values.size(); from += IN_CHUNK) {
+            List<Long> chunk = values.subList(from, Math.min(from + IN_CHUNK, values.size()));
+            rows.addAll(namedJdbcTemplate.query("""
+                    SELECT id, status, prioridad, juzgado_id, solicitante_id, tecnico_asignado_id, version
+                    FROM tickets WHERE deleted = FALSE AND id IN (:ids)
+                    """, new MapSqlParameterSource("ids", chunk), (rs, i) -> new Row(
+                    rs.getLong("id"),
+                    TicketStatus.valueOf(rs.getString("status")),
+                    Priority.valueOf(rs.getString("prioridad")),
+                    rs.getObject("juzgado_id", Long.class),
+                    rs.getObject("solicitante_id", Long.class),
+                    rs.getObject("tecnico_asignado_id", Long.class),
+                    rs.getLong("version"))));
+        }
+        return rows;
+    }
+
+    /** Aplica los cambios en un lote; devuelve las filas afectadas por cada uno (0 = conflicto de versión). */
+    public int[] updateAll(List<Update> updates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE tickets SET status = ?, tecnico_asignado_id = ?, closed_at = COALESCE(?, closed_at),
+                                   bitacora_count = bitacora_count + ?, updated_at = ?, version = version + 1
+                WHERE id = ? AND version = ? AND deleted = FALSE
+                """, updates, updates.size(), (ps, u) -> {
+            ps.setString(1, u.status().name());
+            if (u.tecnicoId() != null) {
+                ps.setLong(2, u.tecnicoId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setTimestamp(3, u.closedAt() != null ? Timestamp.valueOf(u.closedAt()) : null);
+            ps.setInt(4, u.comentarios());
+            ps.setTimestamp(5, now);
+            ps.setLong(6, u.id());
+            ps.setLong(7, u.version());
+        });
+        return flatten(counts, updates.size());
+    }
+
+    /** Baja lógica en un lote; devuelve las filas afectadas por cada ticket (0 = conflicto de versión). */
+    public int[] softDeleteAll(List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE tickets SET deleted = TRUE, updated_at = ?, version = version + 1
+                WHERE id = ? AND version = ? AND deleted = FALSE
+                """, rows, rows.size(), (ps, row) -> {
+            ps.setTimestamp(1, now);
+            ps.setLong(2, row.id());
+            ps.setLong(3, row.version());
+        });
+        return flatten(counts, rows.size());
+    }
+
+    public void insertBitacora(Collection<Long> ticketIds, String autor, String texto) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ticket_bitacora (ticket_id, autor, texto, created_at) VALUES (?, ?, ?, ?)",
+                ticketIds, ticketIds.size(), (ps, ticketId) -> {
+                    ps.setLong(1, ticketId);
+                    ps.setString(2, autor);
+                    ps.setString(3, texto);
+                    ps.setTimestamp(4, now);
+                });
+    }
+
+    /**
+     * Auditoría del lote en un solo batch, dentro de la transacción del lote. Va al outbox de
+     * AuditLogWriter, que la encadena y la mueve a audit_log como el resto de la auditoría.
+     */
+    public void insertAudit(List<AuditLog> logs) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO audit_outbox (entity_name, entity_id, action, username, old_value, new_value, field, timestamp)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, logs, logs.size(), (ps, log) -> {
+            ps.setString(1, log.getEntityName());
+            ps.setLong(2, log.getEntityId());
+            ps.setString(3, log.getAction());
+            ps.setString(4, log.getUsername());
+            ps.setString(5, log.getOldValue());
+            ps.setString(6, log.getNewValue());
+            ps.setString(7, log.getField());
+            ps.setTimestamp(8, Timestamp.valueOf(log.getTimestamp()));
+        });
+    }
+
+    private static int[] flatten(int[][] counts, int size) {
+        int[] result = new int[size];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                result[i++] = count;
+            }
+        }
+        return result;
+    }
+}
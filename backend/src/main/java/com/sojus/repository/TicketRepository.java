@@ -3,10 +3,36 @@ package com.sojus.repository;
 import com.sojus.domain.entity.Ticket;
 import com.sojus.domain.enums.Priority;
 import com.sojus.domain.enums.TicketStatus;
+import com.sojus.dto.SlaTicketRow;
+import com.sojus.dto.TicketCountRow;
+import com.sojus.dto.TicketResponse;
+import com.sojus.dto.TicketTextRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+
+    /** Proyección directa a TicketResponse: un único SELECT con los nombres asociados resueltos en SQL. */
+    String RESPONSE_PROJECTION = """
+            SELECT new com.sojus.dto.TicketResponse(
+                t.id, t.asunto, t.descripcion, t.status, t.prioridad,
+                j.nombre, s.fullName, tec.fullName, h.inventarioPatrimonial,
+                t.bitacoraCount, t.canal, t.createdAt, t.updatedAt, t.closedAt, t.version, t.slaVencimiento)
+            FROM Ticket t
+            LEFT JOIN t.juzgado j
+            LEFT JOIN t.solicitante s
+            LEFT JOIN t.tecnicoAsignado tec
+            LEFT JOIN t.hardwareAfectado h
+            """;
+
     List<Ticket> findAllByDeletedFalse();
 
     List<Ticket> findAllByStatusAndDeletedFalse(TicketStatus status);
@@ -17,9 +43,103 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     List<Ticket> findAllByTecnicoAsignadoIdAndDeletedFalse(Long tecnicoId);
 
+    // ---- Lecturas proyectadas (sin hidratar entidades ni proxies) ----
+
+    @Query(RESPONSE_PROJECTION + "WHERE t.deleted = false")
+    List<TicketResponse> findResponsesByDeletedFalse();
+
+    @Query(RESPONSE_PROJECTION + "WHERE t.deleted = false AND t.tecnicoAsignado.id = :tecnicoId")
+    List<TicketResponse> findResponsesByTecnicoAsignadoId(Long tecnicoId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE t.deleted = false AND t.solicitante.id = :solicitanteId")
+    List<TicketResponse> findResponsesBySolicitanteId(Long solicitanteId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE t.deleted = false AND t.id = :id")
+    Optional<TicketResponse> findResponseById(Long id);
+
+    /**
+     * Exportación: cursor forward-only de DTOs (nada entra al contexto de persistencia) leído de a
+     * {@code fetchSize} filas. Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @Query(RESPONSE_PROJECTION + """
+            WHERE t.deleted = false
+              AND (:tecnicoId IS NULL OR tec.id = :tecnicoId)
+              AND (:juzgadoId IS NULL OR j.id = :juzgadoId)
+              AND (:status IS NULL OR t.status = :status)
+              AND (:desde IS NULL OR t.createdAt >= :desde)
+              AND (:hasta IS NULL OR t.createdAt < :hasta)
+            ORDER BY t.id
+            """)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TicketResponse> streamForExport(Long tecnicoId, Long juzgadoId, TicketStatus status,
+                                           LocalDateTime desde, LocalDateTime hasta);
+
     long countByStatusAndDeletedFalse(TicketStatus status);
 
     long countByPrioridadAndStatusNotAndDeletedFalse(Priority prioridad, TicketStatus status);
 
-    boolean existsByHardwareAfectadoIdAndStatusNotAndDeletedFalse(Long hardwareId, TicketStatus excludedStatus);
+    @Query("SELECT new com.sojus.dto.TicketCountRow(t.status, t.prioridad, COUNT(t)) "
+            + "FROM Ticket t WHERE t.deleted = false GROUP BY t.status, t.prioridad")
+    List<TicketCountRow> countGroupedByStatusAndPrioridad();
+
+    @Query("SELECT new com.sojus.dto.TicketCountRow(t.status, t.prioridad, j.id, COUNT(t)) "
+            + "FROM Ticket t LEFT JOIN t.juzgado j WHERE t.deleted = false GROUP BY t.status, t.prioridad, j.id")
+    List<TicketCountRow> countGroupedByStatusPrioridadAndJuzgado();
+
+    boolean existsByIdAndDeletedFalse(Long id);
+
+    @Query("SELECT new com.sojus.dto.SlaTicketRow(t.id, t.prioridad, t.createdAt, t.slaVencimiento) "
+            + "FROM Ticket t WHERE t.deleted = false AND t.status <> com.sojus.domain.enums.TicketStatus.CERRADO")
+    List<SlaTicketRow> findOpenSlaRows();
+
+    @Query("SELECT new com.sojus.dto.TicketTextRow(t.id, t.juzgado.id, t.asunto, t.descripcion) "
+            + "FROM Ticket t WHERE t.deleted = false AND t.status <> com.sojus.domain.enums.TicketStatus.CERRADO")
+    List<TicketTextRow> findOpenTextRows();
+
+    // ---- Paginación keyset (createdAt DESC, id DESC) con fetch-join de las asociaciones de TicketResponse ----
+
+    @Query("""
+            SELECT t FROM Ticket t
+            LEFT JOIN FETCH t.juzgado
+            LEFT JOIN FETCH t.solicitante
+            LEFT JOIN FETCH t.tecnicoAsignado
+            LEFT JOIN FETCH t.hardwareAfectado
+            WHERE t.deleted = false
+              AND (:cursorCreatedAt IS NULL
+                   OR t.createdAt < :cursorCreatedAt
+                   OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Ticket> findPage(LocalDateTime cursorCreatedAt, Long cursorId, Limit limit);
+
+    @Query("""
+            SELECT t FROM Ticket t
+            LEFT JOIN FETCH t.juzgado
+            LEFT JOIN FETCH t.solicitante
+            LEFT JOIN FETCH t.tecnicoAsignado
+            LEFT JOIN FETCH t.hardwareAfectado
+            WHERE t.deleted = false AND t.tecnicoAsignado.id = :tecnicoId
+              AND (:cursorCreatedAt IS NULL
+                   OR t.createdAt < :cursorCreatedAt
+                   OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Ticket> findPageByTecnico(Long tecnicoId, LocalDateTime cursorCreatedAt, Long cursorId, Limit limit);
+
+    @Query("""
+            SELECT t FROM Ticket t
+            LEFT JOIN FETCH t.juzgado
+            LEFT JOIN FETCH t.solicitante
+            LEFT JOIN FETCH t.tecnicoAsignado
+            LEFT JOIN FETCH t.hardwareAfectado
+            WHERE t.deleted = false AND t.solicitante.id = :solicitanteId
+              AND (:cursorCreatedAt IS NULL
+                   OR t.createdAt < :cursorCreatedAt
+                   OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Ticket> findPageBySolicitante(Long solicitanteId, LocalDateTime cursorCreatedAt, Long cursorId, Limit limit);
 }
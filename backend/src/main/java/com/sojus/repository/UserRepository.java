@@ -2,7 +2,10 @@ package com.sojus.repository;
 
 import com.sojus.domain.entity.User;
 import com.sojus.domain.enums.RoleName;
+import com.sojus.dto.TechnicianLoadRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +14,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByDeletedFalse();
     List<User> findAllByRoleAndDeletedFalse(RoleName role);
     boolean existsByUsername(String username);
+
+    /**
+     * Carga de cada técnico activo (tickets no cerrados ni eliminados asignados, por prioridad) en
+     * una sola consulta agregada; reconstruye el estado de {@code TechnicianLoadBalancer}.
+     */
+    @Query("SELECT new com.sojus.dto.TechnicianLoadRow(u.id, j.id, e.id, t.prioridad, COUNT(t)) "
+            + "FROM User u LEFT JOIN u.juzgado j LEFT JOIN j.edificio e "
+            + "LEFT JOIN Ticket t ON t.tecnicoAsignado = u AND t.deleted = false "
+            + "AND t.status <> com.sojus.domain.enums.TicketStatus.CERRADO "
+            + "WHERE u.role = com.sojus.domain.enums.RoleName.TECNICO AND u.deleted = false AND u.active = true "
+            + "GROUP BY u.id, j.id, e.id, t.prioridad")
+    List<TechnicianLoadRow> findTechnicianLoads();
+
+    /** Lo mismo para un solo usuario; vacía si no es un técnico activo. */
+    @Query("SELECT new com.sojus.dto.TechnicianLoadRow(u.id, j.id, e.id, t.prioridad, COUNT(t)) "
+            + "FROM User u LEFT JOIN u.juzgado j LEFT JOIN j.edificio e "
+            + "LEFT JOIN Ticket t ON t.tecnicoAsignado = u AND t.deleted = false "
+            + "AND t.status <> com.sojus.domain.enums.TicketStatus.CERRADO "
+            + "WHERE u.id = :userId AND u.role = com.sojus.domain.enums.RoleName.TECNICO "
+            + "AND u.deleted = false AND u.active = true "
+            + "GROUP BY u.id, j.id, e.id, t.prioridad")
+    List<TechnicianLoadRow> findTechnicianLoad(Long userId);
 }
@@ -1,7 +1,6 @@
 package com.sojus.security;
 
 import com.sojus.domain.entity.User;
-import com.sojus.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,7 +22,7 @@ import java.util.Optional;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,23 +31,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractToken(request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            String username = tokenProvider.getUsernameFromToken(token);
-            String role = tokenProvider.getRoleFromToken(token);
+        if (StringUtils.hasText(token)) {
+            tokenProvider.parseToken(token).ifPresent(this::authenticate);
+        }
+
+        filterChain.doFilter(request, response);
+    }
 
-            Optional<User> userOpt = userRepository.findByUsernameAndDeletedFalse(username);
+    private void authenticate(JwtClaims claims) {
+        Optional<User> userOpt = principalCache.get(claims.username())
+                .filter(u -> Boolean.TRUE.equals(u.getActive()));
 
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        if (userOpt.isPresent()) {
+            User user = userOpt.get();
+            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + claims.role()));
 
-                var authentication = new UsernamePasswordAuthenticationToken(
-                        user, null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            var authentication = new UsernamePasswordAuthenticationToken(
+                    user, null, authorities);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
-
-        filterChain.doFilter(request, response);
     }
 
     private String extractToken(HttpServletRequest request) {
@@ -0,0 +1,14 @@
+package com.sojus.security;
+
+import java.time.Instant;
+
+/**
+ * Claims de un JWT ya verificado. Inmutable: puede compartirse entre requests desde la caché
+ * de {@link JwtTokenProvider}.
+ */
+public record JwtClaims(String username, String role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
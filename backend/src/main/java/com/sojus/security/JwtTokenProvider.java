@@ -7,19 +7,38 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey key;
     private final long expirationMs;
+    /** El parser de jjwt es inmutable y thread-safe: se construye una sola vez. */
+    private final JwtParser parser;
+
+    /**
+     * Tokens ya verificados, por digest SHA-256 (no se retiene el token en memoria), hasta su
+     * expiración. Acotada: al llenarse se descartan los vencidos y, si no alcanza, se vacía.
+     */
+    private final Map<String, JwtClaims> verified = new ConcurrentHashMap<>();
+    private final int verifiedCacheSize;
 
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms}") long expirationMs) {
+            @Value("${app.jwt.expiration-ms}") long expirationMs,
+            @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedCacheSize = verifiedCacheSize;
     }
 
     public String generateToken(String username, String role) {
@@ -35,30 +54,69 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verifica la firma y la expiración una sola vez y devuelve los claims, o vacío si el token
+     * no es válido. Un token ya verificado y vigente se resuelve desde caché sin re-verificar el HMAC.
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        String digest = verifiedCacheSize > 0 ? digest(token) : null;
+        if (digest != null) {
+            JwtClaims cached = verified.get(digest);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return Optional.of(cached);
+                }
+                verified.remove(digest, cached);
+                return Optional.empty();
+            }
+        }
+
+        JwtClaims claims;
+        try {
+            Claims payload = parser.parseSignedClaims(token).getPayload();
+            Date expiration = payload.getExpiration();
+            claims = new JwtClaims(payload.getSubject(), payload.get("role", String.class),
+                    expiration != null ? expiration.toInstant() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (digest != null && claims.expiresAt() != null) {
+            if (verified.size() >= verifiedCacheSize) {
+                verified.values().removeIf(c -> c.isExpired(now));
+                if (verified.size() >= verifiedCacheSize) {
+                    verified.clear();
+                }
+            }
+            verified.put(digest, claims);
+        }
+        return Optional.of(claims);
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseToken(token).map(JwtClaims::username)
+                .orElseThrow(() -> new JwtException("Token inválido"));
     }
 
     public String getRoleFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role", String.class);
+        return parseToken(token).map(JwtClaims::role)
+                .orElseThrow(() -> new JwtException("Token inválido"));
     }
 
     public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
     }
 }
@@ -0,0 +1,122 @@
+package com.sojus.security;
+
+import com.sojus.domain.entity.User;
+import com.sojus.domain.event.UserChangedEvent;
+import com.sojus.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché acotada de principals autenticados por username, para que JwtAuthenticationFilter no
+ * consulte la tabla users en cada request. Las entradas expiran por TTL y se invalidan tras el
+ * commit de UserService.update/softDelete, de modo que una baja o desactivación rige en el
+ * siguiente request. Solo se cachean usuarios existentes: un username desconocido siempre va a BD.
+ * <p>
+ * Métricas (convención de Micrometer para cachés, tag {@code cache=principals}):
+ * {@code cache.gets{result=hit|miss}}, {@code cache.evictions} y {@code cache.size}.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principals";
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PrincipalCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.ttl-ms:60000}") long ttlMs,
+                          @Value("${app.security.principal-cache.max-size:1000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Lecturas de la caché de principals").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Lecturas de la caché de principals").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Entradas expulsadas por TTL, tamaño o invalidación").register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME)
+                .description("Principals en caché").register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el usuario no eliminado con ese username, desde caché o BD.
+     */
+    public Optional<User> get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null) {
+            if (entry.expiresAt() > now) {
+                hits.increment();
+                return Optional.of(entry.user());
+            }
+            if (entries.remove(username, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        Optional<User> user = userRepository.findByUsernameAndDeletedFalse(username);
+        user.ifPresent(u -> put(username, u, now));
+        return user;
+    }
+
+    public void invalidate(String username) {
+        if (username != null && entries.remove(username) != null) {
+            evictions.increment();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    private void put(String username, User user, long now) {
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(username, new Entry(user, now + ttlMs));
+    }
+
+    /**
+     * Libera espacio: primero las entradas vencidas; si no alcanza, la más próxima a vencer
+     * (equivale a la más antigua, ya que el TTL es fijo).
+     */
+    private void evict(long now) {
+        String oldest = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Entry> e = it.next();
+            long expiresAt = e.getValue().expiresAt();
+            if (expiresAt <= now) {
+                it.remove();
+                evictions.increment();
+            } else if (expiresAt < oldestExpiry) {
+                oldestExpiry = expiresAt;
+                oldest = e.getKey();
+            }
+        }
+        if (entries.size() >= maxSize && oldest != null && entries.remove(oldest) != null) {
+            evictions.increment();
+        }
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
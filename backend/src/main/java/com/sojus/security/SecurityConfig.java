@@ -1,5 +1,6 @@
 package com.sojus.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -39,10 +40,17 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // --- Despacho async de respuestas en streaming: ya autorizado en el request original ---
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // --- Públicos ---
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+
+                        // --- Métricas: solo ADMINISTRADOR ---
+                        .requestMatchers("/actuator/**").hasRole("ADMINISTRADOR")
 
                         // --- Auditoría: solo ADMINISTRADOR ---
                         .requestMatchers("/api/audit/**").hasRole("ADMINISTRADOR")
@@ -50,11 +58,16 @@ public class SecurityConfig {
                         // --- Usuarios: solo ADMINISTRADOR (CRUD completo) ---
                         .requestMatchers("/api/users/**").hasRole("ADMINISTRADOR")
 
+                        // --- Reglas de prioridad: solo ADMINISTRADOR ---
+                        .requestMatchers("/api/priority-rules/**").hasRole("ADMINISTRADOR")
+
                         // --- Dashboard: ADMINISTRADOR u OPERADOR ---
                         .requestMatchers("/api/dashboard/**").hasAnyRole("ADMINISTRADOR", "OPERADOR")
 
                         // --- Tickets ---
                         .requestMatchers(HttpMethod.GET, "/api/tickets/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/tickets/bulk").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.POST, "/api/tickets/*/bitacora").hasAnyRole("ADMINISTRADOR", "TECNICO")
                         .requestMatchers(HttpMethod.POST, "/api/tickets/**").hasAnyRole("ADMINISTRADOR", "OPERADOR")
                         .requestMatchers(HttpMethod.PATCH, "/api/tickets/**").hasAnyRole("ADMINISTRADOR", "TECNICO")
                         .requestMatchers(HttpMethod.DELETE, "/api/tickets/**").hasRole("ADMINISTRADOR")
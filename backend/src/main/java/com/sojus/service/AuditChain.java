@@ -0,0 +1,59 @@
+package com.sojus.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Encadenamiento de la auditoría: el hash de cada registro es SHA-256 del hash del registro
+ * anterior (en orden de {@code chain_seq}), de su posición y de su propio contenido. Editar, borrar,
+ * reordenar o intercalar un registro rompe la cadena desde ese punto.
+ * <p>
+ * El contenido se serializa con cada campo prefijado por su longitud, así ningún valor puede
+ * imitar un separador, y el timestamp se trunca a microsegundos, la precisión con que lo guarda
+ * la BD.
+ */
+final class AuditChain {
+
+    /** Hash "anterior" del primer registro de la cadena. */
+    static final String GENESIS = "0".repeat(64);
+
+    private AuditChain() {
+    }
+
+    static LocalDateTime normalize(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    static String hash(String previous, long seq, String entityName, Long entityId, String action,
+                       String username, String oldValue, String newValue, String field, LocalDateTime timestamp) {
+        StringBuilder content = new StringBuilder(previous);
+        append(content, Long.toString(seq));
+        append(content, entityName);
+        append(content, entityId != null ? entityId.toString() : null);
+        append(content, action);
+        append(content, username);
+        append(content, oldValue);
+        append(content, newValue);
+        append(content, field);
+        append(content, normalize(timestamp).toString());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static void append(StringBuilder content, String value) {
+        if (value == null) {
+            content.append("-;");
+        } else {
+            content.append(value.length()).append(':').append(value).append(';');
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.AuditCheckpoint;
+import com.sojus.dto.AuditChainReport;
+import com.sojus.repository.AuditCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Verificación incremental de la cadena de auditoría ({@link AuditChain}).
+ * <p>
+ * Cada corrida parte del último {@link AuditCheckpoint} válido y recorre en orden de
+ * {@code chain_seq} solo los registros posteriores, de la tabla viva y del archivo de tickets, con
+ * un cursor de {@code app.audit.chain.fetch-size} filas: la memoria es constante aunque haya
+ * millones. Una posición faltante o un hash que no coincide es una ruptura, y también que el
+ * recorrido no llegue a la cabeza de {@code audit_chain_head} (filas finales borradas). Al
+ * terminar guarda un nuevo checkpoint; si encuentra una ruptura se detiene ahí, la registra como
+ * checkpoint inválido y no avanza, así que la siguiente corrida la vuelve a reportar.
+ * <p>
+ * Métricas: {@code audit.chain.verified} y {@code audit.chain.breaks}.
+ */
+@Component
+@Slf4j
+public class AuditChainVerifier {
+
+    private static final String ROWS_AFTER = """
+            SELECT id, chain_seq, entity_name, entity_id, action, username, old_value, new_value, field,
+                   timestamp, hash
+            FROM audit_log WHERE chain_seq > ? AND chain_seq <= ?
+            UNION ALL
+            SELECT id, chain_seq, entity_name, entity_id, action, username, old_value, new_value, field,
+                   timestamp, hash
+            FROM audit_log_archive WHERE chain_seq > ? AND chain_seq <= ?
+            ORDER BY chain_seq
+            """;
+
+    private final AuditCheckpointRepository checkpointRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate tx;
+    private final Counter verified;
+    private final Counter breaks;
+
+    public AuditChainVerifier(AuditCheckpointRepository checkpointRepository,
+                              DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.audit.chain.fetch-size:1000}") int fetchSize) {
+        this.checkpointRepository = checkpointRepository;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setReadOnly(true);
+        this.verified = Counter.builder("audit.chain.verified")
+                .description("Registros de auditoría verificados contra la cadena").register(meterRegistry);
+        this.breaks = Counter.builder("audit.chain.breaks")
+                .description("Rupturas detectadas en la cadena de auditoría").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.audit.chain.verify-cron:0 0 4 * * *}")
+    public void verifyScheduled() {
+        verify();
+    }
+
+    public synchronized AuditChainReport verify() {
+        Optional<AuditCheckpoint> checkpoint = checkpointRepository.findFirstByValidTrueOrderByIdDesc();
+        long fromSeq = checkpoint.map(AuditCheckpoint::getLastSeq).orElse(0L);
+        Walk walk = new Walk(fromSeq, checkpoint.map(AuditCheckpoint::getLastHash).orElse(AuditChain.GENESIS));
+        // Dentro de una transacción de solo lectura el driver de PostgreSQL usa un cursor por fetchSize
+        tx.executeWithoutResult(status -> {
+            // La cabeza se lee antes que las filas: lo que se encadene durante el recorrido queda
+            // para la próxima corrida, y lo que la cabeza ya cuenta tiene que estar en las tablas
+            Map<String, Object> head = streamingJdbcTemplate.queryForMap(
+                    "SELECT last_seq, last_hash FROM audit_chain_head WHERE id = 1");
+            long headSeq = ((Number) head.get("last_seq")).longValue();
+            streamingJdbcTemplate.query(ROWS_AFTER, rs -> {
+                while (rs.next() && walk.accept(rs)) {
+                    // accept avanza el recorrido y se detiene en la primera ruptura
+                }
+                return null;
+            }, fromSeq, headSeq, fromSeq, headSeq);
+            boolean atHead = walk.lastSeq == headSeq && walk.lastHash.equals(head.get("last_hash"));
+            if (walk.brokenId == null && !atHead) {
+                walk.truncatedAt = headSeq;
+            }
+        });
+
+        boolean valid = walk.brokenId == null && walk.truncatedAt == null;
+        if (!valid || walk.lastSeq > fromSeq) {
+            checkpointRepository.save(AuditCheckpoint.builder()
+                    .lastSeq(walk.lastSeq)
+                    .lastHash(walk.lastHash)
+                    .rowsVerified(walk.rows)
+                    .valid(valid)
+                    .brokenId(walk.brokenId)
+                    .build());
+        }
+        verified.increment(walk.rows);
+        if (valid) {
+            log.info("Cadena de auditoría íntegra: {} registros verificados (posiciones {} a {})",
+                    walk.rows, fromSeq, walk.lastSeq);
+        } else if (walk.truncatedAt != null) {
+            breaks.increment();
+            log.error("Cadena de auditoría truncada: el recorrido termina en la posición {} y la cabeza "
+                    + "registra la posición {}", walk.lastSeq, walk.truncatedAt);
+        } else {
+            breaks.increment();
+            log.error("Cadena de auditoría rota en el registro {}: el hash no coincide con el contenido "
+                    + "o con el registro anterior (posición {})", walk.brokenId, walk.lastSeq);
+        }
+        return AuditChainReport.builder()
+                .valid(valid)
+                .desdeSeq(fromSeq)
+                .hastaSeq(walk.lastSeq)
+                .verificados(walk.rows)
+                .brokenId(walk.brokenId)
+                .truncadaEn(walk.truncatedAt)
+                .build();
+    }
+
+    /** Estado del recorrido: solo la última posición y hash válidos, nunca las filas. */
+    private static final class Walk {
+        private long lastSeq;
+        private String lastHash;
+        private long rows;
+        private Long brokenId;
+        /** Posición de la cabeza si el recorrido terminó antes de alcanzarla. */
+        private Long truncatedAt;
+
+        Walk(long lastSeq, String lastHash) {
+            this.lastSeq = lastSeq;
+            this.lastHash = lastHash;
+        }
+
+        /** Procesa la fila actual; false si rompe la cadena. */
+        boolean accept(ResultSet rs) throws SQLException {
+            long seq = rs.getLong("chain_seq");
+            String hash = rs.getString("hash");
+            // La posición entra en el hash: una fila borrada o reordenada no coincide con la siguiente
+            String expected = AuditChain.hash(lastHash, seq,
+                    rs.getString("entity_name"),
+                    rs.getObject("entity_id", Long.class),
+                    rs.getString("action"),
+                    rs.getString("username"),
+                    rs.getString("old_value"),
+                    rs.getString("new_value"),
+                    rs.getString("field"),
+                    rs.getTimestamp("timestamp").toLocalDateTime());
+            if (seq != lastSeq + 1 || !expected.equals(hash)) {
+                brokenId = rs.getLong("id");
+                return false;
+            }
+            lastSeq = seq;
+            lastHash = hash;
+            rows++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritor asíncrono de auditoría: saca el INSERT de audit_log (con sus índices y su cadena de
+ * hashes) de la transacción de negocio, sin perder registros si el proceso cae.
+ * <p>
+ * {@link #record} acumula los registros de la transacción en curso y, en {@code beforeCommit}, los
+ * escribe en la tabla {@code audit_outbox} con un único INSERT multi-fila dentro de la misma
+ * transacción: se confirman junto con el cambio que auditan o no se confirman (outbox
+ * transaccional). Un hilo escritor mueve el outbox a audit_log en lotes de hasta {@code batchSize}
+ * filas: INSERT en audit_log y DELETE del outbox van en una misma transacción, así que un fallo
+ * reintenta el lote entero sin duplicar filas. Lo que quede en el outbox al detenerse lo toma el
+ * próximo arranque de cualquier instancia.
+ * <p>
+ * Cada lote se encadena ({@link AuditChain}) en esa misma transacción: bloquea la única fila de
+ * {@code audit_chain_head} con SELECT ... FOR UPDATE, numera sus filas a continuación de la última
+ * posición ({@code chain_seq}), calcula cada hash a partir del anterior y actualiza la cabeza.
+ * Varias instancias encadenan así de a una, y el orden de la cadena no depende de cómo la BD
+ * asigne los ids. {@link AuditChainVerifier} comprueba la cadena.
+ * <p>
+ * Métricas: {@code audit.queue.depth} (filas en el outbox), {@code audit.flush.latency} y
+ * {@code audit.records.written}.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final String OUTBOX_COLUMNS =
+            "INSERT INTO audit_outbox (entity_name, entity_id, action, username, old_value, new_value, field, timestamp) "
+                    + "VALUES ";
+    private static final int OUTBOX_PARAMS_PER_ROW = 8;
+    private static final String COLUMNS =
+            "INSERT INTO audit_log (entity_name, entity_id, action, username, old_value, new_value, field, timestamp, "
+                    + "chain_seq, hash) VALUES ";
+    private static final int PARAMS_PER_ROW = 10;
+    /** PostgreSQL admite hasta 32767 parámetros por sentencia. */
+    private static final int MAX_ROWS_PER_INSERT = 32_767 / PARAMS_PER_ROW;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private static final RowMapper<Entry> OUTBOX_MAPPER = (rs, i) -> new Entry(
+            rs.getLong("id"),
+            rs.getString("entity_name"),
+            rs.getObject("entity_id", Long.class),
+            rs.getString("action"),
+            rs.getString("username"),
+            rs.getString("old_value"),
+            rs.getString("new_value"),
+            rs.getString("field"),
+            rs.getTimestamp("timestamp").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Timer flushTimer;
+    private final Counter written;
+    private final AtomicLong backlog = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.batch-size:500}") int batchSize,
+                          @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.min(batchSize, MAX_ROWS_PER_INSERT);
+        this.flushIntervalMs = flushIntervalMs;
+        this.flushTimer = Timer.builder("audit.flush.latency")
+                .description("Duración de cada lote movido del outbox a audit_log").register(meterRegistry);
+        this.written = Counter.builder("audit.records.written")
+                .description("Registros de auditoría insertados").register(meterRegistry);
+        Gauge.builder("audit.queue.depth", backlog, AtomicLong::get)
+                .description("Registros de auditoría en el outbox pendientes de escritura").register(meterRegistry);
+    }
+
+    /**
+     * Registra un cambio. Dentro de una transacción se escribe en el outbox antes del commit, como
+     * parte de ella; fuera de una transacción se escribe de inmediato.
+     */
+    public void record(AuditLog auditLog) {
+        Entry entry = Entry.of(auditLog);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeOutbox(List.of(entry));
+            wakeUp();
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Entry> pending = (List<Entry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Entry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Si falla, falla el commit: no hay cambio confirmado sin su auditoría
+                    writeOutbox(entries);
+                }
+
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogWriter.this);
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    private void writeOutbox(List<Entry> entries) {
+        for (int from = 0; from < entries.size(); from += MAX_ROWS_PER_INSERT) {
+            List<Entry> chunk = entries.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, entries.size()));
+            StringBuilder sql = new StringBuilder(OUTBOX_COLUMNS.length() + chunk.size() * 20).append(OUTBOX_COLUMNS);
+            Object[] args = new Object[chunk.size() * OUTBOX_PARAMS_PER_ROW];
+            int i = 0;
+            for (Entry e : chunk) {
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?)");
+                args[i++] = e.entityName();
+                args[i++] = e.entityId();
+                args[i++] = e.action();
+                args[i++] = e.username();
+                args[i++] = e.oldValue();
+                args[i++] = e.newValue();
+                args[i++] = e.field();
+                args[i++] = Timestamp.valueOf(e.timestamp());
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+
+    /** Despierta al escritor sin esperar el próximo intervalo; nunca bloquea a quien registra. */
+    private void wakeUp() {
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // ---- Ciclo de vida ----
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "audit-log-writer");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ---- Hilo escritor ----
+
+    private void run() {
+        long backoff = 0;
+        while (running) {
+            int moved = drain();
+            if (moved < 0) {
+                backoff = backoff == 0 ? 500 : Math.min(backoff * 2, MAX_BACKOFF_MS);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoff));
+            } else {
+                backoff = 0;
+                if (moved < batchSize) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                }
+            }
+        }
+        // Al detenerse se vacía lo que se pueda; el resto queda en el outbox para el próximo arranque
+        int moved;
+        do {
+            moved = drain();
+        } while (moved == batchSize);
+    }
+
+    /**
+     * Mueve un lote del outbox a audit_log en una sola transacción; devuelve las filas movidas o -1
+     * si falló (el lote queda en el outbox y se reintenta entero).
+     */
+    private int drain() {
+        try {
+            Integer moved = flushTimer.record(() -> tx.execute(status -> {
+                // SKIP LOCKED: nunca dos escritores con las mismas filas del outbox
+                List<Entry> batch = jdbcTemplate.query("""
+                        SELECT id, entity_name, entity_id, action, username, old_value, new_value, field, timestamp
+                        FROM audit_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+                        """, OUTBOX_MAPPER, batchSize);
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                insert(batch);
+                namedJdbcTemplate.update("DELETE FROM audit_outbox WHERE id IN (:ids)",
+                        new MapSqlParameterSource("ids", batch.stream().map(Entry::outboxId).toList()));
+                return batch.size();
+            }));
+            int count = moved != null ? moved : 0;
+            if (count > 0) {
+                written.increment(count);
+            }
+            backlog.set(count < batchSize ? 0
+                    : jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_outbox", Long.class));
+            return count;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Fallo al mover auditoría del outbox; se reintenta: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /** Inserta el lote encadenado; corre dentro de la transacción de {@link #drain}. */
+    private void insert(List<Entry> batch) {
+        // Bloquea la cabeza hasta el commit: otro escritor espera y sigue desde este lote
+        Map<String, Object> head = jdbcTemplate.queryForMap(
+                "SELECT last_seq, last_hash FROM audit_chain_head WHERE id = 1 FOR UPDATE");
+        long seq = ((Number) head.get("last_seq")).longValue();
+        String previous = (String) head.get("last_hash");
+        StringBuilder sql = new StringBuilder(COLUMNS.length() + batch.size() * 20).append(COLUMNS);
+        Object[] args = new Object[batch.size() * PARAMS_PER_ROW];
+        int i = 0;
+        for (Entry e : batch) {
+            LocalDateTime timestamp = AuditChain.normalize(e.timestamp());
+            previous = AuditChain.hash(previous, ++seq, e.entityName(), e.entityId(), e.action(),
+                    e.username(), e.oldValue(), e.newValue(), e.field(), timestamp);
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            args[i++] = e.entityName();
+            args[i++] = e.entityId();
+            args[i++] = e.action();
+            args[i++] = e.username();
+            args[i++] = e.oldValue();
+            args[i++] = e.newValue();
+            args[i++] = e.field();
+            args[i++] = Timestamp.valueOf(timestamp);
+            args[i++] = seq;
+            args[i++] = previous;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+        jdbcTemplate.update("UPDATE audit_chain_head SET last_seq = ?, last_hash = ? WHERE id = 1",
+                seq, previous);
+    }
+
+    /** Registro de auditoría pendiente; {@code outboxId} es 0 hasta que se escribe en el outbox. */
+    record Entry(long outboxId, String entityName, Long entityId, String action, String username,
+                 String oldValue, String newValue, String field, LocalDateTime timestamp) {
+
+        static Entry of(AuditLog log) {
+            return new Entry(0, log.getEntityName(), log.getEntityId(), log.getAction(), log.getUsername(),
+                    log.getOldValue(), log.getNewValue(), log.getField(),
+                    log.getTimestamp() != null ? log.getTimestamp() : LocalDateTime.now());
+        }
+    }
+}
@@ -1,26 +1,129 @@
 package com.sojus.service;
 
 import com.sojus.domain.entity.AuditLog;
+import com.sojus.dto.AuditFilter;
+import com.sojus.dto.AuditPageResponse;
 import com.sojus.repository.AuditLogRepository;
+import com.sojus.repository.AuditSearchRepository;
+import com.sojus.repository.TicketArchiveRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Consultas de auditoría. La auditoría de los tickets archivados vive en {@code audit_log_archive}
+ * y se lee de ahí cuando la tabla viva no alcanza.
+ */
 @Service
 @RequiredArgsConstructor
 public class AuditService {
 
+    private static final int RECENT_LIMIT = 100;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    private static final Comparator<AuditLog> NEWEST_FIRST = Comparator
+            .comparing(AuditLog::getTimestamp).thenComparing(AuditLog::getId).reversed();
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditSearchRepository auditSearchRepository;
+    private final TicketArchiveRepository ticketArchiveRepository;
 
+    /**
+     * Últimos registros. Primero consulta el mes en curso, que en PostgreSQL es una sola partición;
+     * solo si no alcanza recorre el resto, y se completa con el archivo si la tabla viva tiene menos
+     * del límite.
+     */
     @Transactional(readOnly = true)
     public List<AuditLog> findRecent() {
-        return auditLogRepository.findTop100ByOrderByTimestampDesc();
+        LocalDateTime inicioMes = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        List<AuditLog> recent =
+                auditLogRepository.findTop100ByTimestampGreaterThanEqualOrderByTimestampDesc(inicioMes);
+        if (recent.size() >= RECENT_LIMIT) {
+            return recent;
+        }
+        recent = auditLogRepository.findTop100ByOrderByTimestampDesc();
+        if (recent.size() >= RECENT_LIMIT) {
+            return recent;
+        }
+        List<AuditLog> merged = new ArrayList<>(recent);
+        merged.addAll(ticketArchiveRepository.findRecentAudit(RECENT_LIMIT - recent.size()));
+        return merged;
     }
 
+    /**
+     * Historial de la entidad. Un ticket archivado puede seguir recibiendo registros en la tabla viva
+     * (los que el escritor de auditoría vuelca después del archivado), así que para los tickets se
+     * mezclan siempre ambas tablas en orden (timestamp DESC, id DESC).
+     */
     @Transactional(readOnly = true)
     public List<AuditLog> findByEntity(String entityName, Long entityId) {
-        return auditLogRepository.findAllByEntityNameAndEntityIdOrderByTimestampDesc(entityName, entityId);
+        List<AuditLog> history = new ArrayList<>(
+                auditLogRepository.findAllByEntityNameAndEntityIdOrderByTimestampDesc(entityName, entityId));
+        if (TicketArchiveRepository.AUDIT_ENTITY.equals(entityName)) {
+            history.addAll(ticketArchiveRepository.findAuditByEntity(entityName, entityId));
+            history.sort(NEWEST_FIRST);
+        }
+        return history;
+    }
+
+    /**
+     * Búsqueda filtrada, paginada por keyset (timestamp DESC, id DESC). Incluye la auditoría de los
+     * tickets archivados: ambas tablas comparten ids, así que el mismo cursor vale para las dos y
+     * la página es la mezcla ordenada de sus primeros resultados.
+     */
+    @Transactional(readOnly = true)
+    public AuditPageResponse search(AuditFilter filter, String cursor, Integer size) {
+        if (filter.getDesde() != null && filter.getHasta() != null && !filter.getHasta().isAfter(filter.getDesde())) {
+            throw new IllegalArgumentException("El rango de fechas es inválido: 'hasta' debe ser posterior a 'desde'");
+        }
+        if (filter.getEntityId() != null && filter.getEntityName() == null) {
+            throw new IllegalArgumentException("El filtro entityId requiere entityName");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime cursorAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|");
+                cursorAt = LocalDateTime.parse(parts[0]);
+                cursorId = Long.valueOf(parts[1]);
+            } catch (DateTimeParseException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+        }
+
+        // Se pide un registro extra para saber si hay página siguiente sin un COUNT
+        List<AuditLog> rows = new ArrayList<>(auditSearchRepository.search(
+                AuditSearchRepository.Source.LIVE, filter, cursorAt, cursorId, pageSize + 1));
+        if (filter.getEntityName() == null || TicketArchiveRepository.AUDIT_ENTITY.equals(filter.getEntityName())) {
+            rows.addAll(auditSearchRepository.search(
+                    AuditSearchRepository.Source.ARCHIVE, filter, cursorAt, cursorId, pageSize + 1));
+            rows.sort(NEWEST_FIRST);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLog> page = hasMore ? List.copyOf(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = page.get(page.size() - 1);
+            String raw = last.getTimestamp() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return AuditPageResponse.builder()
+                .items(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(page.size())
+                .build();
     }
 }
@@ -0,0 +1,22 @@
+package com.sojus.service;
+
+import java.util.Locale;
+
+/**
+ * Operaciones admitidas por {@code POST /api/tickets/bulk}.
+ */
+public enum BulkOperation {
+    ASIGNAR,
+    CAMBIAR_ESTADO,
+    COMENTAR,
+    ELIMINAR;
+
+    public static BulkOperation parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Operación masiva inválida: " + value
+                    + " (ASIGNAR | CAMBIAR_ESTADO | COMENTAR | ELIMINAR)");
+        }
+    }
+}
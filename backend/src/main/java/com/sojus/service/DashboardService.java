@@ -2,44 +2,117 @@ package com.sojus.service;
 
 import com.sojus.domain.enums.Priority;
 import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.InventoryChangedEvent;
 import com.sojus.dto.DashboardStats;
-import com.sojus.repository.ContractRepository;
-import com.sojus.repository.HardwareRepository;
-import com.sojus.repository.SoftwareRepository;
+import com.sojus.dto.InventoryContractCounts;
+import com.sojus.dto.TicketCountRow;
+import com.sojus.repository.DashboardRepository;
 import com.sojus.repository.TicketRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Estadísticas del dashboard. Los conteos de tickets se leen de {@link TicketCounterRegistry}
+ * (memoria, O(1)); inventario y contratos salen de una única consulta agregada servida desde una
+ * instantánea con TTL corto: N clientes haciendo polling cuestan un round-trip por ventana de
+ * refresco. Las escrituras de inventario invalidan la instantánea tras el commit. Los indicadores
+ * de SLA salen de {@link SlaTracker}, también en memoria.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final TicketRepository ticketRepository;
-    private final HardwareRepository hardwareRepository;
-    private final SoftwareRepository softwareRepository;
-    private final ContractRepository contractRepository;
+    private final DashboardRepository dashboardRepository;
+    private final TicketCounterRegistry ticketCounters;
+    private final SlaTracker slaTracker;
+
+    @Value("${app.dashboard.cache-ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object refreshLock = new Object();
 
-    @Transactional(readOnly = true)
     public DashboardStats getStats() {
-        long abiertos = ticketRepository.countByStatusAndDeletedFalse(TicketStatus.SOLICITADO)
-                + ticketRepository.countByStatusAndDeletedFalse(TicketStatus.ASIGNADO)
-                + ticketRepository.countByStatusAndDeletedFalse(TicketStatus.EN_CURSO);
-        long cerrados = ticketRepository.countByStatusAndDeletedFalse(TicketStatus.CERRADO);
-        long prioridadAlta = ticketRepository.countByPrioridadAndStatusNotAndDeletedFalse(
-                Priority.ALTA, TicketStatus.CERRADO);
-
-        return DashboardStats.builder()
-                .ticketsAbiertos(abiertos)
-                .ticketsCerradosMes(cerrados)
-                .ticketsPrioridadAlta(prioridadAlta)
-                .totalHardware(hardwareRepository.countByDeletedFalse())
-                .totalSoftware(softwareRepository.countByDeletedFalse())
-                .contratosVigentes(contractRepository.countByActiveTrue())
-                .contratosProximosVencer(contractRepository.countByFechaFinBeforeAndActiveTrue(
-                        LocalDate.now().plusDays(30)))
-                .build();
+        InventoryContractCounts counts = inventoryAndContracts();
+        DashboardStats.DashboardStatsBuilder builder = DashboardStats.builder()
+                .totalHardware(counts.getTotalHardware())
+                .totalSoftware(counts.getTotalSoftware())
+                .contratosVigentes(counts.getContratosVigentes())
+                .contratosProximosVencer(counts.getContratosProximosVencer());
+
+        SlaTracker.Snapshot sla = slaTracker.snapshot();
+        builder.slaEnRiesgo(sla.enRiesgo())
+                .slaIncumplidos(sla.incumplidos())
+                .slaMinutosProximoIncumplimiento(sla.minutosParaProximoIncumplimiento());
+
+        if (ticketCounters.isReady()) {
+            long cerrados = ticketCounters.count(TicketStatus.CERRADO);
+            long abiertos = 0;
+            long prioridadAlta = 0;
+            for (TicketStatus status : TicketStatus.values()) {
+                if (status != TicketStatus.CERRADO) {
+                    abiertos += ticketCounters.count(status);
+                    prioridadAlta += ticketCounters.count(status, Priority.ALTA);
+                }
+            }
+            return builder.ticketsAbiertos(abiertos).ticketsCerradosMes(cerrados)
+                    .ticketsPrioridadAlta(prioridadAlta).build();
+        }
+
+        // Contadores aún no inicializados (arranque): un único GROUP BY
+        long abiertos = 0;
+        long cerrados = 0;
+        long prioridadAlta = 0;
+        for (TicketCountRow row : ticketRepository.countGroupedByStatusAndPrioridad()) {
+            if (row.getStatus() == TicketStatus.CERRADO) {
+                cerrados += row.getTotal();
+            } else {
+                abiertos += row.getTotal();
+                if (row.getPrioridad() == Priority.ALTA) {
+                    prioridadAlta += row.getTotal();
+                }
+            }
+        }
+        return builder.ticketsAbiertos(abiertos).ticketsCerradosMes(cerrados)
+                .ticketsPrioridadAlta(prioridadAlta).build();
+    }
+
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    @TransactionalEventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        invalidate();
+    }
+
+    private InventoryContractCounts inventoryAndContracts() {
+        Snapshot current = snapshot.get();
+        if (current != null && current.isFresh()) {
+            return current.counts();
+        }
+        // Single-flight: solo un hilo recalcula, el resto espera y reutiliza el resultado
+        synchronized (refreshLock) {
+            current = snapshot.get();
+            if (current != null && current.isFresh()) {
+                return current.counts();
+            }
+            InventoryContractCounts counts = dashboardRepository.countInventoryAndContracts(
+                    LocalDate.now().plusDays(30));
+            snapshot.set(new Snapshot(counts, System.currentTimeMillis() + cacheTtlMs));
+            return counts;
+        }
+    }
+
+    private record Snapshot(InventoryContractCounts counts, long expiresAt) {
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
     }
 }
@@ -0,0 +1,199 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.TicketTextRow;
+import com.sojus.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Detección de tickets casi duplicados entre los abiertos del mismo juzgado.
+ * <p>
+ * Asunto y descripción se normalizan (minúsculas, sin acentos ni palabras vacías) y cada palabra,
+ * recortada a {@value #STEM_LENGTH} letras para absorber plurales y conjugaciones, es un shingle.
+ * Los tickets abiertos se indexan en memoria con {@link MinHashLsh}: una consulta solo compara las
+ * firmas de los candidatos que comparten una banda LSH en el mismo juzgado, y reporta los que
+ * superan {@code app.tickets.duplicates.threshold} de similitud estimada. El índice se construye al
+ * arrancar con una consulta de los tickets abiertos y se actualiza con los cambios confirmados:
+ * entra al crearse y sale al cerrarse o eliminarse. Los cambios que llegan antes de terminar la
+ * consulta se guardan y se aplican sobre su resultado, ya que la consulta puede haberlos leído o no.
+ * <p>
+ * Métricas: {@code tickets.duplicates.indexed} y {@code tickets.duplicates.flagged}.
+ */
+@Component
+@Slf4j
+public class DuplicateDetector {
+
+    static final int STEM_LENGTH = 6;
+    private static final int MAX_MATCHES = 5;
+    /** Grupo LSH de los tickets sin juzgado. */
+    private static final long NO_JUZGADO = -1;
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "esta", "la", "las", "lo", "los", "me", "mi",
+            "nos", "para", "por", "que", "se", "su", "un", "una", "y");
+
+    private final TicketRepository ticketRepository;
+    private final double threshold;
+    private final Counter flagged;
+
+    // Protegido por this
+    private final MinHashLsh index;
+    private boolean ready;
+    /** Cambios recibidos mientras se lee la base; {@code null} fuera de una reconstrucción. */
+    private List<TicketChangedEvent> pending = new ArrayList<>();
+
+    public DuplicateDetector(TicketRepository ticketRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.tickets.duplicates.threshold:0.5}") double threshold,
+                             @Value("${app.tickets.duplicates.hashes:128}") int hashes,
+                             @Value("${app.tickets.duplicates.bands:32}") int bands) {
+        this.ticketRepository = ticketRepository;
+        this.threshold = threshold;
+        this.index = new MinHashLsh(hashes, bands);
+        this.flagged = Counter.builder("tickets.duplicates.flagged")
+                .description("Tickets nuevos marcados como posible duplicado").register(meterRegistry);
+        Gauge.builder("tickets.duplicates.indexed", this, DuplicateDetector::indexed)
+                .description("Tickets abiertos en el índice de similitud").register(meterRegistry);
+    }
+
+    /** Ticket abierto parecido y su similitud de Jaccard estimada (0 a 1). */
+    public record Match(Long ticketId, double similitud) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+        }
+        List<TicketTextRow> rows = ticketRepository.findOpenTextRows();
+        synchronized (this) {
+            index.clear();
+            for (TicketTextRow row : rows) {
+                add(row.getId(), row.getJuzgadoId(), row.getAsunto(), row.getDescripcion());
+            }
+            // Agregar y quitar son idempotentes: reaplicar un cambio que la consulta ya vio no altera el índice
+            for (TicketChangedEvent event : pending) {
+                apply(event);
+            }
+            pending = null;
+            ready = true;
+        }
+        log.info("Duplicados: {} tickets abiertos indexados", rows.size());
+    }
+
+    /**
+     * Tickets abiertos del mismo juzgado que se parecen al texto, de mayor a menor similitud.
+     */
+    public List<Match> findSimilar(Long juzgadoId, String asunto, String descripcion) {
+        Set<String> shingles = shingles(asunto, descripcion);
+        List<Match> matches = new ArrayList<>();
+        synchronized (this) {
+            int[] signature = index.signature(shingles);
+            if (signature == null) {
+                return List.of();
+            }
+            for (Long candidate : index.candidates(group(juzgadoId), signature)) {
+                double similitud = index.similarity(candidate, signature);
+                if (similitud >= threshold) {
+                    matches.add(new Match(candidate, similitud));
+                }
+            }
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        flagged.increment();
+        matches.sort(Comparator.comparingDouble(Match::similitud).reversed().thenComparing(Match::ticketId));
+        return matches.size() > MAX_MATCHES ? List.copyOf(matches.subList(0, MAX_MATCHES)) : matches;
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (ready) {
+                apply(event);
+            }
+        }
+    }
+
+    synchronized int indexed() {
+        return index.size();
+    }
+
+    /**
+     * Palabras normalizadas del texto: minúsculas sin acentos, sin palabras vacías ni letras
+     * sueltas, recortadas a {@value #STEM_LENGTH} caracteres.
+     */
+    static Set<String> shingles(String asunto, String descripcion) {
+        Set<String> shingles = new LinkedHashSet<>();
+        tokenize(asunto, shingles);
+        tokenize(descripcion, shingles);
+        return shingles;
+    }
+
+    // ---- Internos (con el monitor tomado) ----
+
+    private void apply(TicketChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> add(event.getTicketId(), event.getJuzgadoId(), event.getAsunto(),
+                    event.getDescripcion());
+            case STATUS_CHANGED -> {
+                if (event.getStatus() == TicketStatus.CERRADO) {
+                    index.remove(event.getTicketId());
+                }
+            }
+            case DELETED -> index.remove(event.getTicketId());
+        }
+    }
+
+    private void add(Long ticketId, Long juzgadoId, String asunto, String descripcion) {
+        int[] signature = index.signature(shingles(asunto, descripcion));
+        if (signature != null) {
+            index.add(ticketId, group(juzgadoId), signature);
+        }
+    }
+
+    private static long group(Long juzgadoId) {
+        return juzgadoId != null ? juzgadoId : NO_JUZGADO;
+    }
+
+    private static void tokenize(String text, Set<String> out) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? KeywordAutomaton.fold(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+                continue;
+            }
+            if (!word.isEmpty()) {
+                String w = word.toString();
+                if (!STOPWORDS.contains(w) && (w.length() > 1 || Character.isDigit(w.charAt(0)))) {
+                    out.add(w.length() > STEM_LENGTH ? w.substring(0, STEM_LENGTH) : w);
+                }
+                word.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.sojus.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sojus.domain.entity.User;
+import com.sojus.domain.enums.AssetStatus;
+import com.sojus.domain.enums.RoleName;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.dto.ExportFilter;
+import com.sojus.dto.HardwareExportRow;
+import com.sojus.dto.SoftwareExportRow;
+import com.sojus.repository.HardwareRepository;
+import com.sojus.repository.SoftwareRepository;
+import com.sojus.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportaciones de tickets e inventario en CSV o NDJSON con memoria constante.
+ * <p>
+ * Cada exportación recorre un Stream JPA de DTOs (cursor forward-only con fetch size) dentro de
+ * una transacción de solo lectura abierta en el hilo que escribe la respuesta, y vuelca cada fila
+ * al {@link OutputStream} del cliente: si el cliente lee lento, la escritura bloquea y la lectura
+ * de la BD se detiene con ella. Los filtros se validan antes de empezar a escribir, de modo que un
+ * parámetro inválido responde 400 y no un archivo truncado.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    /** Filas entre flushes explícitos hacia el cliente. */
+    private static final int FLUSH_EVERY = 1_000;
+
+    private static final String[] TICKET_COLUMNS = {"id", "asunto", "descripcion", "status", "prioridad",
+            "juzgado", "solicitante", "tecnico", "hardware", "canal", "createdAt", "updatedAt", "closedAt"};
+    private static final String[] HARDWARE_COLUMNS = {"id", "inventarioPatrimonial", "numeroSerie", "clase",
+            "tipo", "marca", "modelo", "estado", "juzgado", "ubicacionFisica", "createdAt"};
+    private static final String[] SOFTWARE_COLUMNS = {"id", "nombre", "version", "fabricante", "tipoLicencia",
+            "numeroLicencia", "cantidadLicencias", "fechaVencimiento", "estado", "createdAt"};
+
+    private final TicketRepository ticketRepository;
+    private final HardwareRepository hardwareRepository;
+    private final SoftwareRepository softwareRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Tickets con el mismo alcance por rol que el listado: un TECNICO solo exporta sus asignados.
+     */
+    public StreamingResponseBody exportTickets(User user, ExportFilter filter, ExportFormat format) {
+        Long tecnicoId = user.getRole() == RoleName.TECNICO ? user.getId() : null;
+        TicketStatus status = parseEnum(TicketStatus.class, filter.getEstado());
+        LocalDateTime desde = startOf(filter.getDesde());
+        LocalDateTime hasta = endOf(filter.getDesde(), filter.getHasta());
+        return stream(format, TICKET_COLUMNS,
+                () -> ticketRepository.streamForExport(tecnicoId, filter.getJuzgadoId(), status, desde, hasta),
+                t -> new Object[]{t.getId(), t.getAsunto(), t.getDescripcion(), t.getStatus(), t.getPrioridad(),
+                        t.getJuzgadoNombre(), t.getSolicitanteNombre(), t.getTecnicoNombre(),
+                        t.getHardwareInventario(), t.getCanal(), t.getCreatedAt(), t.getUpdatedAt(),
+                        t.getClosedAt()},
+                Function.identity());
+    }
+
+    public StreamingResponseBody exportHardware(ExportFilter filter, ExportFormat format) {
+        AssetStatus estado = parseEnum(AssetStatus.class, filter.getEstado());
+        LocalDateTime desde = startOf(filter.getDesde());
+        LocalDateTime hasta = endOf(filter.getDesde(), filter.getHasta());
+        return stream(format, HARDWARE_COLUMNS,
+                () -> hardwareRepository.streamForExport(filter.getJuzgadoId(), estado, desde, hasta),
+                h -> new Object[]{h.getId(), h.getInventarioPatrimonial(), h.getNumeroSerie(), h.getClase(),
+                        h.getTipo(), h.getMarca(), h.getModelo(), h.getEstado(), h.getJuzgadoNombre(),
+                        h.getUbicacionFisica(), h.getCreatedAt()},
+                Function.identity());
+    }
+
+    /**
+     * El software no está asociado a un juzgado: el filtro juzgadoId no aplica.
+     */
+    public StreamingResponseBody exportSoftware(ExportFilter filter, ExportFormat format) {
+        AssetStatus estado = parseEnum(AssetStatus.class, filter.getEstado());
+        LocalDateTime desde = startOf(filter.getDesde());
+        LocalDateTime hasta = endOf(filter.getDesde(), filter.getHasta());
+        return stream(format, SOFTWARE_COLUMNS,
+                () -> softwareRepository.streamForExport(estado, desde, hasta),
+                s -> new Object[]{s.getId(), s.getNombre(), s.getVersion(), s.getFabricante(),
+                        s.getTipoLicencia(), s.getNumeroLicencia(), s.getCantidadLicencias(),
+                        s.getFechaVencimiento(), s.getEstado(), s.getCreatedAt()},
+                Function.identity());
+    }
+
+    // ---- Escritura ----
+
+    private <T> StreamingResponseBody stream(ExportFormat format, String[] columns, Supplier<Stream<T>> query,
+                                             Function<T, Object[]> csvValues, Function<T, ?> jsonValue) {
+        return out -> {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            try {
+                tx.executeWithoutResult(status -> {
+                    try (Stream<T> rows = query.get()) {
+                        if (format == ExportFormat.CSV) {
+                            writeCsv(out, columns, rows, csvValues);
+                        } else {
+                            writeNdjson(out, rows, jsonValue);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static <T> void writeCsv(OutputStream out, String[] columns, Stream<T> rows,
+                                     Function<T, Object[]> values) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF'); // BOM: Excel reconoce UTF-8 (acentos) al abrir el archivo
+        writeCsvLine(writer, columns);
+        int count = 0;
+        for (T row : (Iterable<T>) rows::iterator) {
+            writeCsvLine(writer, values.apply(row));
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Escapa un valor CSV (RFC 4180). Los textos que empiezan con =, +, -, @ se prefijan con
+     * comilla simple para que una planilla no los evalúe como fórmula.
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = Objects.toString(value);
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private <T> void writeNdjson(OutputStream out, Stream<T> rows, Function<T, ?> value) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            int count = 0;
+            for (T row : (Iterable<T>) rows::iterator) {
+                writer.writeValue(generator, value.apply(row));
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    // ---- Filtros ----
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado inválido: " + value);
+        }
+    }
+
+    private static LocalDateTime startOf(LocalDate desde) {
+        return desde != null ? desde.atStartOfDay() : null;
+    }
+
+    /** Límite superior exclusivo: el día siguiente a {@code hasta}. */
+    private static LocalDateTime endOf(LocalDate desde, LocalDate hasta) {
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("El rango de fechas es inválido: 'hasta' es anterior a 'desde'");
+        }
+        return hasta != null ? hasta.plusDays(1).atStartOfDay() : null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sojus.service;
+
+import com.sojus.dto.HardwareImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lector CSV para la importación masiva de hardware. La primera línea es el encabezado con los
+ * nombres de campo de {@link HardwareImportRow} (camelCase o snake_case, sin distinguir mayúsculas);
+ * el separador es coma o punto y coma (el de Excel en español), detectado en el encabezado.
+ * Admite campos entre comillas dobles con separadores, saltos de línea y comillas escapadas ("").
+ */
+final class HardwareCsvReader {
+
+    private static final String[] FIELDS = {"inventariopatrimonial", "numeroserie", "clase", "tipo", "marca",
+            "modelo", "estado", "juzgadoid", "ubicacionfisica", "observaciones"};
+
+    private HardwareCsvReader() {
+    }
+
+    static List<HardwareImportRow> read(Reader reader) {
+        try {
+            List<List<String>> records = parse(reader instanceof BufferedReader buffered
+                    ? buffered : new BufferedReader(reader));
+            if (records.isEmpty()) {
+                throw new IllegalArgumentException("El archivo CSV está vacío");
+            }
+            List<String> header = records.get(0);
+            int[] fields = new int[header.size()];
+            for (int i = 0; i < header.size(); i++) {
+                fields[i] = fieldIndex(header.get(i));
+            }
+
+            List<HardwareImportRow> rows = new ArrayList<>(records.size() - 1);
+            for (int r = 1; r < records.size(); r++) {
+                List<String> record = records.get(r);
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // Línea vacía
+                }
+                HardwareImportRow row = new HardwareImportRow();
+                for (int i = 0; i < record.size() && i < fields.length; i++) {
+                    set(row, fields[i], blankToNull(record.get(i)), r);
+                }
+                rows.add(row);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int fieldIndex(String name) {
+        String normalized = name.replace("_", "").replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return -1; // Columna desconocida: se ignora
+    }
+
+    private static void set(HardwareImportRow row, int field, String value, int line) {
+        switch (field) {
+            case 0 -> row.setInventarioPatrimonial(value);
+            case 1 -> row.setNumeroSerie(value);
+            case 2 -> row.setClase(value);
+            case 3 -> row.setTipo(value);
+            case 4 -> row.setMarca(value);
+            case 5 -> row.setModelo(value);
+            case 6 -> row.setEstado(value);
+            case 7 -> {
+                try {
+                    row.setJuzgadoId(value != null ? Long.valueOf(value) : null);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Fila " + line + ": juzgadoId inválido '" + value + "'");
+                }
+            }
+            case 8 -> row.setUbicacionFisica(value);
+            case 9 -> row.setObservaciones(value);
+            default -> {
+            }
+        }
+    }
+
+    private static List<List<String>> parse(BufferedReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        char separator = 0;
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (separator == 0 && (ch == ',' || ch == ';')) {
+                separator = ch;
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == separator) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV mal formado: comillas sin cerrar");
+        }
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static String blankToNull(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,330 @@
+package com.sojus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.entity.IdempotencyKey;
+import com.sojus.exception.BusinessRuleException;
+import com.sojus.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotencia de escrituras por encabezado {@code Idempotency-Key}: la primera respuesta de una
+ * clave se guarda y los reintentos la reciben sin volver a ejecutar la operación.
+ * <p>
+ * La clave vale por usuario y endpoint. Las respuestas viven {@code app.idempotency.ttl-ms} en una
+ * caché acotada en memoria y en la tabla idempotency_keys, que sobrevive a reinicios y se comparte
+ * entre instancias. Un duplicado concurrente en la misma instancia espera el resultado de la
+ * solicitud en vuelo; en otra instancia encuentra la clave reclamada en la BD y recibe 409. Si la
+ * operación falla no se guarda nada: el reintento vuelve a ejecutarla. Reusar una clave con otro
+ * contenido es un error del cliente (400).
+ * <p>
+ * Métricas: {@code idempotency.replays}, {@code cache.size} y {@code cache.evictions}
+ * (tag {@code cache=idempotency}).
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String CACHE_NAME = "idempotency";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final long ttlMs;
+    private final long pendingMs;
+    private final long waitMs;
+    private final int maxSize;
+    private final Map<String, Stored> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter replays;
+    private final Counter evictions;
+
+    public IdempotencyStore(IdempotencyKeyRepository repository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${app.idempotency.pending-ms:60000}") long pendingMs,
+                            @Value("${app.idempotency.wait-ms:15000}") long waitMs,
+                            @Value("${app.idempotency.max-size:10000}") int maxSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttlMs = ttlMs;
+        this.pendingMs = pendingMs;
+        this.waitMs = waitMs;
+        this.maxSize = maxSize;
+        this.replays = Counter.builder("idempotency.replays")
+                .description("Reintentos respondidos con la respuesta guardada").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Entradas expulsadas por TTL o tamaño").register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME)
+                .description("Respuestas idempotentes en memoria").register(meterRegistry);
+    }
+
+    /** Respuesta guardada de una clave. */
+    private record Stored(String requestHash, int statusCode, String body, long expiresAt) {
+    }
+
+    /**
+     * Ejecuta {@code action} una sola vez por clave. Sin clave, la ejecuta sin más.
+     *
+     * @param request cuerpo de la solicitud, para detectar una clave reusada con otro contenido
+     * @param type    tipo del cuerpo de la respuesta, para reconstruirlo al repetirla
+     */
+    public <T> ResponseEntity<T> execute(String key, String username, String endpoint, Object request,
+                                         Class<T> type, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "El encabezado " + HEADER + " debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String id = keyId(username, endpoint, key);
+        String requestHash = sha256(toJson(request));
+
+        Stored stored = cached(id);
+        if (stored != null) {
+            return replay(stored, requestHash, type);
+        }
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replay(await(running), requestHash, type);
+        }
+        try {
+            // Solo quien tiene la clave en vuelo consulta la BD: una fila en curso es de otra instancia
+            stored = lookup(id);
+            if (stored != null) {
+                mine.complete(stored);
+                return replay(stored, requestHash, type);
+            }
+            claim(id, username, endpoint, requestHash);
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                repository.deletePending(id);
+                throw e;
+            }
+            mine.complete(save(id, requestHash, response));
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /** Descarta las respuestas vencidas, en memoria y en la BD. */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-ms:3600000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Stored> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().expiresAt() <= now) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Idempotencia: {} claves vencidas eliminadas", deleted);
+        }
+    }
+
+    // ---- Internos ----
+
+    /** Respuesta vigente de la clave en memoria, o null. */
+    private Stored cached(String id) {
+        Stored cached = entries.get(id);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() > System.currentTimeMillis()) {
+            return cached;
+        }
+        if (entries.remove(id, cached)) {
+            evictions.increment();
+        }
+        return null;
+    }
+
+    /**
+     * Respuesta guardada y vigente de la clave, en memoria o en la BD, o null si no la hay. Una
+     * clave reclamada por otra instancia y todavía en curso es un 409.
+     */
+    private Stored lookup(String id) {
+        Stored cached = cached(id);
+        if (cached != null) {
+            return cached;
+        }
+        long now = System.currentTimeMillis();
+        IdempotencyKey row = repository.findById(id).orElse(null);
+        if (row == null || toMillis(row.getExpiresAt()) <= now) {
+            return null;
+        }
+        if (row.getStatusCode() == null) {
+            throw inProgress();
+        }
+        Stored stored = new Stored(row.getRequestHash(), row.getStatusCode(), row.getResponseBody(),
+                toMillis(row.getExpiresAt()));
+        put(id, stored, now);
+        return stored;
+    }
+
+    /**
+     * Reclama la clave en la BD con un plazo corto: si la instancia cae a mitad de la operación,
+     * la clave se libera sola al vencer. El reclamo es atómico: un UPDATE que solo toma una fila
+     * vencida o, si no la hay, un INSERT que falla si otra instancia ya tiene la clave. Así dos
+     * instancias que vieron la clave libre no ejecutan ambas la operación.
+     */
+    void claim(String id, String username, String endpoint, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusNanos(pendingMs * 1_000_000);
+        try {
+            if (repository.takeOverExpired(id, username, endpoint, requestHash, now, expiresAt) == 0) {
+                repository.insertPending(id, username, endpoint, requestHash, now, expiresAt);
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw inProgress();
+        }
+    }
+
+    private <T> Stored save(String id, String requestHash, ResponseEntity<T> response) {
+        long now = System.currentTimeMillis();
+        Stored stored = new Stored(requestHash, response.getStatusCode().value(), toJson(response.getBody()),
+                now + ttlMs);
+        put(id, stored, now);
+        try {
+            repository.findById(id).ifPresent(row -> {
+                row.setStatusCode(stored.statusCode());
+                row.setResponseBody(stored.body());
+                row.setExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(stored.expiresAt()),
+                        ZoneId.systemDefault()));
+                repository.save(row);
+            });
+        } catch (DataAccessException e) {
+            // La escritura ya se confirmó: la respuesta vale igual; la clave queda solo en memoria
+            log.warn("No se pudo guardar la respuesta idempotente {}: {}", id, e.getMessage());
+        }
+        return stored;
+    }
+
+    private <T> ResponseEntity<T> replay(Stored stored, String requestHash, Class<T> type) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalArgumentException(
+                    "La " + HEADER + " ya se usó con otra solicitud. Genere una clave nueva.");
+        }
+        replays.increment();
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), type) : null;
+            return ResponseEntity.status(stored.statusCode()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Stored await(CompletableFuture<Stored> running) {
+        try {
+            return running.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private void put(String id, Stored stored, long now) {
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(id, stored);
+    }
+
+    /** Libera espacio: primero lo vencido; si no alcanza, la más próxima a vencer. */
+    private void evict(long now) {
+        String oldest = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        for (Iterator<Map.Entry<String, Stored>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Stored> e = it.next();
+            long expiresAt = e.getValue().expiresAt();
+            if (expiresAt <= now) {
+                it.remove();
+                evictions.increment();
+            } else if (expiresAt < oldestExpiry) {
+                oldestExpiry = expiresAt;
+                oldest = e.getKey();
+            }
+        }
+        if (entries.size() >= maxSize && oldest != null && entries.remove(oldest) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static BusinessRuleException inProgress() {
+        return new BusinessRuleException(
+                "Hay una solicitud en curso con la misma " + HEADER + ". Reintente en unos segundos.");
+    }
+
+    /** Id de la fila: la clave vale por usuario y endpoint. */
+    static String keyId(String username, String endpoint, String key) {
+        return sha256(username + '\n' + endpoint + '\n' + key);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
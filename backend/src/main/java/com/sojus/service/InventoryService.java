@@ -2,15 +2,31 @@ package com.sojus.service;
 
 import com.sojus.domain.entity.Hardware;
 import com.sojus.domain.entity.Software;
+import com.sojus.domain.enums.AssetStatus;
+import com.sojus.domain.event.InventoryChangedEvent;
+import com.sojus.dto.HardwareImportResult;
+import com.sojus.dto.HardwareImportRow;
 import com.sojus.exception.BusinessRuleException;
+import com.sojus.exception.ConcurrentUpdateException;
 import com.sojus.exception.ResourceNotFoundException;
+import com.sojus.repository.HardwareBatchRepository;
 import com.sojus.repository.HardwareRepository;
 import com.sojus.repository.SoftwareRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +34,14 @@ public class InventoryService {
 
     private final HardwareRepository hardwareRepository;
     private final SoftwareRepository softwareRepository;
+    private final HardwareBatchRepository hardwareBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.inventory.import.batch-size:1000}")
+    private int importBatchSize;
+
+    @Value("${app.inventory.import.max-rows:50000}")
+    private int importMaxRows;
 
     // ---- Hardware ----
 
@@ -38,12 +62,18 @@ public class InventoryService {
         if (hardwareRepository.existsByInventarioPatrimonial(hardware.getInventarioPatrimonial())) {
             throw new BusinessRuleException("Ya existe un equipo con ese N° Inventario Patrimonial");
         }
-        return hardwareRepository.save(hardware);
+        Hardware saved = hardwareRepository.save(hardware);
+        eventPublisher.publishEvent(new InventoryChangedEvent("HARDWARE", saved.getId(), "CREAR"));
+        return saved;
     }
 
     @Transactional
     public Hardware updateHardware(Long id, Hardware updated) {
         Hardware existing = findHardwareById(id);
+        if (updated.getVersion() != null && !updated.getVersion().equals(existing.getVersion())) {
+            throw new ConcurrentUpdateException(
+                    "El equipo fue modificado por otro usuario. Recargue los datos e intente nuevamente.", null);
+        }
         existing.setClase(updated.getClase());
         existing.setTipo(updated.getTipo());
         existing.setMarca(updated.getMarca());
@@ -61,6 +91,124 @@ public class InventoryService {
         Hardware hw = findHardwareById(id);
         hw.setDeleted(true);
         hardwareRepository.save(hw);
+        eventPublisher.publishEvent(new InventoryChangedEvent("HARDWARE", id, "ELIMINAR"));
+    }
+
+    // ---- Importación masiva de hardware ----
+
+    @Transactional
+    public HardwareImportResult importHardwareCsv(Reader csv) {
+        return importHardware(HardwareCsvReader.read(csv));
+    }
+
+    /**
+     * Alta masiva: valida cada fila, descarta inventarios ya existentes (una consulta por conjunto,
+     * no una por fila) o repetidos en el archivo, e inserta el resto por lotes JDBC. Las filas
+     * rechazadas no impiden el alta de las demás; el reporte indica el resultado de cada una.
+     */
+    @Transactional
+    public HardwareImportResult importHardware(List<HardwareImportRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("La importación no contiene filas");
+        }
+        if (rows.size() > importMaxRows) {
+            throw new IllegalArgumentException("La importación supera el máximo de " + importMaxRows + " filas");
+        }
+
+        Set<String> inventarios = new HashSet<>();
+        boolean conJuzgado = false;
+        for (HardwareImportRow row : rows) {
+            if (row.getInventarioPatrimonial() != null) {
+                row.setInventarioPatrimonial(row.getInventarioPatrimonial().trim());
+                inventarios.add(row.getInventarioPatrimonial());
+            }
+            conJuzgado |= row.getJuzgadoId() != null;
+        }
+        Set<String> existentes = hardwareBatchRepository.findExistingInventarios(inventarios);
+        Set<Long> juzgados = conJuzgado ? hardwareBatchRepository.findJuzgadoIds() : Set.of();
+
+        List<HardwareImportResult.Fila> filas = new ArrayList<>(rows.size());
+        List<HardwareImportRow> validas = new ArrayList<>(rows.size());
+        Map<String, Integer> vistos = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            int fila = i + 1;
+            HardwareImportRow row = rows.get(i);
+            String inventario = row.getInventarioPatrimonial();
+            String error = validateImportRow(row, juzgados);
+            if (error != null) {
+                filas.add(new HardwareImportResult.Fila(fila, inventario, HardwareImportResult.Resultado.INVALIDO, error));
+            } else if (existentes.contains(inventario)) {
+                filas.add(new HardwareImportResult.Fila(fila, inventario, HardwareImportResult.Resultado.DUPLICADO,
+                        "Ya existe un equipo con ese N° Inventario Patrimonial"));
+            } else if (vistos.putIfAbsent(inventario, fila) != null) {
+                filas.add(new HardwareImportResult.Fila(fila, inventario, HardwareImportResult.Resultado.DUPLICADO,
+                        "Repetido en la importación (fila " + vistos.get(inventario) + ")"));
+            } else {
+                validas.add(row);
+                filas.add(new HardwareImportResult.Fila(fila, inventario, HardwareImportResult.Resultado.CREADO, null));
+            }
+        }
+
+        if (!validas.isEmpty()) {
+            try {
+                hardwareBatchRepository.insertAll(validas, importBatchSize);
+            } catch (DuplicateKeyException e) {
+                // Alta concurrente de alguno de los inventarios entre la verificación y el insert
+                throw new BusinessRuleException(
+                        "Otro usuario dio de alta equipos de esta importación; reintente la operación");
+            }
+            eventPublisher.publishEvent(new InventoryChangedEvent("HARDWARE", null, "IMPORTAR"));
+        }
+
+        return HardwareImportResult.builder()
+                .total(rows.size())
+                .creados(validas.size())
+                .rechazados(rows.size() - validas.size())
+                .filas(filas)
+                .build();
+    }
+
+    private static String validateImportRow(HardwareImportRow row, Set<Long> juzgados) {
+        if (row.getInventarioPatrimonial() == null || row.getInventarioPatrimonial().isEmpty()) {
+            return "El N° Inventario Patrimonial es obligatorio";
+        }
+        if (row.getClase() == null || row.getClase().isBlank()) {
+            return "La clase es obligatoria";
+        }
+        String longitud = firstTooLong(row);
+        if (longitud != null) {
+            return longitud;
+        }
+        if (row.getEstado() == null) {
+            row.setEstado(AssetStatus.ACTIVO.name());
+        } else {
+            try {
+                row.setEstado(AssetStatus.valueOf(row.getEstado().trim().toUpperCase(Locale.ROOT)).name());
+            } catch (IllegalArgumentException e) {
+                return "Estado inválido: " + row.getEstado();
+            }
+        }
+        if (row.getJuzgadoId() != null && !juzgados.contains(row.getJuzgadoId())) {
+            return "Juzgado inexistente: " + row.getJuzgadoId();
+        }
+        return null;
+    }
+
+    private static String firstTooLong(HardwareImportRow row) {
+        String[][] campos = {
+                {"inventarioPatrimonial", row.getInventarioPatrimonial(), "30"},
+                {"clase", row.getClase(), "50"},
+                {"numeroSerie", row.getNumeroSerie(), "50"},
+                {"tipo", row.getTipo(), "50"},
+                {"marca", row.getMarca(), "80"},
+                {"modelo", row.getModelo(), "100"},
+                {"ubicacionFisica", row.getUbicacionFisica(), "100"}};
+        for (String[] campo : campos) {
+            if (campo[1] != null && campo[1].length() > Integer.parseInt(campo[2])) {
+                return campo[0] + " supera " + campo[2] + " caracteres";
+            }
+        }
+        return null;
     }
 
     // ---- Software ----
@@ -79,7 +227,9 @@ public class InventoryService {
 
     @Transactional
     public Software createSoftware(Software software) {
-        return softwareRepository.save(software);
+        Software saved = softwareRepository.save(software);
+        eventPublisher.publishEvent(new InventoryChangedEvent("SOFTWARE", saved.getId(), "CREAR"));
+        return saved;
     }
 
     @Transactional
@@ -102,5 +252,6 @@ public class InventoryService {
         Software sw = findSoftwareById(id);
         sw.setDeleted(true);
         softwareRepository.save(sw);
+        eventPublisher.publishEvent(new InventoryChangedEvent("SOFTWARE", id, "ELIMINAR"));
     }
 }
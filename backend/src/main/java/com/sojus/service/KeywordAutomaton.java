@@ -0,0 +1,162 @@
+package com.sojus.service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Autómata Aho-Corasick compilado a una tabla de transiciones completa (DFA): recorre el texto
+ * una sola vez, en O(largo del texto) sin importar cuántas palabras clave tenga, y reporta todas
+ * las coincidencias (también solapadas). Mayúsculas y acentos se pliegan carácter a carácter con
+ * una tabla precalculada, sin crear Strings intermedios. Es inmutable y seguro entre hilos.
+ */
+final class KeywordAutomaton {
+
+    private static final int[] NONE = new int[0];
+
+    /** Plegado (minúscula sin diacríticos) de Latin-1 y Latin Extended-A/B. */
+    private static final char[] FOLD = new char[0x250];
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            FOLD[c] = Character.toLowerCase(base.isEmpty() ? c : base.charAt(0));
+        }
+    }
+
+    /** Alfabeto de las palabras clave; el índice 0 agrupa cualquier otro carácter. */
+    private final char[] alphabet;
+    /** Símbolo de cada carácter plegado del rango de {@link #FOLD}; el resto se busca en el alfabeto. */
+    private final short[] lowSymbols = new short[FOLD.length];
+    private final int[][] delta;
+    private final int[][] outputs;
+
+    private KeywordAutomaton(char[] alphabet, int[][] delta, int[][] outputs) {
+        this.alphabet = alphabet;
+        this.delta = delta;
+        this.outputs = outputs;
+        for (int i = 0; i < alphabet.length; i++) {
+            if (alphabet[i] < lowSymbols.length) {
+                lowSymbols[alphabet[i]] = (short) (i + 1);
+            }
+        }
+    }
+
+    static char fold(char c) {
+        return c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+    }
+
+    static String fold(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Compila las palabras clave; la posición de cada una en la lista es el índice que se reporta
+     * al coincidir. Las vacías se ignoran.
+     */
+    static KeywordAutomaton compile(List<String> keywords) {
+        TreeSet<Character> chars = new TreeSet<>();
+        List<String> folded = new ArrayList<>(keywords.size());
+        for (String keyword : keywords) {
+            String f = keyword == null ? "" : fold(keyword.strip());
+            folded.add(f);
+            for (int i = 0; i < f.length(); i++) {
+                chars.add(f.charAt(i));
+            }
+        }
+        char[] alphabet = new char[chars.size()];
+        int k = 0;
+        for (Character c : chars) {
+            alphabet[k++] = c;
+        }
+
+        // Trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        children.add(new HashMap<>());
+        out.add(new ArrayList<>());
+        for (int rule = 0; rule < folded.size(); rule++) {
+            String f = folded.get(rule);
+            if (f.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < f.length(); i++) {
+                int symbol = Arrays.binarySearch(alphabet, f.charAt(i)) + 1;
+                Integer next = children.get(state).get(symbol);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    out.add(new ArrayList<>());
+                    children.get(state).put(symbol, next);
+                }
+                state = next;
+            }
+            out.get(state).add(rule);
+        }
+
+        // Enlaces de fallo por BFS, completando la tabla de transiciones
+        int states = children.size();
+        int symbols = alphabet.length + 1;
+        int[][] delta = new int[states][symbols];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int s = 1; s < symbols; s++) {
+            Integer next = children.get(0).get(s);
+            if (next != null) {
+                delta[0][s] = next;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int s = 1; s < symbols; s++) {
+                Integer next = children.get(state).get(s);
+                if (next != null) {
+                    fail[next] = delta[fail[state]][s];
+                    delta[state][s] = next;
+                    queue.add(next);
+                } else {
+                    delta[state][s] = delta[fail[state]][s];
+                }
+            }
+        }
+
+        int[][] outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            List<Integer> o = out.get(s);
+            outputs[s] = o.isEmpty() ? NONE : o.stream().distinct().mapToInt(Integer::intValue).toArray();
+        }
+        return new KeywordAutomaton(alphabet, delta, outputs);
+    }
+
+    int initialState() {
+        return 0;
+    }
+
+    int next(int state, char c) {
+        char f = fold(c);
+        int symbol;
+        if (f < lowSymbols.length) {
+            symbol = lowSymbols[f];
+        } else {
+            symbol = Math.max(Arrays.binarySearch(alphabet, f) + 1, 0);
+        }
+        return delta[state][symbol];
+    }
+
+    /** Índices de las palabras clave que terminan en este estado (arreglo compartido, no modificar). */
+    int[] matches(int state) {
+        return outputs[state];
+    }
+}
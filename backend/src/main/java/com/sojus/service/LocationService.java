@@ -1,34 +1,140 @@
 package com.sojus.service;
 
-import com.sojus.domain.entity.Circunscripcion;
-import com.sojus.domain.entity.Juzgado;
-import com.sojus.repository.CircunscripcionRepository;
-import com.sojus.repository.JuzgadoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.event.LocationsChangedEvent;
+import com.sojus.dto.LocationTree.CircunscripcionNode;
+import com.sojus.dto.LocationTree.DistritoNode;
+import com.sojus.dto.LocationTree.EdificioNode;
+import com.sojus.dto.LocationTree.JuzgadoNode;
+import com.sojus.repository.LocationTreeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Estructura territorial servida desde una instantánea en memoria.
+ * <p>
+ * La jerarquía se carga con una consulta por nivel ({@link LocationTreeRepository}) y se serializa
+ * una sola vez: cada respuesta de {@code /api/locations/**} es la copia de un arreglo de bytes ya
+ * armado, con un ETag derivado del contenido (igual en todas las instancias) para responder 304 en
+ * la revalidación. La instantánea se reemplaza atómicamente tras el commit de un cambio territorial
+ * y en una recarga periódica que cubre cambios hechos por SQL o desde otra instancia; las lecturas
+ * en curso siguen con la anterior.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class LocationService {
 
-    private final CircunscripcionRepository circunscripcionRepository;
-    private final JuzgadoRepository juzgadoRepository;
+    private static final Body EMPTY_LIST = Body.of("[]".getBytes(StandardCharsets.UTF_8));
 
-    @Transactional(readOnly = true)
-    public List<Circunscripcion> findAllCircunscripciones() {
-        return circunscripcionRepository.findAll();
+    private final LocationTreeRepository locationTreeRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /** JSON listo para escribir y su ETag (entre comillas, como va en el header). */
+    public record Body(byte[] json, String etag) {
+
+        static Body of(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return new Body(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 no disponible", e);
+            }
+        }
+    }
+
+    private record Snapshot(Body circunscripciones, Body juzgados, Map<Long, Body> juzgadosPorEdificio) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        snapshot.set(build());
+    }
+
+    @TransactionalEventListener
+    public void onLocationsChanged(LocationsChangedEvent event) {
+        if (snapshot.get() != null) { // Antes del arranque (semilla) lo resuelve load()
+            load();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.locations.reload-ms:300000}",
+            fixedDelayString = "${app.locations.reload-ms:300000}")
+    public void reload() {
+        Snapshot fresh = build();
+        Snapshot current = snapshot.get();
+        if (current == null || !current.circunscripciones().etag().equals(fresh.circunscripciones().etag())) {
+            snapshot.set(fresh);
+            log.info("Estructura territorial recargada: cambió fuera de la aplicación");
+        }
+    }
+
+    /** Jerarquía completa circunscripción → distrito → edificio → juzgado. */
+    public Body circunscripciones() {
+        return current().circunscripciones();
+    }
+
+    /** Juzgados activos. */
+    public Body juzgados() {
+        return current().juzgados();
+    }
+
+    /** Juzgados de un edificio, activos o no; lista vacía si el edificio no existe. */
+    public Body juzgadosByEdificio(Long edificioId) {
+        return current().juzgadosPorEdificio().getOrDefault(edificioId, EMPTY_LIST);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot.get();
+        if (s == null) {
+            s = build();
+            snapshot.compareAndSet(null, s);
+        }
+        return s;
     }
 
-    @Transactional(readOnly = true)
-    public List<Juzgado> findAllJuzgados() {
-        return juzgadoRepository.findAllByActiveTrue();
+    private Snapshot build() {
+        List<CircunscripcionNode> tree = locationTreeRepository.load();
+        List<JuzgadoNode> activos = new ArrayList<>();
+        Map<Long, Body> porEdificio = new HashMap<>();
+        for (CircunscripcionNode c : tree) {
+            for (DistritoNode d : c.distritos()) {
+                for (EdificioNode e : d.edificios()) {
+                    porEdificio.put(e.id(), serialize(e.juzgados()));
+                    e.juzgados().stream().filter(j -> Boolean.TRUE.equals(j.active())).forEach(activos::add);
+                }
+            }
+        }
+        activos.sort(Comparator.comparing(JuzgadoNode::id));
+        Snapshot built = new Snapshot(serialize(tree), serialize(activos), Map.copyOf(porEdificio));
+        log.debug("Instantánea territorial: {} circunscripciones, {} edificios", tree.size(), porEdificio.size());
+        return built;
     }
 
-    @Transactional(readOnly = true)
-    public List<Juzgado> findJuzgadosByEdificio(Long edificioId) {
-        return juzgadoRepository.findAllByEdificioId(edificioId);
+    private Body serialize(Object value) {
+        try {
+            return Body.of(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la estructura territorial", e);
+        }
     }
 }
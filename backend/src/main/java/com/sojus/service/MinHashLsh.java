@@ -0,0 +1,155 @@
+package com.sojus.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de similitud por MinHash con LSH por bandas.
+ * <p>
+ * La firma de un conjunto son {@code numHashes} mínimos, uno por función de hash; la fracción de
+ * posiciones iguales entre dos firmas estima la similitud de Jaccard de los conjuntos. La firma se
+ * parte en {@code bands} bandas y cada banda se indexa en un casillero junto con su grupo: dos
+ * elementos del mismo grupo son candidatos si coinciden en al menos una banda completa, lo que
+ * ocurre con probabilidad {@code 1 - (1 - s^r)^b} para una similitud {@code s}. Una consulta solo
+ * compara las firmas de los candidatos, sin recorrer el índice.
+ * <p>
+ * No es thread-safe: quien lo usa sincroniza el acceso.
+ */
+final class MinHashLsh {
+
+    private final int numHashes;
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+    private final Map<Long, Indexed> items = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    private record Indexed(int[] signature, long[] bucketKeys) {
+    }
+
+    MinHashLsh(int numHashes, int bands) {
+        if (bands <= 0 || numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes debe ser múltiplo de bands");
+        }
+        this.numHashes = numHashes;
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        this.seeds = new long[numHashes];
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < numHashes; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            seeds[i] = seed;
+        }
+    }
+
+    /** Firma MinHash de un conjunto de shingles; null si el conjunto está vacío. */
+    int[] signature(Collection<String> shingles) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = fnv1a(shingle);
+            for (int i = 0; i < numHashes; i++) {
+                int h = (int) (mix(base ^ seeds[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    void add(Long id, long group, int[] signature) {
+        remove(id);
+        long[] keys = new long[bands];
+        for (int b = 0; b < bands; b++) {
+            keys[b] = bucketKey(group, b, signature);
+            buckets.computeIfAbsent(keys[b], k -> new ArrayList<>(2)).add(id);
+        }
+        items.put(id, new Indexed(signature, keys));
+    }
+
+    void remove(Long id) {
+        Indexed indexed = items.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        for (long key : indexed.bucketKeys()) {
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /** Elementos del grupo que comparten al menos una banda con la firma. */
+    Set<Long> candidates(long group, int[] signature) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (int b = 0; b < bands; b++) {
+            List<Long> bucket = buckets.get(bucketKey(group, b, signature));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    /** Similitud de Jaccard estimada entre la firma y la del elemento indexado, o 0 si no está. */
+    double similarity(Long id, int[] signature) {
+        Indexed indexed = items.get(id);
+        if (indexed == null) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < numHashes; i++) {
+            if (indexed.signature()[i] == signature[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / numHashes;
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    void clear() {
+        items.clear();
+        buckets.clear();
+    }
+
+    private long bucketKey(long group, int band, int[] signature) {
+        long h = mix(group * 31 + band);
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            h = mix(h ^ signature[i]);
+        }
+        return h;
+    }
+
+    private static long fnv1a(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Finalizador de SplitMix64: dispersa bien entradas correlacionadas. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
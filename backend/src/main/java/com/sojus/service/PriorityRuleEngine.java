@@ -0,0 +1,146 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.PriorityRule;
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.event.PriorityRulesChangedEvent;
+import com.sojus.repository.PriorityRuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Priorización automática de tickets por palabras clave.
+ * <p>
+ * Las reglas activas de {@code priority_rules} se compilan en un único {@link KeywordAutomaton} que
+ * recorre asunto y descripción en una pasada. El autómato compilado se reemplaza atómicamente al
+ * cambiar las reglas (evento tras el commit) y en una recarga periódica que cubre cambios hechos
+ * desde otra instancia. Cada coincidencia suma al contador {@code tickets.priority.rule.hits{rule}}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriorityRuleEngine {
+
+    static final String HITS_METER = "tickets.priority.rule.hits";
+
+    private final PriorityRuleRepository priorityRuleRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<CompiledRules> compiled = new AtomicReference<>(CompiledRules.EMPTY);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        compile(priorityRuleRepository.findAllByActiveTrueOrderById());
+    }
+
+    @TransactionalEventListener
+    public void onRulesChanged(PriorityRulesChangedEvent event) {
+        load();
+    }
+
+    @Scheduled(initialDelayString = "${app.tickets.priority-rules.reload-ms:60000}",
+            fixedDelayString = "${app.tickets.priority-rules.reload-ms:60000}")
+    public void reload() {
+        List<PriorityRule> rules = priorityRuleRepository.findAllByActiveTrueOrderById();
+        if (!compiled.get().sameRules(rules)) {
+            compile(rules);
+        }
+    }
+
+    /** Compila y publica un nuevo conjunto de reglas; las lecturas en curso siguen con el anterior. */
+    public void compile(List<PriorityRule> rules) {
+        String[] keywords = new String[rules.size()];
+        Priority[] priorities = new Priority[rules.size()];
+        Counter[] counters = new Counter[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            PriorityRule rule = rules.get(i);
+            keywords[i] = rule.getKeyword();
+            priorities[i] = rule.getPrioridad();
+            counters[i] = Counter.builder(HITS_METER)
+                    .description("Tickets priorizados por cada regla de palabra clave")
+                    .tag("rule", KeywordAutomaton.fold(rule.getKeyword().strip()))
+                    .register(meterRegistry);
+        }
+        compiled.set(new CompiledRules(KeywordAutomaton.compile(List.of(keywords)), keywords, priorities,
+                counters));
+        log.debug("Reglas de prioridad compiladas: {}", rules.size());
+    }
+
+    /**
+     * Prioridad más alta entre las reglas que coinciden con el asunto o la descripción,
+     * o {@code null} si ninguna coincide.
+     */
+    public Priority evaluate(String asunto, String descripcion) {
+        CompiledRules rules = compiled.get();
+        if (rules.keywords.length == 0) {
+            return null;
+        }
+        long[] seen = null;
+        Priority best = null;
+        KeywordAutomaton automaton = rules.automaton;
+        for (int field = 0; field < 2; field++) {
+            String text = field == 0 ? asunto : descripcion;
+            if (text == null) {
+                continue;
+            }
+            int state = automaton.initialState();
+            for (int i = 0; i < text.length(); i++) {
+                state = automaton.next(state, text.charAt(i));
+                for (int rule : automaton.matches(state)) {
+                    if (seen == null) {
+                        seen = new long[(rules.keywords.length + 63) / 64];
+                    }
+                    if ((seen[rule >>> 6] & (1L << rule)) == 0) {
+                        seen[rule >>> 6] |= 1L << rule;
+                        rules.counters[rule].increment();
+                        Priority p = rules.priorities[rule];
+                        if (best == null || p.ordinal() < best.ordinal()) {
+                            best = p;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Coincidencias acumuladas por palabra clave activa (desde el arranque). */
+    public Map<String, Long> hits() {
+        CompiledRules rules = compiled.get();
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < rules.keywords.length; i++) {
+            result.put(rules.keywords[i], (long) rules.counters[i].count());
+        }
+        return result;
+    }
+
+    private record CompiledRules(KeywordAutomaton automaton, String[] keywords, Priority[] priorities,
+                                 Counter[] counters) {
+
+        static final CompiledRules EMPTY = new CompiledRules(KeywordAutomaton.compile(List.of()),
+                new String[0], new Priority[0], new Counter[0]);
+
+        boolean sameRules(List<PriorityRule> rules) {
+            if (rules.size() != keywords.length) {
+                return false;
+            }
+            for (int i = 0; i < keywords.length; i++) {
+                if (!keywords[i].equals(rules.get(i).getKeyword()) || priorities[i] != rules.get(i).getPrioridad()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
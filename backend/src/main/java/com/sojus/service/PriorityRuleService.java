@@ -0,0 +1,80 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.PriorityRule;
+import com.sojus.domain.event.PriorityRulesChangedEvent;
+import com.sojus.exception.BusinessRuleException;
+import com.sojus.exception.ResourceNotFoundException;
+import com.sojus.repository.PriorityRuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ABM de reglas de priorización. Cada cambio publica {@link PriorityRulesChangedEvent} y
+ * {@link PriorityRuleEngine} recompila el autómato tras el commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriorityRuleService {
+
+    private final PriorityRuleRepository priorityRuleRepository;
+    private final PriorityRuleEngine priorityRuleEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PriorityRule> findAll() {
+        return priorityRuleRepository.findAllByOrderByKeyword();
+    }
+
+    @Transactional(readOnly = true)
+    public PriorityRule findById(Long id) {
+        return priorityRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Regla de prioridad", id));
+    }
+
+    @Transactional
+    public PriorityRule create(PriorityRule rule) {
+        rule.setKeyword(rule.getKeyword().strip());
+        if (priorityRuleRepository.existsByKeywordIgnoreCase(rule.getKeyword())) {
+            throw new BusinessRuleException("Ya existe una regla para la palabra clave '" + rule.getKeyword() + "'");
+        }
+        PriorityRule saved = priorityRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PriorityRulesChangedEvent(saved.getId(), "CREAR"));
+        return saved;
+    }
+
+    @Transactional
+    public PriorityRule update(Long id, PriorityRule updated) {
+        PriorityRule existing = findById(id);
+        String keyword = updated.getKeyword().strip();
+        if (priorityRuleRepository.existsByKeywordIgnoreCaseAndIdNot(keyword, id)) {
+            throw new BusinessRuleException("Ya existe una regla para la palabra clave '" + keyword + "'");
+        }
+        existing.setKeyword(keyword);
+        if (updated.getPrioridad() != null) {
+            existing.setPrioridad(updated.getPrioridad());
+        }
+        if (updated.getActive() != null) {
+            existing.setActive(updated.getActive());
+        }
+        PriorityRule saved = priorityRuleRepository.save(existing);
+        eventPublisher.publishEvent(new PriorityRulesChangedEvent(id, "ACTUALIZAR"));
+        return saved;
+    }
+
+    @Transactional
+    public void deactivate(Long id) {
+        PriorityRule rule = findById(id);
+        rule.setActive(false);
+        priorityRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PriorityRulesChangedEvent(id, "DESACTIVAR"));
+    }
+
+    public Map<String, Long> hits() {
+        return priorityRuleEngine.hits();
+    }
+}
@@ -0,0 +1,112 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.Contract;
+import com.sojus.domain.entity.Hardware;
+import com.sojus.domain.enums.Priority;
+import com.sojus.repository.ContractRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plazos de resolución de tickets (SLA).
+ * <p>
+ * El plazo base sale de la prioridad ({@code app.sla.hours.*}). Si el equipo afectado está cubierto
+ * por un contrato vigente, es decir, si su marca figura en {@code coberturaHw} y el contrato
+ * declara un plazo de resolución en {@code slaDescripcion} (p. ej. "resolución 24hs"), rige el
+ * menor de los dos. Los términos de los contratos se cachean y se recargan periódicamente; el
+ * plazo se calcula una vez, al abrir el ticket.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlaPolicy {
+
+    private static final Pattern RESOLUCION =
+            Pattern.compile("resoluci[oó]n\\s*(?:en\\s*)?(\\d{1,4})\\s*h", Pattern.CASE_INSENSITIVE);
+
+    private final ContractRepository contractRepository;
+
+    @Value("${app.sla.hours.alta:8}")
+    private long horasAlta;
+
+    @Value("${app.sla.hours.media:24}")
+    private long horasMedia;
+
+    @Value("${app.sla.hours.baja:72}")
+    private long horasBaja;
+
+    private volatile List<Term> terms;
+
+    /** Plazo de resolución contractual de una cobertura de hardware. */
+    record Term(String cobertura, long horas) {
+    }
+
+    public long baseHours(Priority prioridad) {
+        return switch (prioridad) {
+            case ALTA -> horasAlta;
+            case MEDIA -> horasMedia;
+            case BAJA -> horasBaja;
+        };
+    }
+
+    /** Vencimiento del SLA de un ticket abierto en {@code openedAt}. */
+    public LocalDateTime deadline(Priority prioridad, LocalDateTime openedAt, Hardware hardware) {
+        long horas = baseHours(prioridad);
+        if (hardware != null && hardware.getMarca() != null && !hardware.getMarca().isBlank()) {
+            String marca = hardware.getMarca().toLowerCase(Locale.ROOT);
+            for (Term term : terms()) {
+                if (term.horas() < horas && term.cobertura().contains(marca)) {
+                    horas = term.horas();
+                }
+            }
+        }
+        return openedAt.plusHours(horas);
+    }
+
+    @Scheduled(initialDelayString = "${app.sla.contracts-reload-ms:600000}",
+            fixedDelayString = "${app.sla.contracts-reload-ms:600000}")
+    public void reload() {
+        LocalDate today = LocalDate.now();
+        List<Term> loaded = new ArrayList<>();
+        for (Contract contract : contractRepository.findAllByActiveTrue()) {
+            if (contract.getFechaFin() != null && contract.getFechaFin().isBefore(today)) {
+                continue;
+            }
+            Long horas = resolutionHours(contract.getSlaDescripcion());
+            if (horas != null && contract.getCoberturaHw() != null) {
+                loaded.add(new Term(contract.getCoberturaHw().toLowerCase(Locale.ROOT), horas));
+            }
+        }
+        terms = List.copyOf(loaded);
+        log.debug("SLA: {} contratos vigentes con plazo de resolución", loaded.size());
+    }
+
+    /** Horas de resolución declaradas en un texto de SLA, o null si no declara ninguna. */
+    static Long resolutionHours(String slaDescripcion) {
+        if (slaDescripcion == null) {
+            return null;
+        }
+        Matcher matcher = RESOLUCION.matcher(slaDescripcion);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+    }
+
+    private List<Term> terms() {
+        List<Term> current = terms;
+        if (current == null) {
+            reload();
+            current = terms;
+        }
+        return current;
+    }
+}
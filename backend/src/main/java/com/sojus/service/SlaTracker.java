@@ -0,0 +1,278 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.SlaEvent;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.SlaTicketRow;
+import com.sojus.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Seguimiento de los plazos de resolución (SLA) de los tickets abiertos.
+ * <p>
+ * Cada ticket abierto agenda dos alarmas en una {@link TimingWheel}: aviso al consumir
+ * {@code app.sla.warning-ratio} del plazo y vencimiento al cumplirse. Un tick periódico avanza la
+ * rueda y publica un {@link SlaEvent} por alarma vencida, sin recorrer tickets ni consultar la BD.
+ * Cerrar o eliminar un ticket cancela sus alarmas. La rueda se reconstruye al arrancar con una
+ * consulta de los tickets abiertos; lo que ya estaba en riesgo o vencido se marca sin volver a
+ * publicar eventos.
+ * <p>
+ * Métricas: {@code tickets.sla.warnings}, {@code tickets.sla.breaches}, {@code tickets.sla.pending}
+ * y {@code tickets.sla.breached.open}.
+ */
+@Component
+@Slf4j
+public class SlaTracker {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+    private static final Comparator<Tracked> BY_DEADLINE =
+            Comparator.comparingLong(Tracked::deadlineMs).thenComparing(Tracked::ticketId);
+
+    private final TicketRepository ticketRepository;
+    private final SlaPolicy slaPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double warningRatio;
+    private final long tickMs;
+    private final Counter warnings;
+    private final Counter breaches;
+
+    // Protegido por this
+    private TimingWheel<Alarm> wheel;
+    private final Map<Long, Tracked> tracked = new HashMap<>();
+    private final TreeSet<Tracked> notBreached = new TreeSet<>(BY_DEADLINE);
+    private long atRisk;
+    private long breached;
+    private boolean ready;
+
+    public SlaTracker(TicketRepository ticketRepository,
+                      SlaPolicy slaPolicy,
+                      ApplicationEventPublisher eventPublisher,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.sla.warning-ratio:0.75}") double warningRatio,
+                      @Value("${app.sla.tick-ms:1000}") long tickMs) {
+        this.ticketRepository = ticketRepository;
+        this.slaPolicy = slaPolicy;
+        this.eventPublisher = eventPublisher;
+        this.warningRatio = warningRatio;
+        this.tickMs = tickMs;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        this.warnings = Counter.builder("tickets.sla.warnings")
+                .description("Tickets que entraron en riesgo de incumplir el SLA").register(meterRegistry);
+        this.breaches = Counter.builder("tickets.sla.breaches")
+                .description("Tickets que incumplieron el SLA").register(meterRegistry);
+        Gauge.builder("tickets.sla.pending", this, SlaTracker::pendingAlarms)
+                .description("Alarmas de SLA agendadas").register(meterRegistry);
+        Gauge.builder("tickets.sla.breached.open", this, t -> t.snapshot().incumplidos())
+                .description("Tickets abiertos con el SLA vencido").register(meterRegistry);
+    }
+
+    /** Estado agregado para el dashboard. {@code minutosParaProximoIncumplimiento} es null sin pendientes. */
+    public record Snapshot(long enRiesgo, long incumplidos, Long minutosParaProximoIncumplimiento) {
+    }
+
+    private record Alarm(Long ticketId, SlaEvent.Type type) {
+    }
+
+    private static final class Tracked {
+        private final Long ticketId;
+        private final Priority prioridad;
+        private final LocalDateTime vencimiento;
+        private final long deadlineMs;
+        private TimingWheel.Timeout<Alarm> warning;
+        private TimingWheel.Timeout<Alarm> breach;
+        private boolean warned;
+        private boolean breached;
+
+        Tracked(Long ticketId, Priority prioridad, LocalDateTime vencimiento) {
+            this.ticketId = ticketId;
+            this.prioridad = prioridad;
+            this.vencimiento = vencimiento;
+            this.deadlineMs = toMillis(vencimiento);
+        }
+
+        Long ticketId() {
+            return ticketId;
+        }
+
+        long deadlineMs() {
+            return deadlineMs;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<SlaTicketRow> rows = ticketRepository.findOpenSlaRows();
+        synchronized (this) {
+            wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+            tracked.clear();
+            notBreached.clear();
+            atRisk = 0;
+            breached = 0;
+            for (SlaTicketRow row : rows) {
+                LocalDateTime vencimiento = row.getSlaVencimiento() != null ? row.getSlaVencimiento()
+                        : row.getCreatedAt().plusHours(slaPolicy.baseHours(row.getPrioridad()));
+                track(row.getId(), row.getPrioridad(), row.getCreatedAt(), vencimiento);
+            }
+            ready = true;
+        }
+        log.info("SLA: {} tickets abiertos en seguimiento", rows.size());
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        synchronized (this) {
+            if (!ready) {
+                return; // La reconstrucción inicial ya incluirá este cambio
+            }
+            switch (event.getType()) {
+                case CREATED -> {
+                    if (event.getSlaVencimiento() != null) {
+                        track(event.getTicketId(), event.getPrioridad(), event.getOccurredAt(),
+                                event.getSlaVencimiento());
+                    }
+                }
+                case STATUS_CHANGED -> {
+                    if (event.getStatus() == TicketStatus.CERRADO) {
+                        untrack(event.getTicketId());
+                    }
+                }
+                case DELETED -> untrack(event.getTicketId());
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.sla.tick-ms:1000}")
+    public void tick() {
+        advance(System.currentTimeMillis());
+    }
+
+    /** Avanza la rueda hasta {@code nowMs} y publica las alarmas vencidas. */
+    void advance(long nowMs) {
+        List<SlaEvent> fired = new ArrayList<>();
+        synchronized (this) {
+            for (Alarm alarm : wheel.advance(nowMs)) {
+                Tracked t = tracked.get(alarm.ticketId());
+                if (t == null) {
+                    continue;
+                }
+                if (alarm.type() == SlaEvent.Type.WARNING) {
+                    markWarned(t);
+                } else {
+                    markBreached(t);
+                }
+                fired.add(new SlaEvent(alarm.type(), t.ticketId, t.prioridad, t.vencimiento));
+            }
+        }
+        for (SlaEvent event : fired) {
+            if (event.getType() == SlaEvent.Type.WARNING) {
+                warnings.increment();
+                log.info("SLA en riesgo: ticket {} ({}) vence {}", event.getTicketId(), event.getPrioridad(),
+                        event.getVencimiento());
+            } else {
+                breaches.increment();
+                log.warn("SLA incumplido: ticket {} ({}) venció {}", event.getTicketId(), event.getPrioridad(),
+                        event.getVencimiento());
+            }
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return snapshot(System.currentTimeMillis());
+    }
+
+    synchronized Snapshot snapshot(long nowMs) {
+        Long minutos = null;
+        if (!notBreached.isEmpty()) {
+            long remainingMs = Math.max(0, notBreached.first().deadlineMs - nowMs);
+            minutos = (remainingMs + 59_999) / 60_000;
+        }
+        return new Snapshot(atRisk, breached, minutos);
+    }
+
+    private synchronized int pendingAlarms() {
+        return wheel.size();
+    }
+
+    // ---- Estado (con el monitor tomado) ----
+
+    private void track(Long ticketId, Priority prioridad, LocalDateTime openedAt, LocalDateTime vencimiento) {
+        untrack(ticketId);
+        Tracked t = new Tracked(ticketId, prioridad, vencimiento);
+        tracked.put(ticketId, t);
+        notBreached.add(t);
+
+        long openedMs = toMillis(openedAt);
+        long warningMs = openedMs + (long) ((t.deadlineMs - openedMs) * warningRatio);
+        // Lo que ya venció (p. ej. al reconstruir tras un reinicio) se marca sin publicar eventos
+        t.breach = wheel.schedule(new Alarm(ticketId, SlaEvent.Type.BREACH), t.deadlineMs);
+        if (t.breach == null) {
+            markBreached(t);
+            return;
+        }
+        t.warning = wheel.schedule(new Alarm(ticketId, SlaEvent.Type.WARNING), warningMs);
+        if (t.warning == null) {
+            markWarned(t);
+        }
+    }
+
+    private void untrack(Long ticketId) {
+        Tracked t = tracked.remove(ticketId);
+        if (t == null) {
+            return;
+        }
+        wheel.cancel(t.warning);
+        wheel.cancel(t.breach);
+        notBreached.remove(t);
+        if (t.breached) {
+            breached--;
+        } else if (t.warned) {
+            atRisk--;
+        }
+    }
+
+    private void markWarned(Tracked t) {
+        if (!t.warned && !t.breached) {
+            t.warned = true;
+            atRisk++;
+        }
+    }
+
+    private void markBreached(Tracked t) {
+        if (t.breached) {
+            return;
+        }
+        if (t.warned) {
+            atRisk--;
+        }
+        wheel.cancel(t.warning);
+        t.breached = true;
+        breached++;
+        notBreached.remove(t);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
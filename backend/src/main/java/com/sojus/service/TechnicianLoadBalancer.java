@@ -0,0 +1,394 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.domain.event.UserChangedEvent;
+import com.sojus.dto.TechnicianLoadRow;
+import com.sojus.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Carga en memoria de los técnicos activos para la asignación automática de tickets.
+ * <p>
+ * La carga de un técnico es la suma de los pesos por prioridad (ALTA 3, MEDIA 2, BAJA 1) de sus
+ * tickets no cerrados. Los técnicos se mantienen en conjuntos ordenados por carga (global, por
+ * juzgado y por edificio), así que elegir al menos cargado cuesta O(log n) y ninguna consulta.
+ * La afinidad descuenta {@code juzgado-affinity} unidades de carga a quien comparte el juzgado del
+ * ticket y {@code edificio-affinity} a quien solo comparte el edificio.
+ * <p>
+ * Se reconstruye desde la BD al arrancar y en una reconciliación periódica; entre medio la
+ * mantienen los eventos de TicketService tras cada commit, y un cambio de usuario solo agrega,
+ * reubica o saca a ese técnico. Una elección reserva la carga en el acto (dos altas concurrentes no
+ * eligen a ciegas al mismo técnico) y se devuelve si la transacción del alta no confirma.
+ * <p>
+ * La lectura de la BD corre fuera del lock, así que un cambio confirmado mientras tanto puede o no
+ * estar en ella. Cada cambio incrementa {@code generation} y la reconstrucción solo reemplaza el
+ * estado si no cambió durante la lectura ni hay un alta confirmándose; si no, vuelve a leer. Las
+ * reservas de altas sin confirmar no están en la BD: se trasladan al estado nuevo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TechnicianLoadBalancer {
+
+    /** Lecturas antes de desistir mientras los cambios no dejan de llegar. */
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private static final Comparator<Technician> BY_LOAD =
+            Comparator.comparingLong(Technician::load).thenComparing(Technician::id);
+
+    private final UserRepository userRepository;
+
+    @Value("${app.tickets.auto-assign.juzgado-affinity:2}")
+    private long juzgadoAffinity;
+
+    @Value("${app.tickets.auto-assign.edificio-affinity:1}")
+    private long edificioAffinity;
+
+    private final Object lock = new Object();
+    private Loads loads; // protegido por lock; null hasta la primera reconstrucción
+    private long generation; // protegido por lock; cambia con cada ajuste que la BD también refleja
+    private final List<Reservation> pending = new ArrayList<>(); // protegido por lock; altas sin confirmar
+
+    /** Técnico elegido, con la carga que tenía al elegirlo y el motivo para la auditoría. */
+    public record Assignment(Long tecnicoId, long load, String afinidad) {
+    }
+
+    public static long weight(Priority prioridad) {
+        if (prioridad == null) {
+            return 0;
+        }
+        return switch (prioridad) {
+            case ALTA -> 3;
+            case MEDIA -> 2;
+            case BAJA -> 1;
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 1; ; attempt++) {
+            long seen;
+            synchronized (lock) {
+                seen = generation;
+            }
+            List<TechnicianLoadRow> rows = userRepository.findTechnicianLoads();
+            synchronized (lock) {
+                boolean stable = stable(seen);
+                if (!stable && attempt < MAX_REBUILD_ATTEMPTS) {
+                    continue;
+                }
+                if (!stable && loads != null) {
+                    // El estado incremental sigue vigente; la próxima reconciliación lo vuelve a intentar
+                    log.warn("Carga de técnicos no reconstruida: cambió en cada una de {} lecturas", attempt);
+                    return;
+                }
+                Loads fresh = new Loads();
+                for (TechnicianLoadRow row : rows) {
+                    fresh.register(row.getTecnicoId(), row.getJuzgadoId(), row.getEdificioId());
+                    fresh.adjust(row.getTecnicoId(), weight(row.getPrioridad()) * row.getTotal());
+                }
+                pending.forEach(r -> fresh.adjust(r.tecnicoId, r.weight));
+                loads = fresh;
+                return;
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.tickets.auto-assign.reconcile-ms:300000}",
+            fixedDelayString = "${app.tickets.auto-assign.reconcile-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Altas, bajas, cambios de rol o de juzgado: solo se actualiza ese usuario. Un técnico que ya
+     * estaba conserva su carga y cambia de juzgado; uno nuevo la lee de la BD.
+     */
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            long seen;
+            synchronized (lock) {
+                if (loads == null) {
+                    return; // La reconstrucción inicial ya lo incluirá
+                }
+                seen = generation;
+            }
+            List<TechnicianLoadRow> rows = userRepository.findTechnicianLoad(event.getUserId());
+            synchronized (lock) {
+                if (rows.isEmpty()) {
+                    loads.remove(event.getUserId()); // Ya no es un técnico activo
+                    return;
+                }
+                TechnicianLoadRow first = rows.get(0);
+                Technician current = loads.byId.get(event.getUserId());
+                if (current != null) {
+                    loads.remove(current.id());
+                    loads.register(current.id(), first.getJuzgadoId(), first.getEdificioId());
+                    loads.adjust(current.id(), current.load());
+                    return;
+                }
+                if (stable(seen)) {
+                    loads.register(first.getTecnicoId(), first.getJuzgadoId(), first.getEdificioId());
+                    for (TechnicianLoadRow row : rows) {
+                        loads.adjust(row.getTecnicoId(), weight(row.getPrioridad()) * row.getTotal());
+                    }
+                    pending.stream().filter(r -> r.tecnicoId.equals(first.getTecnicoId()))
+                            .forEach(r -> loads.adjust(r.tecnicoId, r.weight));
+                    return;
+                }
+            }
+        }
+        log.warn("Técnico {} no incorporado: su carga cambió durante cada lectura; lo agrega la reconciliación",
+                event.getUserId());
+    }
+
+    /** Sin cambios desde {@code seen} ni altas entre su commit en la BD y su confirmación acá. Requiere lock. */
+    private boolean stable(long seen) {
+        return generation == seen && pending.stream().noneMatch(r -> r.committing);
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        long weight = weight(event.getPrioridad());
+        synchronized (lock) {
+            generation++; // Una reconstrucción en curso puede no haber leído este cambio
+            if (loads == null) {
+                return; // La reconstrucción inicial vuelve a leer y lo incluye
+            }
+            switch (event.getType()) {
+                // La asignación automática ya reservó la carga al elegir
+                case CREATED -> {
+                }
+                case STATUS_CHANGED -> {
+                    if (event.getPreviousStatus() != TicketStatus.CERRADO) {
+                        loads.adjust(event.getPreviousTecnicoId(), -weight);
+                    }
+                    if (event.getStatus() != TicketStatus.CERRADO) {
+                        loads.adjust(event.getTecnicoId(), weight);
+                    }
+                }
+                case DELETED -> {
+                    if (event.getStatus() != TicketStatus.CERRADO) {
+                        loads.adjust(event.getTecnicoId(), -weight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Elige el técnico de menor carga efectiva para un ticket nuevo y le reserva su peso. Dentro de
+     * una transacción, la reserva se devuelve si ésta no confirma.
+     */
+    public Optional<Assignment> pick(Priority prioridad, Long juzgadoId, Long edificioId) {
+        long weight = weight(prioridad);
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        Assignment assignment;
+        Reservation reservation;
+        synchronized (lock) {
+            if (loads == null || loads.global.isEmpty()) {
+                return Optional.empty();
+            }
+            Technician best = loads.global.first();
+            long bestScore = best.load();
+            String afinidad = "sin afinidad";
+
+            Technician local = first(loads.byEdificio, edificioId);
+            if (local != null && local.load() - edificioAffinity < bestScore) {
+                best = local;
+                bestScore = local.load() - edificioAffinity;
+                afinidad = "mismo edificio";
+            }
+            local = first(loads.byJuzgado, juzgadoId);
+            if (local != null && local.load() - juzgadoAffinity < bestScore) {
+                best = local;
+                afinidad = "mismo juzgado";
+            }
+            assignment = new Assignment(best.id(), best.load(), afinidad);
+            loads.adjust(best.id(), weight);
+            reservation = new Reservation(best.id(), weight);
+            if (transactional) {
+                pending.add(reservation);
+            }
+        }
+        if (transactional) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    synchronized (lock) {
+                        // Desde acá la BD puede tener el ticket: ninguna reconstrucción lo suma dos veces
+                        reservation.committing = true;
+                        generation++;
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (lock) {
+                        generation++;
+                        if (pending.remove(reservation) && status != STATUS_COMMITTED && loads != null) {
+                            loads.adjust(reservation.tecnicoId, -reservation.weight);
+                        }
+                    }
+                }
+            });
+        }
+        return Optional.of(assignment);
+    }
+
+    /** Devuelve una reserva hecha por {@link #pick} que no se va a usar. */
+    public void release(Long tecnicoId, Priority prioridad) {
+        long weight = weight(prioridad);
+        synchronized (lock) {
+            // La reserva deja de estar pendiente: el rollback posterior no la vuelve a devolver
+            for (int i = pending.size() - 1; i >= 0; i--) {
+                Reservation r = pending.get(i);
+                if (r.tecnicoId.equals(tecnicoId) && r.weight == weight) {
+                    pending.remove(i);
+                    break;
+                }
+            }
+            if (loads != null) {
+                loads.adjust(tecnicoId, -weight);
+            }
+        }
+    }
+
+    /** Saca del plantel a un técnico que dejó de ser elegible, hasta la próxima reconstrucción. */
+    public void evict(Long tecnicoId) {
+        synchronized (lock) {
+            if (loads != null) {
+                loads.remove(tecnicoId);
+            }
+        }
+    }
+
+    /** Carga actual por técnico: tecnicoId → carga ponderada. */
+    public Map<Long, Long> loads() {
+        Map<Long, Long> result = new HashMap<>();
+        synchronized (lock) {
+            if (loads != null) {
+                loads.byId.forEach((id, technician) -> result.put(id, technician.load()));
+            }
+        }
+        return result;
+    }
+
+    private static Technician first(Map<Long, TreeSet<Technician>> index, Long key) {
+        if (key == null) {
+            return null;
+        }
+        TreeSet<Technician> set = index.get(key);
+        return set == null || set.isEmpty() ? null : set.first();
+    }
+
+    /** Carga reservada por {@link #pick} para un alta que todavía no confirmó. */
+    private static final class Reservation {
+        private final Long tecnicoId;
+        private final long weight;
+        private boolean committing; // protegido por lock
+
+        Reservation(Long tecnicoId, long weight) {
+            this.tecnicoId = tecnicoId;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Technician {
+        private final Long id;
+        private final Long juzgadoId;
+        private final Long edificioId;
+        private long load;
+
+        Technician(Long id, Long juzgadoId, Long edificioId) {
+            this.id = id;
+            this.juzgadoId = juzgadoId;
+            this.edificioId = edificioId;
+        }
+
+        Long id() {
+            return id;
+        }
+
+        long load() {
+            return load;
+        }
+    }
+
+    /**
+     * Índices ordenados por carga. La clave de orden es mutable: cada ajuste saca al técnico de
+     * sus conjuntos, cambia la carga y lo vuelve a insertar.
+     */
+    private static final class Loads {
+        private final Map<Long, Technician> byId = new HashMap<>();
+        private final TreeSet<Technician> global = new TreeSet<>(BY_LOAD);
+        private final Map<Long, TreeSet<Technician>> byJuzgado = new HashMap<>();
+        private final Map<Long, TreeSet<Technician>> byEdificio = new HashMap<>();
+
+        void register(Long id, Long juzgadoId, Long edificioId) {
+            if (byId.containsKey(id)) {
+                return;
+            }
+            Technician technician = new Technician(id, juzgadoId, edificioId);
+            byId.put(id, technician);
+            attach(technician);
+        }
+
+        void adjust(Long id, long delta) {
+            Technician technician = id != null ? byId.get(id) : null;
+            if (technician == null || delta == 0) {
+                return;
+            }
+            detach(technician);
+            technician.load = Math.max(0, technician.load + delta);
+            attach(technician);
+        }
+
+        void remove(Long id) {
+            Technician technician = byId.remove(id);
+            if (technician != null) {
+                detach(technician);
+            }
+        }
+
+        private void attach(Technician technician) {
+            global.add(technician);
+            if (technician.juzgadoId != null) {
+                byJuzgado.computeIfAbsent(technician.juzgadoId, k -> new TreeSet<>(BY_LOAD)).add(technician);
+            }
+            if (technician.edificioId != null) {
+                byEdificio.computeIfAbsent(technician.edificioId, k -> new TreeSet<>(BY_LOAD)).add(technician);
+            }
+        }
+
+        private void detach(Technician technician) {
+            global.remove(technician);
+            if (technician.juzgadoId != null) {
+                byJuzgado.get(technician.juzgadoId).remove(technician);
+            }
+            if (technician.edificioId != null) {
+                byEdificio.get(technician.edificioId).remove(technician);
+            }
+        }
+    }
+}
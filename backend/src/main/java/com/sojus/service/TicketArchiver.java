@@ -0,0 +1,111 @@
+package com.sojus.service;
+
+import com.sojus.repository.TicketArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mueve los tickets cerrados hace más de {@code app.archive.months} meses, con su bitácora y su
+ * auditoría, a las tablas de archivo para que la tabla de tickets conserve solo lo reciente.
+ * <p>
+ * Trabaja por bloques de {@code app.archive.chunk-size} tickets, cada uno en su propia transacción,
+ * con una pausa de {@code app.archive.pause-ms} entre bloques para no competir con la operación
+ * diaria. La selección es por predicado y cada bloque se confirma entero: si se interrumpe, la
+ * próxima corrida retoma donde quedó. Las lecturas por id de TicketService y AuditService caen al
+ * archivo cuando el ticket ya no está en las tablas vivas.
+ * <p>
+ * Métrica: {@code tickets.archived}.
+ */
+@Component
+@Slf4j
+public class TicketArchiver {
+
+    private final TicketArchiveRepository archiveRepository;
+    private final TicketCounterRegistry ticketCounterRegistry;
+    private final TransactionTemplate tx;
+    private final Counter archived;
+    private final boolean enabled;
+    private final int months;
+    private final int chunkSize;
+    private final long pauseMs;
+
+    private volatile boolean stopping;
+
+    public TicketArchiver(TicketArchiveRepository archiveRepository,
+                          TicketCounterRegistry ticketCounterRegistry,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.archive.enabled:true}") boolean enabled,
+                          @Value("${app.archive.months:12}") int months,
+                          @Value("${app.archive.chunk-size:500}") int chunkSize,
+                          @Value("${app.archive.pause-ms:200}") long pauseMs) {
+        this.archiveRepository = archiveRepository;
+        this.ticketCounterRegistry = ticketCounterRegistry;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.months = months;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.archived = Counter.builder("tickets.archived")
+                .description("Tickets cerrados movidos al archivo").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archiveClosedBefore(LocalDateTime.now().minusMonths(months));
+        }
+    }
+
+    /** Archiva los tickets cerrados antes de {@code cutoff}; devuelve cuántos se movieron. */
+    public int archiveClosedBefore(LocalDateTime cutoff) {
+        int total = 0;
+        while (!stopping) {
+            Integer moved = tx.execute(status -> {
+                List<Long> ids = archiveRepository.lockClosedBefore(cutoff, chunkSize);
+                return ids.isEmpty() ? 0 : archiveRepository.moveToArchive(ids, LocalDateTime.now());
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+            archived.increment(moved);
+            if (moved < chunkSize || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            ticketCounterRegistry.reload();
+            log.info("Archivo: {} tickets cerrados antes de {} movidos", total, cutoff);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void stop() {
+        stopping = true; // El bloque en curso termina; el resto queda para la próxima corrida
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
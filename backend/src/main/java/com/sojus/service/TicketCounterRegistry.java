@@ -0,0 +1,217 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.TicketCountRow;
+import com.sojus.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contadores en memoria de tickets no eliminados por (status, prioridad, juzgado).
+ * <p>
+ * Se reconstruyen desde la BD al arrancar y se mantienen con los eventos de TicketService
+ * tras cada commit, usando {@link LongAdder} para no contender entre escritores. Las lecturas
+ * del dashboard son O(1). Una reconciliación periódica reemplaza atómicamente el estado por un
+ * conteo fresco, corrige cualquier deriva y registra las claves que no coincidían.
+ * <p>
+ * El conteo se lee sin bloquear a los eventos; cada evento incrementa {@code generation} y el
+ * reemplazo solo se hace si ninguno llegó durante la lectura (si no, se vuelve a leer). Los eventos
+ * toman la parte compartida de {@code swapLock} y el reemplazo la exclusiva, así que un evento se
+ * aplica entero al estado viejo o entero al nuevo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketCounterRegistry {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    /** Lecturas antes de desistir mientras los eventos no dejan de llegar. */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    /** Claves con deriva que se listan en el log. */
+    private static final int MAX_DRIFT_KEYS = 20;
+
+    private final TicketRepository ticketRepository;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Counters previous = replace();
+        Counters fresh = counters.get();
+        if (previous != null && previous != fresh) {
+            List<String> drift = previous.diff(fresh);
+            if (!drift.isEmpty()) {
+                log.warn("Contadores de tickets reconciliados con deriva en {} claves (status/prioridad/juzgado: "
+                        + "memoria -> BD): {}", drift.size(), drift.subList(0, Math.min(drift.size(), MAX_DRIFT_KEYS)));
+            }
+        }
+    }
+
+    /**
+     * Reemplaza el estado sin reportar deriva: para cuando los tickets salen de la tabla sin pasar
+     * por TicketService (p. ej. al archivarse).
+     */
+    public void reload() {
+        replace();
+    }
+
+    /** Instala un conteo fresco si es estable; devuelve el estado anterior (el mismo si no se reemplazó). */
+    private Counters replace() {
+        for (int attempt = 1; ; attempt++) {
+            long seen = generation.get();
+            Counters fresh = load();
+            swapLock.writeLock().lock();
+            try {
+                Counters previous = counters.get();
+                if (generation.get() == seen || attempt == MAX_LOAD_ATTEMPTS && previous == null) {
+                    counters.set(fresh);
+                    return previous;
+                }
+                if (attempt == MAX_LOAD_ATTEMPTS) {
+                    log.warn("Contadores de tickets no reconciliados: llegaron cambios durante {} lecturas", attempt);
+                    return previous;
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+
+    @Scheduled(initialDelayString = "${app.tickets.counters.reconcile-ms:300000}",
+            fixedDelayString = "${app.tickets.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            generation.incrementAndGet(); // Una lectura en curso puede no incluir este cambio: se repite
+            Counters current = counters.get();
+            if (current != null) { // Aún no inicializado: la lectura inicial se repite y lo incluye
+                apply(current, event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Counters current, TicketChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> current.add(event.getStatus(), event.getPrioridad(), event.getJuzgadoId(), 1);
+            case STATUS_CHANGED -> {
+                if (event.getPreviousStatus() != event.getStatus()) {
+                    current.add(event.getPreviousStatus(), event.getPrioridad(), event.getJuzgadoId(), -1);
+                    current.add(event.getStatus(), event.getPrioridad(), event.getJuzgadoId(), 1);
+                }
+            }
+            case DELETED -> current.add(event.getStatus(), event.getPrioridad(), event.getJuzgadoId(), -1);
+        }
+    }
+
+    private Counters load() {
+        Counters fresh = new Counters();
+        for (TicketCountRow row : ticketRepository.countGroupedByStatusPrioridadAndJuzgado()) {
+            fresh.add(row.getStatus(), row.getPrioridad(), row.getJuzgadoId(), row.getTotal());
+        }
+        return fresh;
+    }
+
+    public boolean isReady() {
+        return counters.get() != null;
+    }
+
+    public long count(TicketStatus status, Priority prioridad) {
+        return counters.get().byStatusPrioridad[status.ordinal()][prioridad.ordinal()].sum();
+    }
+
+    public long count(TicketStatus status) {
+        long total = 0;
+        for (Priority p : PRIORITIES) {
+            total += count(status, p);
+        }
+        return total;
+    }
+
+    /**
+     * Desglose por juzgado de un estado: juzgadoId → cantidad. Los tickets sin juzgado usan la clave null.
+     */
+    public Map<Long, Long> countByJuzgado(TicketStatus status) {
+        Map<Long, Long> result = new HashMap<>();
+        counters.get().byKey.forEach((key, adder) -> {
+            if (key.status() == status) {
+                result.merge(key.juzgadoId(), adder.sum(), Long::sum);
+            }
+        });
+        return result;
+    }
+
+    private record Key(TicketStatus status, Priority prioridad, Long juzgadoId) {
+    }
+
+    private static final class Counters {
+        private final LongAdder[][] byStatusPrioridad = new LongAdder[STATUSES.length][PRIORITIES.length];
+        private final ConcurrentHashMap<Key, LongAdder> byKey = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (int s = 0; s < STATUSES.length; s++) {
+                for (int p = 0; p < PRIORITIES.length; p++) {
+                    byStatusPrioridad[s][p] = new LongAdder();
+                }
+            }
+        }
+
+        void add(TicketStatus status, Priority prioridad, Long juzgadoId, long delta) {
+            if (status == null || prioridad == null) {
+                return;
+            }
+            byStatusPrioridad[status.ordinal()][prioridad.ordinal()].add(delta);
+            byKey.computeIfAbsent(new Key(status, prioridad, juzgadoId), k -> new LongAdder()).add(delta);
+        }
+
+        /** Claves cuyo conteo difiere de {@code other}, como "status/prioridad/juzgado: este -> other". */
+        List<String> diff(Counters other) {
+            Set<Key> keys = new HashSet<>(byKey.keySet());
+            keys.addAll(other.byKey.keySet());
+            List<String> drift = new ArrayList<>();
+            for (Key key : keys) {
+                long mine = sum(byKey.get(key));
+                long theirs = sum(other.byKey.get(key));
+                if (mine != theirs) {
+                    drift.add(key.status() + "/" + key.prioridad() + "/" + key.juzgadoId() + ": " + mine + " -> " + theirs);
+                }
+            }
+            drift.sort(null);
+            return drift;
+        }
+
+        private static long sum(LongAdder adder) {
+            return adder != null ? adder.sum() : 0;
+        }
+    }
+}
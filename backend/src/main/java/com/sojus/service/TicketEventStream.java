@@ -0,0 +1,384 @@
+package com.sojus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.entity.User;
+import com.sojus.domain.enums.RoleName;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.TicketStreamEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flujo Server-Sent Events de cambios de tickets, en reemplazo del polling de listados y dashboard.
+ * <p>
+ * Los {@link TicketChangedEvent} confirmados se numeran y se guardan en un buffer circular acotado;
+ * cada suscriptor recibe solo los que su rol le permite ver en el listado que muestra
+ * ({@code scope=my} filtra como {@link TicketService#findByUser}, {@code scope=all} como
+ * {@link TicketService#findAllForUser}). Un cliente que reconecta con {@code Last-Event-ID} recibe lo
+ * que se perdió si sigue en el buffer; si no (buffer desbordado o reinicio del servidor) recibe un
+ * evento {@code reset} y debe recargar el listado una vez.
+ * <p>
+ * Numeración, buffer y altas de suscriptores corren en un único hilo dispatcher con una cola
+ * acotada ({@code dispatch-queue}): el orden de entrega es el de commit, una reconexión no duplica
+ * ni adelanta eventos, y el hilo que confirmó la transacción no espera a ningún cliente. El
+ * dispatcher no escribe en sockets: deja cada evento en la cola acotada del suscriptor
+ * ({@code subscriber-queue}) y un pool chico de hilos ({@code senders}) la vacía, de a un envío por
+ * suscriptor a la vez. Un cliente lento ocupa como mucho un hilo de envío; si su cola se llena se lo
+ * desconecta y reconecta con {@code Last-Event-ID}. Si la cola del dispatcher se llena, los eventos
+ * descartados no se numeran: los suscriptores reciben {@code reset} y las reanudaciones anteriores
+ * al hueco también. Un cliente inactivo cuesta una conexión abierta y un heartbeat periódico, nunca
+ * una consulta.
+ */
+@Component
+@Slf4j
+public class TicketEventStream {
+
+    public static final String SCOPE_MY = "my";
+    public static final String SCOPE_ALL = "all";
+
+    static final String EVENT_TICKET = "ticket";
+    static final String EVENT_RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long retryMs;
+    private final int subscriberQueue;
+
+    /** Distingue la numeración de este proceso de la de un arranque anterior. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ThreadPoolExecutor dispatcher;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /** La cola del dispatcher descartó un evento: el próximo turno del dispatcher envía reset. */
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Counter slowDisconnects;
+
+    // Estado confinado al hilo dispatcher
+    private final Frame[] ring;
+    private long nextSeq = 1;
+    /** Primera secuencia posterior al último evento descartado; antes de ella no se reanuda. */
+    private long resumableFrom = 1;
+
+    public TicketEventStream(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.tickets.stream.buffer-size:1024}") int bufferSize,
+                             @Value("${app.tickets.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${app.tickets.stream.retry-ms:5000}") long retryMs,
+                             @Value("${app.tickets.stream.dispatch-queue:10000}") int dispatchQueue,
+                             @Value("${app.tickets.stream.subscriber-queue:256}") int subscriberQueue,
+                             @Value("${app.tickets.stream.senders:4}") int senders) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.retryMs = retryMs;
+        this.subscriberQueue = subscriberQueue;
+        this.ring = new Frame[bufferSize];
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dispatchQueue), daemon("ticket-event-stream"));
+        this.senders = Executors.newFixedThreadPool(senders, daemon("ticket-event-sender"));
+        Gauge.builder("tickets.stream.subscribers", subscribers, Set::size)
+                .description("Clientes conectados al flujo de cambios de tickets").register(meterRegistry);
+        Gauge.builder("tickets.stream.dispatch.depth", dispatcher, d -> d.getQueue().size())
+                .description("Tareas pendientes del dispatcher del flujo de tickets").register(meterRegistry);
+        this.slowDisconnects = Counter.builder("tickets.stream.slow.disconnects")
+                .description("Clientes desconectados por no consumir sus eventos a tiempo").register(meterRegistry);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Abre una suscripción. {@code lastEventId} es la cabecera {@code Last-Event-ID} de una
+     * reconexión (null en la primera conexión).
+     */
+    public SseEmitter subscribe(User user, String scope, String lastEventId) {
+        return subscribe(user, scope, lastEventId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(User user, String scope, String lastEventId, SseEmitter emitter) {
+        if (scope != null && !SCOPE_MY.equals(scope) && !SCOPE_ALL.equals(scope)) {
+            throw new IllegalArgumentException("scope debe ser '" + SCOPE_MY + "' o '" + SCOPE_ALL + "'");
+        }
+        boolean own = !SCOPE_ALL.equals(scope);
+        Subscriber subscriber = new Subscriber(user.getId(), user.getRole(), own, emitter, subscriberQueue);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        if (!dispatch(() -> open(subscriber, lastEventId))) {
+            emitter.complete(); // El cliente reintenta tras retry-ms
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!dispatch(() -> broadcast(event)) && !dispatcher.isShutdown()) {
+            overflowed.set(true);
+            dispatch(this::resync); // Si tampoco entra, lo resuelve el próximo broadcast o heartbeat
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.tickets.stream.heartbeat-ms:25000}",
+            fixedDelayString = "${app.tickets.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        dispatch(() -> {
+            resync();
+            for (Subscriber subscriber : subscribers) {
+                deliver(subscriber, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        senders.shutdown();
+        try {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+            senders.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    /** Encola una tarea del dispatcher; false si la cola está llena o el flujo se detuvo. */
+    private boolean dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (dispatcher.isShutdown()) {
+                log.debug("Flujo de tickets detenido; se descarta una tarea");
+            } else {
+                log.warn("Cola del flujo de tickets llena ({} tareas); se descarta una tarea",
+                        dispatcher.getQueue().size());
+            }
+            return false;
+        }
+    }
+
+    // ---- Hilo dispatcher ----
+
+    private void open(Subscriber subscriber, String lastEventId) {
+        SseEmitter.SseEventBuilder connected = SseEmitter.event().reconnectTime(retryMs).comment("conectado");
+        subscriber.queue.offer(connected);
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            long after = resumePoint(lastEventId);
+            boolean resumed = after >= 0;
+            for (long seq = after + 1; resumed && seq < nextSeq; seq++) {
+                Frame frame = ring[(int) (seq % bufferSize)];
+                resumed = !subscriber.sees(frame) || subscriber.queue.offer(frame.toSse());
+            }
+            if (!resumed) {
+                // Fuera del buffer o más de lo que admite su cola: recarga el listado
+                subscriber.queue.clear();
+                subscriber.queue.offer(connected);
+                subscriber.queue.offer(reset());
+            }
+        }
+        subscribers.add(subscriber);
+        schedule(subscriber);
+    }
+
+    /** Tras descartar eventos por la cola llena: todos los suscriptores recargan su listado. */
+    private void resync() {
+        if (overflowed.getAndSet(false)) {
+            resumableFrom = nextSeq;
+            for (Subscriber subscriber : subscribers) {
+                deliver(subscriber, reset());
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder reset() {
+        return SseEmitter.event().name(EVENT_RESET).data("{}", MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Secuencia a partir de la cual se reanuda, o -1 si el id es de otro arranque, está mal formado
+     * o ya salió del buffer.
+     */
+    private long resumePoint(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return -1;
+        }
+        long seq;
+        try {
+            seq = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        long oldest = Math.max(resumableFrom, nextSeq - bufferSize);
+        return seq + 1 >= oldest && seq < nextSeq ? seq : -1;
+    }
+
+    private void broadcast(TicketChangedEvent event) {
+        resync();
+        long seq = nextSeq++;
+        TicketStreamEvent payload = TicketStreamEvent.builder()
+                .id(epoch + "-" + seq)
+                .type(event.getType())
+                .ticketId(event.getTicketId())
+                .previousStatus(event.getPreviousStatus())
+                .status(event.getStatus())
+                .prioridad(event.getPrioridad())
+                .juzgadoId(event.getJuzgadoId())
+                .tecnicoId(event.getTecnicoId())
+                .occurredAt(event.getOccurredAt())
+                .build();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de ticket " + event.getTicketId(), e);
+        }
+        // Se serializa una sola vez, sin importar cuántos clientes lo reciban
+        Frame frame = new Frame(payload.getId(), json, event.getSolicitanteId(), event.getTecnicoId(),
+                event.getPreviousTecnicoId());
+        ring[(int) (seq % bufferSize)] = frame;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sees(frame)) {
+                deliver(subscriber, frame.toSse());
+            }
+        }
+    }
+
+    /**
+     * Deja el evento en la cola del suscriptor sin esperarlo. Si la cola está llena el cliente no
+     * consume a tiempo: se lo desconecta y al reconectar se reanuda desde el buffer o recibe reset.
+     */
+    private void deliver(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            subscribers.remove(subscriber);
+            subscriber.closed.set(true);
+            subscriber.queue.clear();
+            slowDisconnects.increment();
+            log.debug("Cliente del flujo de tickets desconectado: {} eventos sin consumir", subscriberQueue);
+        }
+        schedule(subscriber);
+    }
+
+    // ---- Hilos de envío ----
+
+    /** Programa el vaciado de la cola del suscriptor si no hay uno en curso. */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Envía la cola del suscriptor en orden; un solo vaciado a la vez por suscriptor. El emisor se
+     * completa desde acá y no desde el dispatcher porque send y complete sincronizan sobre él.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                send(subscriber, event);
+            }
+            if (subscriber.closed.get() && !subscriber.completed) {
+                subscriber.completed = true;
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+            }
+            subscriber.draining.set(false);
+            // Lo encolado o cerrado mientras terminaba este vaciado lo toma una nueva vuelta
+        } while ((subscriber.closed.get() || !subscriber.queue.isEmpty()) && !subscriber.completed
+                && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emisor ya completado: se libera sin esperar al timeout
+            subscribers.remove(subscriber);
+            subscriber.closed.set(true);
+            subscriber.completed = true;
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private record Frame(String id, String json, Long solicitanteId, Long tecnicoId, Long previousTecnicoId) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(id).name(EVENT_TICKET).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /** Suscriptor con su cola de eventos pendientes de envío. */
+    private static final class Subscriber {
+        private final Long userId;
+        private final RoleName role;
+        private final boolean own;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        /** Hay un vaciado en curso o programado; garantiza un solo envío a la vez. */
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** No recibe más eventos; el vaciado en curso completa el emisor. */
+        private final AtomicBoolean closed = new AtomicBoolean();
+        /** Emisor ya completado; solo lo toca el vaciado. */
+        private volatile boolean completed;
+
+        Subscriber(Long userId, RoleName role, boolean own, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.role = role;
+            this.own = own;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /** Mismas reglas por rol que los listados; el técnico también se entera de una reasignación. */
+        boolean sees(Frame frame) {
+            return switch (role) {
+                case TECNICO -> Objects.equals(userId, frame.tecnicoId())
+                        || Objects.equals(userId, frame.previousTecnicoId());
+                case OPERADOR -> !own || Objects.equals(userId, frame.solicitanteId());
+                default -> true;
+            };
+        }
+    }
+}
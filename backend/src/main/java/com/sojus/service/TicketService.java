@@ -1,6 +1,7 @@
 package com.sojus.service;
 
 import com.sojus.domain.entity.AuditLog;
+import com.sojus.domain.entity.BitacoraEntry;
 import com.sojus.domain.entity.Hardware;
 import com.sojus.domain.entity.Juzgado;
 import com.sojus.domain.entity.Ticket;
@@ -8,38 +9,90 @@ import com.sojus.domain.entity.User;
 import com.sojus.domain.enums.Priority;
 import com.sojus.domain.enums.RoleName;
 import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.BitacoraEntryResponse;
+import com.sojus.dto.BitacoraPageResponse;
+import com.sojus.dto.BulkTicketRequest;
+import com.sojus.dto.BulkTicketResult;
 import com.sojus.dto.StatusChangeRequest;
+import com.sojus.dto.TicketPageResponse;
 import com.sojus.dto.TicketRequest;
 import com.sojus.dto.TicketResponse;
 import com.sojus.exception.BusinessRuleException;
+import com.sojus.exception.ConcurrentUpdateException;
 import com.sojus.exception.ResourceNotFoundException;
-import com.sojus.repository.AuditLogRepository;
+import com.sojus.repository.BitacoraEntryRepository;
 import com.sojus.repository.HardwareRepository;
 import com.sojus.repository.JuzgadoRepository;
+import com.sojus.repository.TicketArchiveRepository;
+import com.sojus.repository.TicketBatchRepository;
 import com.sojus.repository.TicketRepository;
 import com.sojus.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TicketService {
 
         private final TicketRepository ticketRepository;
         private final JuzgadoRepository juzgadoRepository;
         private final HardwareRepository hardwareRepository;
         private final UserRepository userRepository;
-        private final AuditLogRepository auditLogRepository;
+        private final BitacoraEntryRepository bitacoraEntryRepository;
+        private final AuditLogWriter auditLogWriter;
+        private final PriorityRuleEngine priorityRuleEngine;
+        private final TechnicianLoadBalancer technicianLoadBalancer;
+        private final SlaPolicy slaPolicy;
+        private final TicketBatchRepository ticketBatchRepository;
+        private final TicketArchiveRepository ticketArchiveRepository;
+        private final DuplicateDetector duplicateDetector;
+        private final ApplicationEventPublisher eventPublisher;
+        private final PlatformTransactionManager transactionManager;
+
+        /** Intentos ante conflictos de versión en operaciones conmutativas (comentarios de bitácora). */
+        @Value("${app.tickets.optimistic-max-attempts:4}")
+        private int optimisticMaxAttempts;
+
+        /** Asignación automática de tickets nuevos cuando el request no indica {@code autoAsignar}. */
+        @Value("${app.tickets.auto-assign.enabled:false}")
+        private boolean autoAssignDefault;
+
+        /** Candidatos a descartar (técnico dado de baja desde la última reconstrucción) antes de desistir. */
+        private static final int MAX_ASSIGN_ATTEMPTS = 3;
 
         private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+        /** Tamaño de página por defecto y tope para los listados paginados por keyset. */
+        static final int DEFAULT_PAGE_SIZE = 50;
+        static final int MAX_PAGE_SIZE = 200;
+
         /**
          * Mapa de transiciones válidas de estado.
          * Cada estado tiene un conjunto de estados a los que puede transicionar.
@@ -59,12 +112,9 @@ public class TicketService {
         @Transactional(readOnly = true)
         public List<TicketResponse> findAllForUser(User user) {
                 if (user.getRole() == RoleName.TECNICO) {
-                        return ticketRepository.findAllByTecnicoAsignadoIdAndDeletedFalse(user.getId())
-                                        .stream().map(this::toResponse).toList();
+                        return ticketRepository.findResponsesByTecnicoAsignadoId(user.getId());
                 }
-                return ticketRepository.findAllByDeletedFalse().stream()
-                                .map(this::toResponse)
-                                .toList();
+                return ticketRepository.findResponsesByDeletedFalse();
         }
 
         /**
@@ -76,31 +126,89 @@ public class TicketService {
         @Transactional(readOnly = true)
         public List<TicketResponse> findByUser(User user) {
                 if (user.getRole() == RoleName.TECNICO) {
-                        return ticketRepository.findAllByTecnicoAsignadoIdAndDeletedFalse(user.getId())
-                                        .stream().map(this::toResponse).toList();
+                        return ticketRepository.findResponsesByTecnicoAsignadoId(user.getId());
                 }
                 if (user.getRole() == RoleName.OPERADOR) {
-                        return ticketRepository.findAllBySolicitanteIdAndDeletedFalse(user.getId())
-                                        .stream().map(this::toResponse).toList();
+                        return ticketRepository.findResponsesBySolicitanteId(user.getId());
                 }
                 // ADMINISTRADOR ve todo
-                return ticketRepository.findAllByDeletedFalse().stream()
-                                .map(this::toResponse).toList();
+                return ticketRepository.findResponsesByDeletedFalse();
+        }
+
+        /**
+         * Página de tickets con el mismo filtrado por rol que {@link #findAllForUser(User)}.
+         * Una sola consulta con fetch-join por página; el orden es createdAt DESC, id DESC.
+         */
+        @Transactional(readOnly = true)
+        public TicketPageResponse findPageForUser(User user, String cursor, Integer size) {
+                Long tecnicoId = user.getRole() == RoleName.TECNICO ? user.getId() : null;
+                return fetchPage(tecnicoId, null, cursor, size);
+        }
+
+        /**
+         * Página de tickets con el mismo filtrado por rol que {@link #findByUser(User)}.
+         */
+        @Transactional(readOnly = true)
+        public TicketPageResponse findPageByUser(User user, String cursor, Integer size) {
+                Long tecnicoId = user.getRole() == RoleName.TECNICO ? user.getId() : null;
+                Long solicitanteId = user.getRole() == RoleName.OPERADOR ? user.getId() : null;
+                return fetchPage(tecnicoId, solicitanteId, cursor, size);
         }
 
         @Transactional(readOnly = true)
         public List<TicketResponse> findAll() {
-                return ticketRepository.findAllByDeletedFalse().stream()
-                                .map(this::toResponse)
-                                .toList();
+                return ticketRepository.findResponsesByDeletedFalse();
         }
 
+        /** Busca en la tabla viva y, si no está, en el archivo de tickets cerrados. */
         @Transactional(readOnly = true)
         public TicketResponse findById(Long id) {
-                Ticket ticket = ticketRepository.findById(id)
-                                .filter(t -> !t.getDeleted())
+                return ticketRepository.findResponseById(id)
+                                .or(() -> ticketArchiveRepository.findResponseById(id))
                                 .orElseThrow(() -> new ResourceNotFoundException("Ticket", id));
-                return toResponse(ticket);
+        }
+
+        /**
+         * Historial de bitácora de un ticket en orden cronológico, paginado por keyset sobre el id.
+         * Los tickets archivados se leen del archivo.
+         */
+        @Transactional(readOnly = true)
+        public BitacoraPageResponse findBitacora(Long ticketId, String cursor, Integer size) {
+                boolean archived = false;
+                if (!ticketRepository.existsByIdAndDeletedFalse(ticketId)) {
+                        archived = ticketArchiveRepository.existsById(ticketId);
+                        if (!archived) {
+                                throw new ResourceNotFoundException("Ticket", ticketId);
+                        }
+                }
+                int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+                Long afterId = null;
+                if (cursor != null && !cursor.isBlank()) {
+                        try {
+                                afterId = Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor),
+                                                StandardCharsets.UTF_8));
+                        } catch (IllegalArgumentException e) {
+                                throw new IllegalArgumentException("Cursor de paginación inválido");
+                        }
+                }
+
+                List<BitacoraEntryResponse> rows = archived
+                                ? ticketArchiveRepository.findBitacoraPage(ticketId, afterId, pageSize + 1)
+                                : bitacoraEntryRepository.findPage(ticketId, afterId, Limit.of(pageSize + 1));
+                boolean hasMore = rows.size() > pageSize;
+                List<BitacoraEntryResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+                String nextCursor = hasMore
+                                ? Base64.getUrlEncoder().withoutPadding().encodeToString(
+                                                String.valueOf(page.get(page.size() - 1).getId())
+                                                                .getBytes(StandardCharsets.UTF_8))
+                                : null;
+
+                return BitacoraPageResponse.builder()
+                                .items(page)
+                                .nextCursor(nextCursor)
+                                .hasMore(hasMore)
+                                .size(page.size())
+                                .build();
         }
 
         @Transactional
@@ -125,55 +233,197 @@ public class TicketService {
                         ticket.setJuzgado(juzgado);
                 }
 
-                // Hardware vinculado — con validación de ticket activo
+                // Hardware vinculado. La regla "un solo ticket activo por equipo" la garantiza el
+                // índice único Ticket.UK_HARDWARE_ACTIVO al insertar, sin consulta previa ni carrera
                 if (request.getHardwareId() != null) {
                         Hardware hw = hardwareRepository.findById(request.getHardwareId())
                                         .filter(h -> !h.getDeleted())
                                         .orElseThrow(() -> new ResourceNotFoundException("Hardware",
                                                         request.getHardwareId()));
-
-                        // Regla de negocio: un equipo no puede tener más de un ticket activo
-                        boolean hasActiveTicket = ticketRepository
-                                        .existsByHardwareAfectadoIdAndStatusNotAndDeletedFalse(
-                                                        hw.getId(), TicketStatus.CERRADO);
-                        if (hasActiveTicket) {
-                                throw new BusinessRuleException(
-                                                "El equipo " + hw.getInventarioPatrimonial()
-                                                                + " ya tiene un ticket activo. Cierre el ticket existente antes de crear uno nuevo.");
-                        }
-
                         ticket.setHardwareAfectado(hw);
                 }
 
-                // Regla de negocio: Si el asunto contiene "juez" o "audiencia" → prioridad ALTA
-                String asuntoLower = request.getAsunto().toLowerCase();
-                if (asuntoLower.contains("juez") || asuntoLower.contains("audiencia")
-                                || asuntoLower.contains("sala")) {
-                        ticket.setPrioridad(Priority.ALTA);
+                // Regla de negocio: las palabras clave configuradas (p. ej. "juez", "audiencia") elevan
+                // la prioridad; nunca la bajan respecto de la solicitada
+                Priority escalated = priorityRuleEngine.evaluate(request.getAsunto(), request.getDescripcion());
+                if (escalated != null && escalated.ordinal() < ticket.getPrioridad().ordinal()) {
+                        ticket.setPrioridad(escalated);
                 }
 
-                Ticket saved = ticketRepository.save(ticket);
+                // Plazo de resolución según la prioridad final y el contrato que cubre al equipo
+                ticket.setSlaVencimiento(slaPolicy.deadline(ticket.getPrioridad(), LocalDateTime.now(),
+                                ticket.getHardwareAfectado()));
+
+                // Posibles duplicados: tickets abiertos del mismo juzgado con texto parecido (índice en memoria)
+                List<DuplicateDetector.Match> duplicados = duplicateDetector.findSimilar(
+                                ticket.getJuzgado() != null ? ticket.getJuzgado().getId() : null,
+                                request.getAsunto(), request.getDescripcion());
+
+                // Asignación automática: técnico de menor carga ponderada, con afinidad de juzgado/edificio
+                boolean autoAsignar = request.getAutoAsignar() != null ? request.getAutoAsignar() : autoAssignDefault;
+                TechnicianLoadBalancer.Assignment assignment = autoAsignar ? assignTechnician(ticket) : null;
+
+                Ticket saved;
+                try {
+                        saved = ticketRepository.save(ticket);
+                } catch (DataIntegrityViolationException e) {
+                        if (ticket.getHardwareAfectado() != null && violates(e, Ticket.UK_HARDWARE_ACTIVO)) {
+                                throw new BusinessRuleException("El equipo "
+                                                + ticket.getHardwareAfectado().getInventarioPatrimonial()
+                                                + " ya tiene un ticket activo. Cierre el ticket existente antes de crear uno nuevo.");
+                        }
+                        throw e;
+                }
 
                 // Registro auditoría
-                auditLogRepository.save(AuditLog.builder()
+                auditLogWriter.record(AuditLog.builder()
                                 .entityName("Ticket")
                                 .entityId(saved.getId())
                                 .action("CREAR")
                                 .username(solicitante.getUsername())
                                 .newValue("Ticket creado: " + saved.getAsunto())
                                 .build());
+                if (assignment != null) {
+                        auditLogWriter.record(AuditLog.builder()
+                                        .entityName("Ticket")
+                                        .entityId(saved.getId())
+                                        .action("ASIGNACION_AUTOMATICA")
+                                        .username(solicitante.getUsername())
+                                        .field("tecnicoAsignado")
+                                        .newValue(saved.getTecnicoAsignado().getUsername() + " (carga "
+                                                        + assignment.load() + ", " + assignment.afinidad() + ")")
+                                        .build());
+                }
 
-                return toResponse(saved);
+                eventPublisher.publishEvent(TicketChangedEvent.builder()
+                                .type(TicketChangedEvent.Type.CREATED)
+                                .ticketId(saved.getId())
+                                .status(saved.getStatus())
+                                .prioridad(saved.getPrioridad())
+                                .juzgadoId(saved.getJuzgado() != null ? saved.getJuzgado().getId() : null)
+                                .solicitanteId(solicitante.getId())
+                                .tecnicoId(assignment != null ? assignment.tecnicoId() : null)
+                                .username(solicitante.getUsername())
+                                .slaVencimiento(saved.getSlaVencimiento())
+                                .asunto(saved.getAsunto())
+                                .descripcion(saved.getDescripcion())
+                                .build());
+
+                TicketResponse response = toResponse(saved);
+                if (!duplicados.isEmpty()) {
+                        response.setPosiblesDuplicados(
+                                        duplicados.stream().map(DuplicateDetector.Match::ticketId).toList());
+                }
+                return response;
         }
 
-        @Transactional
+        /**
+         * Asigna el ticket al técnico que elige {@link TechnicianLoadBalancer} (sin consultas de conteo;
+         * solo la lectura por PK del técnico elegido). Un candidato que ya no es un técnico activo se
+         * descarta y se elige otro. Sin técnicos disponibles el ticket queda SOLICITADO.
+         */
+        private TechnicianLoadBalancer.Assignment assignTechnician(Ticket ticket) {
+                Juzgado juzgado = ticket.getJuzgado();
+                Long juzgadoId = juzgado != null ? juzgado.getId() : null;
+                Long edificioId = juzgado != null && juzgado.getEdificio() != null ? juzgado.getEdificio().getId() : null;
+                for (int attempt = 0; attempt < MAX_ASSIGN_ATTEMPTS; attempt++) {
+                        TechnicianLoadBalancer.Assignment assignment = technicianLoadBalancer
+                                        .pick(ticket.getPrioridad(), juzgadoId, edificioId).orElse(null);
+                        if (assignment == null) {
+                                break;
+                        }
+                        User tecnico = userRepository.findById(assignment.tecnicoId())
+                                        .filter(u -> !u.getDeleted() && Boolean.TRUE.equals(u.getActive())
+                                                        && u.getRole() == RoleName.TECNICO)
+                                        .orElse(null);
+                        if (tecnico != null) {
+                                ticket.setTecnicoAsignado(tecnico);
+                                ticket.setStatus(TicketStatus.ASIGNADO);
+                                return assignment;
+                        }
+                        technicianLoadBalancer.release(assignment.tecnicoId(), ticket.getPrioridad());
+                        technicianLoadBalancer.evict(assignment.tecnicoId());
+                }
+                log.info("Sin técnicos disponibles para asignar automáticamente el ticket '{}'", ticket.getAsunto());
+                return null;
+        }
+
+        /**
+         * Cambio de estado con concurrencia optimista. La transición depende del estado leído, así que
+         * no se reintenta: ante un conflicto de versión responde 409 con el estado vigente del ticket.
+         */
         public TicketResponse changeStatus(Long id, StatusChangeRequest request, String username) {
+                try {
+                        return new TransactionTemplate(transactionManager)
+                                        .execute(status -> applyStatusChange(id, request, username));
+                } catch (OptimisticLockingFailureException e) {
+                        throw conflict(id);
+                }
+        }
+
+        /**
+         * Agrega un comentario a la bitácora. Es conmutativo (no depende del estado leído), así que
+         * un conflicto de versión se reintenta en una transacción nueva, con backoff y tope de intentos.
+         */
+        public BitacoraEntryResponse addComment(Long id, String texto, String username) {
+                TransactionTemplate tx = new TransactionTemplate(transactionManager);
+                for (int attempt = 1;; attempt++) {
+                        try {
+                                return tx.execute(status -> appendComment(id, texto, username));
+                        } catch (OptimisticLockingFailureException e) {
+                                if (attempt >= optimisticMaxAttempts) {
+                                        throw conflict(id);
+                                }
+                                log.debug("Conflicto de versión en ticket {} (intento {}), reintentando", id, attempt);
+                                backoff(attempt);
+                        }
+                }
+        }
+
+        private BitacoraEntryResponse appendComment(Long id, String texto, String username) {
+                Ticket ticket = ticketRepository.findById(id)
+                                .filter(t -> !t.getDeleted())
+                                .orElseThrow(() -> new ResourceNotFoundException("Ticket", id));
+                BitacoraEntry entry = bitacoraEntryRepository.save(BitacoraEntry.builder()
+                                .ticket(ticket)
+                                .autor(username)
+                                .texto(texto)
+                                .build());
+                ticket.setBitacoraCount(ticket.getBitacoraCount() + 1);
+                ticketRepository.save(ticket);
+                return new BitacoraEntryResponse(entry.getId(), entry.getAutor(), entry.getTexto(),
+                                entry.getCreatedAt());
+        }
+
+        private ConcurrentUpdateException conflict(Long id) {
+                return new ConcurrentUpdateException(
+                                "El ticket fue modificado por otro usuario. Revise el estado actual e intente nuevamente.",
+                                ticketRepository.findResponseById(id).orElse(null));
+        }
+
+        private static void backoff(int attempt) {
+                try {
+                        Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Reintento interrumpido", e);
+                }
+        }
+
+        private TicketResponse applyStatusChange(Long id, StatusChangeRequest request, String username) {
                 Ticket ticket = ticketRepository.findById(id)
                                 .filter(t -> !t.getDeleted())
                                 .orElseThrow(() -> new ResourceNotFoundException("Ticket", id));
 
+                if (request.getVersion() != null && !request.getVersion().equals(ticket.getVersion())) {
+                        throw new ConcurrentUpdateException(
+                                        "El ticket fue modificado por otro usuario. Revise el estado actual e intente nuevamente.",
+                                        toResponse(ticket));
+                }
+
                 TicketStatus oldStatus = ticket.getStatus();
                 TicketStatus newStatus = TicketStatus.valueOf(request.getStatus());
+                Long oldTecnicoId = ticket.getTecnicoAsignado() != null ? ticket.getTecnicoAsignado().getId() : null;
 
                 // Validar transición de estado
                 Set<TicketStatus> allowedTransitions = VALID_TRANSITIONS.getOrDefault(oldStatus, Set.of());
@@ -206,18 +456,22 @@ public class TicketService {
                         ticket.setClosedAt(LocalDateTime.now());
                 }
 
-                // Agregar a bitácora
+                // Agregar a bitácora: un INSERT por comentario, sin reescribir el historial
                 if (request.getComentario() != null) {
-                        String bitacoraEntry = String.format("[%s] %s: %s\n",
-                                        LocalDateTime.now().format(FMT), username, request.getComentario());
-                        ticket.setBitacora(
-                                        (ticket.getBitacora() != null ? ticket.getBitacora() : "") + bitacoraEntry);
+                        bitacoraEntryRepository.save(BitacoraEntry.builder()
+                                        .ticket(ticket)
+                                        .autor(username)
+                                        .texto(request.getComentario())
+                                        .build());
+                        ticket.setBitacoraCount(ticket.getBitacoraCount() + 1);
                 }
 
                 Ticket saved = ticketRepository.save(ticket);
+                // El UPDATE se ejecuta ya: un conflicto de versión aflora aquí y la respuesta lleva la versión nueva
+                ticketRepository.flush();
 
                 // Registro auditoría
-                auditLogRepository.save(AuditLog.builder()
+                auditLogWriter.record(AuditLog.builder()
                                 .entityName("Ticket")
                                 .entityId(saved.getId())
                                 .action("CAMBIO_ESTADO")
@@ -227,9 +481,199 @@ public class TicketService {
                                 .newValue(newStatus.name())
                                 .build());
 
+                eventPublisher.publishEvent(changeEvent(TicketChangedEvent.Type.STATUS_CHANGED, saved,
+                                oldStatus, oldTecnicoId, username));
+
                 return toResponse(saved);
         }
 
+        /**
+         * Aplica una misma operación a una lista de tickets en una sola transacción: una lectura IN de
+         * los tickets (y otra del técnico, si corresponde), la validación de la transición una vez por
+         * estado de origen distinto y los UPDATE/INSERT en lotes JDBC. Cada ticket informa su resultado;
+         * los rechazados no impiden aplicar el resto.
+         */
+        @Transactional
+        public BulkTicketResult bulk(BulkTicketRequest request, String username) {
+                BulkOperation operacion = BulkOperation.parse(request.getOperacion());
+                String comentario = request.getComentario() != null && !request.getComentario().isBlank()
+                                ? request.getComentario()
+                                : null;
+                TicketStatus target = null;
+                if (operacion == BulkOperation.CAMBIAR_ESTADO) {
+                        target = parseStatus(request.getStatus());
+                }
+                if (operacion == BulkOperation.COMENTAR && comentario == null) {
+                        throw new IllegalArgumentException("La operación COMENTAR requiere un comentario");
+                }
+                if (operacion == BulkOperation.ASIGNAR && request.getTecnicoId() == null) {
+                        throw new IllegalArgumentException("La operación ASIGNAR requiere un tecnicoId");
+                }
+                if (operacion == BulkOperation.ELIMINAR) {
+                        comentario = null;
+                }
+                User tecnico = request.getTecnicoId() != null
+                                && (operacion == BulkOperation.ASIGNAR || operacion == BulkOperation.CAMBIAR_ESTADO)
+                                                ? findTecnico(request.getTecnicoId())
+                                                : null;
+
+                List<Long> ids = List.copyOf(new LinkedHashSet<>(request.getIds()));
+                Map<Long, TicketBatchRepository.Row> rows = new HashMap<>();
+                for (TicketBatchRepository.Row row : ticketBatchRepository.findActiveByIds(ids)) {
+                        rows.put(row.id(), row);
+                }
+
+                // Validación por conjunto: VALID_TRANSITIONS se consulta una vez por estado de origen
+                Map<TicketStatus, Boolean> permitido = new EnumMap<>(TicketStatus.class);
+                Map<Long, BulkTicketResult.Item> items = new LinkedHashMap<>();
+                List<TicketBatchRepository.Row> candidatos = new ArrayList<>();
+                for (Long id : ids) {
+                        TicketBatchRepository.Row row = rows.get(id);
+                        if (row == null) {
+                                items.put(id, new BulkTicketResult.Item(id, BulkTicketResult.Resultado.NO_ENCONTRADO,
+                                                "Ticket no encontrado", null));
+                                continue;
+                        }
+                        TicketStatus destino = target;
+                        if (!permitido.computeIfAbsent(row.status(), s -> allows(operacion, s, destino))) {
+                                items.put(id, new BulkTicketResult.Item(id,
+                                                BulkTicketResult.Resultado.TRANSICION_INVALIDA,
+                                                operacion == BulkOperation.CAMBIAR_ESTADO
+                                                                ? "Transición de estado inválida: " + row.status() + " → " + target
+                                                                : "El ticket está " + row.status(),
+                                                row.version()));
+                                continue;
+                        }
+                        items.put(id, null); // Conserva el orden recibido hasta conocer el resultado
+                        candidatos.add(row);
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                List<TicketBatchRepository.Update> updates = new ArrayList<>(candidatos.size());
+                for (TicketBatchRepository.Row row : candidatos) {
+                        TicketStatus nuevo = switch (operacion) {
+                                case CAMBIAR_ESTADO -> target;
+                                case ASIGNAR -> row.status() == TicketStatus.SOLICITADO ? TicketStatus.ASIGNADO : row.status();
+                                default -> row.status();
+                        };
+                        updates.add(new TicketBatchRepository.Update(row.id(), row.version(), nuevo,
+                                        tecnico != null ? tecnico.getId() : row.tecnicoId(),
+                                        nuevo == TicketStatus.CERRADO && row.status() != TicketStatus.CERRADO ? now : null,
+                                        comentario != null ? 1 : 0));
+                }
+                int[] counts;
+                if (candidatos.isEmpty()) {
+                        counts = new int[0];
+                } else if (operacion == BulkOperation.ELIMINAR) {
+                        counts = ticketBatchRepository.softDeleteAll(candidatos);
+                } else {
+                        counts = ticketBatchRepository.updateAll(updates);
+                }
+
+                List<Long> comentados = new ArrayList<>();
+                List<AuditLog> auditoria = new ArrayList<>(candidatos.size());
+                for (int i = 0; i < candidatos.size(); i++) {
+                        TicketBatchRepository.Row row = candidatos.get(i);
+                        TicketBatchRepository.Update update = updates.get(i);
+                        if (counts[i] == 0) {
+                                items.put(row.id(), new BulkTicketResult.Item(row.id(),
+                                                BulkTicketResult.Resultado.CONFLICTO,
+                                                "El ticket fue modificado por otro usuario", null));
+                                continue;
+                        }
+                        items.put(row.id(), new BulkTicketResult.Item(row.id(), BulkTicketResult.Resultado.APLICADO,
+                                        null, row.version() + 1));
+                        if (comentario != null) {
+                                comentados.add(row.id());
+                        }
+                        auditoria.add(recordBulk(operacion, row, update, tecnico, comentario, username));
+                }
+                if (!comentados.isEmpty()) {
+                        ticketBatchRepository.insertBitacora(comentados, username, comentario);
+                }
+                if (!auditoria.isEmpty()) {
+                        ticketBatchRepository.insertAudit(auditoria);
+                }
+
+                List<BulkTicketResult.Item> resultados = new ArrayList<>(items.values());
+                int aplicados = (int) resultados.stream()
+                                .filter(item -> item.getResultado() == BulkTicketResult.Resultado.APLICADO).count();
+                return BulkTicketResult.builder()
+                                .total(resultados.size())
+                                .aplicados(aplicados)
+                                .rechazados(resultados.size() - aplicados)
+                                .items(resultados)
+                                .build();
+        }
+
+        private static boolean allows(BulkOperation operacion, TicketStatus status, TicketStatus target) {
+                return switch (operacion) {
+                        case CAMBIAR_ESTADO -> VALID_TRANSITIONS.getOrDefault(status, Set.of()).contains(target);
+                        case ASIGNAR -> status != TicketStatus.CERRADO;
+                        case COMENTAR, ELIMINAR -> true;
+                };
+        }
+
+        private static TicketStatus parseStatus(String status) {
+                if (status == null || status.isBlank()) {
+                        throw new IllegalArgumentException("La operación CAMBIAR_ESTADO requiere un status");
+                }
+                try {
+                        return TicketStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Estado inválido: " + status);
+                }
+        }
+
+        private User findTecnico(Long tecnicoId) {
+                User tecnico = userRepository.findById(tecnicoId)
+                                .filter(u -> !u.getDeleted())
+                                .orElseThrow(() -> new ResourceNotFoundException("Técnico", tecnicoId));
+                if (tecnico.getRole() != RoleName.TECNICO) {
+                        throw new BusinessRuleException("El usuario '" + tecnico.getFullName()
+                                        + "' no tiene rol TECNICO. Solo se pueden asignar técnicos a los tickets.");
+                }
+                return tecnico;
+        }
+
+        /**
+         * Evento de un ticket aplicado por {@link #bulk}; devuelve su registro de auditoría, que
+         * {@link #bulk} escribe junto con el resto del lote.
+         */
+        private AuditLog recordBulk(BulkOperation operacion, TicketBatchRepository.Row row,
+                        TicketBatchRepository.Update update, User tecnico, String comentario, String username) {
+                AuditLog.AuditLogBuilder audit = AuditLog.builder()
+                                .entityName("Ticket")
+                                .entityId(row.id())
+                                .username(username);
+                switch (operacion) {
+                        case ELIMINAR -> audit.action("ELIMINAR").oldValue("active").newValue("deleted");
+                        case COMENTAR -> audit.action("COMENTARIO").newValue(comentario);
+                        case ASIGNAR -> audit.action("ASIGNACION").field("tecnicoAsignado")
+                                        .oldValue(row.tecnicoId() != null ? row.tecnicoId().toString() : null)
+                                        .newValue(tecnico.getUsername());
+                        case CAMBIAR_ESTADO -> audit.action("CAMBIO_ESTADO").field("status")
+                                        .oldValue(row.status().name()).newValue(update.status().name());
+                }
+                if (operacion == BulkOperation.COMENTAR) {
+                        return audit.build();
+                }
+                boolean eliminado = operacion == BulkOperation.ELIMINAR;
+                eventPublisher.publishEvent(TicketChangedEvent.builder()
+                                .type(eliminado ? TicketChangedEvent.Type.DELETED : TicketChangedEvent.Type.STATUS_CHANGED)
+                                .ticketId(row.id())
+                                .previousStatus(row.status())
+                                .status(eliminado ? row.status() : update.status())
+                                .prioridad(row.prioridad())
+                                .juzgadoId(row.juzgadoId())
+                                .solicitanteId(row.solicitanteId())
+                                .previousTecnicoId(row.tecnicoId())
+                                .tecnicoId(eliminado ? row.tecnicoId() : update.tecnicoId())
+                                .username(username)
+                                .build());
+                return audit.build();
+        }
+
         @Transactional
         public void softDelete(Long id, String username) {
                 Ticket ticket = ticketRepository.findById(id)
@@ -238,7 +682,7 @@ public class TicketService {
                 ticket.setDeleted(true);
                 ticketRepository.save(ticket);
 
-                auditLogRepository.save(AuditLog.builder()
+                auditLogWriter.record(AuditLog.builder()
                                 .entityName("Ticket")
                                 .entityId(id)
                                 .action("ELIMINAR")
@@ -246,9 +690,82 @@ public class TicketService {
                                 .oldValue("active")
                                 .newValue("deleted")
                                 .build());
+
+                Long tecnicoId = ticket.getTecnicoAsignado() != null ? ticket.getTecnicoAsignado().getId() : null;
+                eventPublisher.publishEvent(changeEvent(TicketChangedEvent.Type.DELETED, ticket,
+                                ticket.getStatus(), tecnicoId, username));
+        }
+
+        private static boolean violates(DataIntegrityViolationException e, String constraint) {
+                String message = e.getMostSpecificCause().getMessage();
+                return message != null && message.toLowerCase().contains(constraint);
+        }
+
+        private static TicketChangedEvent changeEvent(TicketChangedEvent.Type type, Ticket ticket,
+                        TicketStatus previousStatus, Long previousTecnicoId, String username) {
+                return TicketChangedEvent.builder()
+                                .type(type)
+                                .ticketId(ticket.getId())
+                                .previousStatus(previousStatus)
+                                .status(ticket.getStatus())
+                                .prioridad(ticket.getPrioridad())
+                                .juzgadoId(ticket.getJuzgado() != null ? ticket.getJuzgado().getId() : null)
+                                .solicitanteId(ticket.getSolicitante() != null ? ticket.getSolicitante().getId() : null)
+                                .previousTecnicoId(previousTecnicoId)
+                                .tecnicoId(ticket.getTecnicoAsignado() != null ? ticket.getTecnicoAsignado().getId()
+                                                : null)
+                                .username(username)
+                                .build();
+        }
+
+        private TicketPageResponse fetchPage(Long tecnicoId, Long solicitanteId, String cursor, Integer size) {
+                int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+                LocalDateTime cursorCreatedAt = null;
+                Long cursorId = null;
+                if (cursor != null && !cursor.isBlank()) {
+                        try {
+                                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                                                .split("\\|");
+                                cursorCreatedAt = LocalDateTime.parse(parts[0]);
+                                cursorId = Long.valueOf(parts[1]);
+                        } catch (DateTimeParseException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                                throw new IllegalArgumentException("Cursor de paginación inválido");
+                        }
+                }
+
+                // Se pide un registro extra para saber si hay página siguiente sin un COUNT
+                Limit limit = Limit.of(pageSize + 1);
+                List<Ticket> rows;
+                if (tecnicoId != null) {
+                        rows = ticketRepository.findPageByTecnico(tecnicoId, cursorCreatedAt, cursorId, limit);
+                } else if (solicitanteId != null) {
+                        rows = ticketRepository.findPageBySolicitante(solicitanteId, cursorCreatedAt, cursorId, limit);
+                } else {
+                        rows = ticketRepository.findPage(cursorCreatedAt, cursorId, limit);
+                }
+
+                boolean hasMore = rows.size() > pageSize;
+                List<Ticket> page = hasMore ? rows.subList(0, pageSize) : rows;
+                String nextCursor = null;
+                if (hasMore) {
+                        Ticket last = page.get(page.size() - 1);
+                        nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+                }
+
+                return TicketPageResponse.builder()
+                                .items(page.stream().map(this::toResponse).toList())
+                                .nextCursor(nextCursor)
+                                .hasMore(hasMore)
+                                .size(page.size())
+                                .build();
+        }
+
+        private static String encodeCursor(LocalDateTime createdAt, Long id) {
+                String raw = createdAt + "|" + id;
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
         }
 
-        private TicketResponse toResponse(Ticket t) {
+        TicketResponse toResponse(Ticket t) {
                 return TicketResponse.builder()
                                 .id(t.getId())
                                 .asunto(t.getAsunto())
@@ -263,11 +780,13 @@ public class TicketService {
                                                 t.getHardwareAfectado() != null
                                                                 ? t.getHardwareAfectado().getInventarioPatrimonial()
                                                                 : null)
-                                .bitacora(t.getBitacora())
+                                .bitacoraCount(t.getBitacoraCount())
                                 .canal(t.getCanal())
                                 .createdAt(t.getCreatedAt() != null ? t.getCreatedAt().format(FMT) : null)
                                 .updatedAt(t.getUpdatedAt() != null ? t.getUpdatedAt().format(FMT) : null)
                                 .closedAt(t.getClosedAt() != null ? t.getClosedAt().format(FMT) : null)
+                                .version(t.getVersion())
+                                .slaVencimiento(t.getSlaVencimiento() != null ? t.getSlaVencimiento().format(FMT) : null)
                                 .build();
         }
 }
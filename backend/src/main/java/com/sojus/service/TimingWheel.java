@@ -0,0 +1,146 @@
+package com.sojus.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de tiempo jerárquica (Varghese y Lauck): agenda y cancela vencimientos en O(1) y, al
+ * avanzar, solo toca el casillero del tick actual, sin recorrer los pendientes.
+ * <p>
+ * El nivel {@code k} tiene {@code wheelSize} casilleros de {@code wheelSize^k} ticks cada uno. Un
+ * vencimiento se ubica en el nivel más bajo que lo abarca; cuando el reloj llega al inicio de su
+ * casillero en un nivel superior se redistribuye ("cascada") hacia los niveles inferiores, hasta
+ * vencer en el nivel 0. Lo que excede el último nivel se re-ubica en cada vuelta hasta entrar.
+ * La cancelación es perezosa: la entrada se descarta cuando se procesa su casillero.
+ * <p>
+ * No es thread-safe: quien la usa sincroniza el acceso.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long startMs;
+    private final long[] span;
+    private final List<List<Timeout<T>>> slots;
+    private long currentTick;
+    private int pending;
+
+    TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.startMs = startMs;
+        this.span = new long[levels];
+        this.slots = new ArrayList<>(levels * wheelSize);
+        long s = 1;
+        for (int k = 0; k < levels; k++) {
+            span[k] = s;
+            s *= wheelSize;
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new ArrayList<>());
+            }
+        }
+    }
+
+    /** Entrada agendada; {@link #cancel} la anula. */
+    static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T item() {
+            return item;
+        }
+    }
+
+    /**
+     * Agenda {@code item} para {@code deadlineMs}. Devuelve null si ya venció: quien llama lo
+     * dispara en el acto.
+     */
+    Timeout<T> schedule(T item, long deadlineMs) {
+        long deadlineTick = Math.floorDiv(deadlineMs - startMs + tickMs - 1, tickMs);
+        if (deadlineTick <= currentTick) {
+            return null;
+        }
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        place(timeout);
+        pending++;
+        return timeout;
+    }
+
+    void cancel(Timeout<T> timeout) {
+        if (timeout != null && !timeout.cancelled) {
+            timeout.cancelled = true;
+            pending--;
+        }
+    }
+
+    /** Avanza el reloj hasta {@code nowMs} y devuelve lo vencido, tick por tick. */
+    List<T> advance(long nowMs) {
+        long target = Math.floorDiv(nowMs - startMs, tickMs);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            for (int k = span.length - 1; k >= 1; k--) {
+                if (currentTick % span[k] == 0) {
+                    for (Timeout<T> timeout : drain(k, currentTick)) {
+                        if (!timeout.cancelled) {
+                            if (timeout.deadlineTick <= currentTick) {
+                                expire(timeout, expired);
+                            } else {
+                                place(timeout);
+                            }
+                        }
+                    }
+                }
+            }
+            for (Timeout<T> timeout : drain(0, currentTick)) {
+                if (!timeout.cancelled) {
+                    expire(timeout, expired);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /** Vencimientos agendados y no cancelados. */
+    int size() {
+        return pending;
+    }
+
+    private void expire(Timeout<T> timeout, List<T> expired) {
+        timeout.cancelled = true;
+        pending--;
+        expired.add(timeout.item);
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        int level = span.length - 1;
+        for (int k = 0; k < span.length - 1; k++) {
+            if (delta < span[k + 1]) {
+                level = k;
+                break;
+            }
+        }
+        slot(level, timeout.deadlineTick).add(timeout);
+    }
+
+    private List<Timeout<T>> drain(int level, long tick) {
+        List<Timeout<T>> slot = slot(level, tick);
+        if (slot.isEmpty()) {
+            return List.of();
+        }
+        List<Timeout<T>> drained = new ArrayList<>(slot);
+        slot.clear();
+        return drained;
+    }
+
+    private List<Timeout<T>> slot(int level, long tick) {
+        return slots.get(level * wheelSize + (int) ((tick / span[level]) % wheelSize));
+    }
+}
@@ -2,11 +2,13 @@ package com.sojus.service;
 
 import com.sojus.domain.entity.User;
 import com.sojus.domain.enums.RoleName;
+import com.sojus.domain.event.UserChangedEvent;
 import com.sojus.dto.UserResponse;
 import com.sojus.exception.BusinessRuleException;
 import com.sojus.exception.ResourceNotFoundException;
 import com.sojus.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -48,7 +51,9 @@ public class UserService {
             throw new BusinessRuleException("El nombre de usuario ya existe");
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername(), "CREAR"));
+        return saved;
     }
 
     @Transactional
@@ -61,7 +66,9 @@ public class UserService {
         if (updated.getPassword() != null && !updated.getPassword().isEmpty()) {
             existing.setPassword(passwordEncoder.encode(updated.getPassword()));
         }
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername(), "ACTUALIZAR"));
+        return saved;
     }
 
     @Transactional
@@ -70,6 +77,7 @@ public class UserService {
         user.setDeleted(true);
         user.setActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), "ELIMINAR"));
     }
 
     // ---- Métodos DTO (para controllers) ----
@@ -0,0 +1,95 @@
+-- Restricciones que Hibernate no genera. Se ejecuta después del DDL de Hibernate
+-- (spring.jpa.defer-datasource-initialization=true).
+
+-- Un solo ticket activo (no CERRADO, no eliminado) por equipo.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tickets_hardware_activo
+    ON tickets (hardware_id) WHERE status <> 'CERRADO' AND deleted = false;
+
+-- Candidatos a archivo (TicketArchiver)
+CREATE INDEX IF NOT EXISTS idx_tickets_archivables
+    ON tickets (closed_at, id) WHERE status = 'CERRADO';
+
+-- Outbox de auditoría (AuditLogWriter): las filas se escriben en la transacción de negocio y el
+-- escritor las mueve a audit_log. Sin entidad JPA: Hibernate no la crea.
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id          BIGINT          GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_name VARCHAR(50)     NOT NULL,
+    entity_id   BIGINT,
+    action      VARCHAR(30)     NOT NULL,
+    username    VARCHAR(50),
+    old_value   TEXT,
+    new_value   TEXT,
+    field       VARCHAR(100),
+    timestamp   TIMESTAMP       NOT NULL
+);
+
+-- Archivo de tickets cerrados (TicketArchiver). Sin entidad JPA: Hibernate no las crea.
+CREATE TABLE IF NOT EXISTS tickets_archive (
+    id                  BIGINT          PRIMARY KEY,
+    asunto              VARCHAR(200)    NOT NULL,
+    descripcion         TEXT,
+    status              VARCHAR(20)     NOT NULL,
+    prioridad           VARCHAR(10)     NOT NULL,
+    juzgado_id          BIGINT,
+    juzgado_nombre      VARCHAR(200),
+    solicitante_id      BIGINT,
+    solicitante_nombre  VARCHAR(100),
+    tecnico_asignado_id BIGINT,
+    tecnico_nombre      VARCHAR(100),
+    hardware_id         BIGINT,
+    hardware_inventario VARCHAR(30),
+    bitacora_count      INTEGER         NOT NULL DEFAULT 0,
+    canal               VARCHAR(50),
+    created_at          TIMESTAMP       NOT NULL,
+    updated_at          TIMESTAMP,
+    closed_at           TIMESTAMP,
+    sla_vencimiento     TIMESTAMP,
+    deleted             BOOLEAN         NOT NULL DEFAULT FALSE,
+    version             BIGINT          NOT NULL DEFAULT 0,
+    archived_at         TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS ticket_bitacora_archive (
+    id          BIGINT          PRIMARY KEY,
+    ticket_id   BIGINT          NOT NULL,
+    autor       VARCHAR(50),
+    texto       TEXT            NOT NULL,
+    created_at  TIMESTAMP       NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS audit_log_archive (
+    id          BIGINT          PRIMARY KEY,
+    entity_name VARCHAR(50)     NOT NULL,
+    entity_id   BIGINT,
+    action      VARCHAR(30)     NOT NULL,
+    username    VARCHAR(50),
+    old_value   TEXT,
+    new_value   TEXT,
+    field       VARCHAR(100),
+    timestamp   TIMESTAMP       NOT NULL,
+    chain_seq   BIGINT,
+    hash        VARCHAR(64)
+);
+
+CREATE INDEX IF NOT EXISTS idx_bitacora_archive_ticket ON ticket_bitacora_archive (ticket_id, id);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_timestamp ON audit_log_archive (timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_entity
+    ON audit_log_archive (entity_name, entity_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_username ON audit_log_archive (username, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_action ON audit_log_archive (action, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_chain_seq ON audit_log_archive (chain_seq);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_field ON audit_log_archive (field, timestamp DESC, id DESC) WHERE field IS NOT NULL;
+
+-- Bases creadas antes de encadenar la auditoría
+ALTER TABLE audit_log_archive ADD COLUMN IF NOT EXISTS hash VARCHAR(64);
+ALTER TABLE audit_log_archive ADD COLUMN IF NOT EXISTS chain_seq BIGINT;
+
+-- Cabeza de la cadena de auditoría (AuditLogWriter): una sola fila que cada lote bloquea con
+-- SELECT ... FOR UPDATE, así las instancias encadenan de a una aunque escriban en paralelo.
+CREATE TABLE IF NOT EXISTS audit_chain_head (
+    id          INTEGER         PRIMARY KEY CHECK (id = 1),
+    last_seq    BIGINT          NOT NULL,
+    last_hash   VARCHAR(64)     NOT NULL
+);
+INSERT INTO audit_chain_head (id, last_seq, last_hash)
+    SELECT 1, 0, REPEAT('0', 64) WHERE NOT EXISTS (SELECT 1 FROM audit_chain_head);
@@ -0,0 +1,76 @@
+package com.sojus.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("BitacoraMigration — Migración de la bitácora heredada")
+class BitacoraMigrationTest {
+
+    @Autowired
+    private BitacoraMigration migration;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Separa el texto por encabezado y une las líneas de continuación")
+    void parse() {
+        LocalDateTime fallback = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<BitacoraMigration.Entry> entries = BitacoraMigration.parse(
+                "nota suelta\n[2026-02-25 09:00] operador: Creado el ticket\nsegunda línea\r\n"
+                        + "[2026-02-25 09:15] admin: Asignado: Ana\n", fallback);
+
+        assertThat(entries).containsExactly(
+                new BitacoraMigration.Entry(null, "nota suelta", fallback),
+                new BitacoraMigration.Entry("operador", "Creado el ticket\nsegunda línea",
+                        LocalDateTime.of(2026, 2, 25, 9, 0)),
+                new BitacoraMigration.Entry("admin", "Asignado: Ana", LocalDateTime.of(2026, 2, 25, 9, 15)));
+    }
+
+    @Test
+    @DisplayName("Una nota con fecha y dos puntos en el texto libre no toma el texto como autor")
+    void parseNotaConDosPuntos() {
+        LocalDateTime fallback = LocalDateTime.of(2024, 5, 1, 8, 0);
+        String nota = "[2024-05-02 10:00] Nota sobre el equipo de la sala de audiencias 3: no enciende";
+        String larga = "[2024-05-02 10:30] " + "x".repeat(51) + ": sin espacios pero demasiado largo";
+
+        assertThat(BitacoraMigration.parse(nota, fallback)).containsExactly(
+                new BitacoraMigration.Entry(null, nota, fallback));
+        assertThat(BitacoraMigration.parse("[2024-05-02 09:00] j.perez@sojus: Revisado\n" + nota + "\n" + larga,
+                fallback)).containsExactly(
+                new BitacoraMigration.Entry("j.perez@sojus", "Revisado\n" + nota + "\n" + larga,
+                        LocalDateTime.of(2024, 5, 2, 9, 0)));
+    }
+
+    @Test
+    @DisplayName("Traslada la columna heredada a entradas, la vacía y actualiza el contador")
+    void migraTicketsHeredados() {
+        jdbcTemplate.update("""
+                INSERT INTO tickets (asunto, status, prioridad, bitacora, bitacora_count, canal, created_at, deleted,
+                                     version)
+                VALUES ('Ticket heredado', 'CERRADO', 'BAJA', ?, 0, 'WEB', CURRENT_TIMESTAMP, TRUE, 0)
+                """, "[2024-05-02 11:00] operador: Alta\n[2024-05-03 12:30] tecnico: Cerrado\n");
+        Long id = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM tickets WHERE asunto = 'Ticket heredado'", Long.class);
+
+        migration.migrate();
+        migration.migrate(); // Idempotente
+
+        Map<String, Object> ticket = jdbcTemplate.queryForMap(
+                "SELECT bitacora, bitacora_count FROM tickets WHERE id = ?", id);
+        assertThat(ticket.get("bitacora")).isNull();
+        assertThat(((Number) ticket.get("bitacora_count")).intValue()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT autor FROM ticket_bitacora WHERE ticket_id = ? ORDER BY id", String.class, id))
+                .containsExactly("operador", "tecnico");
+    }
+}
@@ -0,0 +1,156 @@
+package com.sojus.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.dto.LoginRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de la búsqueda de auditoría (filtros, keyset y mezcla con el archivo) y de la
+ * verificación de la cadena de hashes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Auditoría — Tests de Integración")
+class AuditControllerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 15, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private String operadorToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminToken = loginAndGetToken("admin", "admin123");
+        operadorToken = loginAndGetToken("operador", "oper123");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Las filas insertadas a mano no tienen posición en la cadena; se quitan para no mezclarse con otras pruebas
+        jdbcTemplate.update("DELETE FROM audit_log WHERE username = 'auditoria-it'");
+        jdbcTemplate.update("DELETE FROM audit_log_archive WHERE username = 'auditoria-it'");
+    }
+
+    private String loginAndGetToken(String username, String password) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setUsername(username);
+        login.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString())
+                .get("token").asText();
+    }
+
+    private void insertar(String tabla, Long id, String username, String action, LocalDateTime at) {
+        if (id == null) {
+            jdbcTemplate.update("INSERT INTO " + tabla + " (entity_name, entity_id, action, username, timestamp) "
+                    + "VALUES ('Ticket', 1, ?, ?, ?)", action, username, Timestamp.valueOf(at));
+        } else {
+            jdbcTemplate.update("INSERT INTO " + tabla + " (id, entity_name, entity_id, action, username, timestamp) "
+                    + "VALUES (?, 'Ticket', 1, ?, ?, ?)", id, action, username, Timestamp.valueOf(at));
+        }
+    }
+
+    @Test
+    @DisplayName("Filtra por usuario, acción y rango y pagina por cursor incluyendo el archivo")
+    void buscarPaginado() throws Exception {
+        insertar("audit_log", null, "auditoria-it", "EDITAR", BASE);
+        insertar("audit_log", null, "auditoria-it", "EDITAR", BASE.plusHours(2));
+        insertar("audit_log", null, "auditoria-it", "EDITAR", BASE.plusHours(2));
+        insertar("audit_log", null, "auditoria-it", "ELIMINAR", BASE.plusHours(3));
+        insertar("audit_log", null, "auditoria-it", "EDITAR", BASE.plusMonths(2));
+        insertar("audit_log_archive", 900_001L, "auditoria-it", "EDITAR", BASE.plusHours(1));
+
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mockMvc.perform(get("/api/audit/search")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .param("username", "auditoria-it")
+                            .param("action", "EDITAR")
+                            .param("desde", BASE.toString())
+                            .param("hasta", BASE.plusDays(1).toString())
+                            .param("size", "2")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+            page.get("items").forEach(item -> timestamps.add(LocalDateTime.parse(item.get("timestamp").asText())));
+            cursor = page.get("hasMore").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(2);
+        assertThat(timestamps).containsExactly(
+                BASE.plusHours(2), BASE.plusHours(2), BASE.plusHours(1), BASE);
+    }
+
+    @Test
+    @DisplayName("Filtros inválidos retornan 400 y solo el administrador puede buscar")
+    void validacionesYPermisos() throws Exception {
+        mockMvc.perform(get("/api/audit/search")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("entityId", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/audit/search")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("cursor", "xyz"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/audit/search")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("entityName", "Ticket")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(lessThanOrEqualTo(1))));
+        mockMvc.perform(get("/api/audit/search")
+                        .header("Authorization", "Bearer " + operadorToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("La cadena escrita por la aplicación verifica íntegra y solo el administrador la verifica")
+    void verificarCadena() throws Exception {
+        mockMvc.perform(post("/api/audit/verify")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.brokenId").doesNotExist());
+        mockMvc.perform(post("/api/audit/verify")
+                        .header("Authorization", "Bearer " + operadorToken))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,171 @@
+package com.sojus.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.dto.LoginRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de Inventario: importación masiva (HTTP → Service → JDBC batch → H2)
+ * y exportación en streaming.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Inventario — Tests de Integración")
+class InventoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private String operadorToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminToken = loginAndGetToken("admin", "admin123");
+        operadorToken = loginAndGetToken("operador", "oper123");
+    }
+
+    private String loginAndGetToken(String username, String password) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setUsername(username);
+        login.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString())
+                .get("token").asText();
+    }
+
+    @Test
+    @DisplayName("CSV: inserta en lote y un segundo envío reporta todo como duplicado")
+    void importarCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("inventarioPatrimonial,clase,marca\n");
+        for (int i = 0; i < 2_500; i++) {
+            csv.append(String.format("IMP-CSV-%05d,PC,Lenovo%n", i));
+        }
+
+        mockMvc.perform(post("/api/inventory/hardware/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2_500))
+                .andExpect(jsonPath("$.creados").value(2_500))
+                .andExpect(jsonPath("$.filas[0].resultado").value("CREADO"));
+
+        mockMvc.perform(post("/api/inventory/hardware/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creados").value(0))
+                .andExpect(jsonPath("$.rechazados").value(2_500))
+                .andExpect(jsonPath("$.filas[*].resultado", everyItem(is("DUPLICADO"))));
+    }
+
+    @Test
+    @DisplayName("JSON: las filas inválidas se reportan sin impedir el alta de las demás")
+    void importarJson() throws Exception {
+        String body = """
+                [{"inventarioPatrimonial":"IMP-JSON-1","clase":"PC","estado":"EN_DEPOSITO"},
+                 {"inventarioPatrimonial":"IMP-JSON-2"}]
+                """;
+
+        mockMvc.perform(post("/api/inventory/hardware/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creados").value(1))
+                .andExpect(jsonPath("$.filas[0].resultado").value("CREADO"))
+                .andExpect(jsonPath("$.filas[1].resultado").value("INVALIDO"))
+                .andExpect(jsonPath("$.filas[1].mensaje").value("La clase es obligatoria"));
+    }
+
+    @Test
+    @DisplayName("Un reintento con la misma Idempotency-Key repite el alta sin duplicarla")
+    void crearHardwareIdempotente() throws Exception {
+        String body = """
+                {"inventarioPatrimonial":"IDEM-HW-1","clase":"PC","marca":"Lenovo"}
+                """;
+
+        MvcResult first = mockMvc.perform(post("/api/inventory/hardware")
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Idempotency-Key", "alta-idem-hw-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        long id = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(post("/api/inventory/hardware")
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Idempotency-Key", "alta-idem-hw-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.inventarioPatrimonial").value("IDEM-HW-1"));
+
+        // Misma clave con otro contenido: error del cliente
+        mockMvc.perform(post("/api/inventory/hardware")
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Idempotency-Key", "alta-idem-hw-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.replace("IDEM-HW-1", "IDEM-HW-2")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Operador no puede importar hardware")
+    void importarSinPermiso() throws Exception {
+        mockMvc.perform(post("/api/inventory/hardware/import")
+                .header("Authorization", "Bearer " + operadorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Exporta hardware en CSV filtrando por estado")
+    void exportarHardwareCsv() throws Exception {
+        mockMvc.perform(post("/api/inventory/hardware/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"inventarioPatrimonial":"EXP-BAJA-1","clase":"PC","marca":"=HYPERLINK()","estado":"DE_BAJA"},
+                         {"inventarioPatrimonial":"EXP-ACTIVO-1","clase":"PC"}]
+                        """))
+                .andExpect(status().isOk());
+
+        MvcResult async = mockMvc.perform(get("/api/inventory/hardware/export?format=csv&estado=DE_BAJA")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("hardware-")))
+                .andExpect(content().string(containsString("EXP-BAJA-1,,PC,,'=HYPERLINK(),,DE_BAJA")))
+                .andExpect(content().string(not(containsString("EXP-ACTIVO-1"))));
+    }
+}
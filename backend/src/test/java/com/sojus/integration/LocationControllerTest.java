@@ -0,0 +1,105 @@
+package com.sojus.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.entity.Juzgado;
+import com.sojus.dto.LoginRequest;
+import com.sojus.repository.JuzgadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de la estructura territorial servida desde la instantánea con ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Estructura Territorial — Tests de Integración")
+class LocationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JuzgadoRepository juzgadoRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setUsername("operador");
+        login.setPassword("oper123");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    @DisplayName("Devuelve la jerarquía completa con ETag y responde 304 al revalidar")
+    void jerarquiaConEtag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/locations/circunscripciones")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].codigo").value("CIRC-001"))
+                .andExpect(jsonPath("$[0].distritos[0].edificios[0].juzgados", not(empty())))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/locations/circunscripciones")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Un cambio territorial reemplaza la instantánea y su ETag tras el commit")
+    void reconstruyeAlCambiar() throws Exception {
+        Juzgado existente = juzgadoRepository.findAll().get(0);
+        Long edificioId = existente.getEdificio().getId();
+        String etag = mockMvc.perform(get("/api/locations/edificios/{id}/juzgados", edificioId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Juzgado nuevo = juzgadoRepository.save(Juzgado.builder()
+                .nombre("Juzgado de Prueba Territorial").fuero("Civil").edificio(existente.getEdificio()).build());
+        try {
+            MvcResult result = mockMvc.perform(get("/api/locations/edificios/{id}/juzgados", edificioId)
+                            .header("Authorization", "Bearer " + token)
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].nombre", hasItem("Juzgado de Prueba Territorial")))
+                    .andReturn();
+            assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+            mockMvc.perform(get("/api/locations/juzgados")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id", hasItem(nuevo.getId().intValue())));
+        } finally {
+            juzgadoRepository.delete(nuevo);
+        }
+        mockMvc.perform(get("/api/locations/edificios/{id}/juzgados", edificioId)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
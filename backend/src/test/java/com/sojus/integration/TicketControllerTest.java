@@ -1,6 +1,9 @@
 package com.sojus.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.entity.Hardware;
+import com.sojus.dto.BitacoraRequest;
+import com.sojus.dto.BulkTicketRequest;
 import com.sojus.dto.LoginRequest;
 import com.sojus.dto.StatusChangeRequest;
 import com.sojus.dto.TicketRequest;
@@ -8,13 +11,32 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import com.sojus.repository.HardwareRepository;
+import com.sojus.service.TicketArchiver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +54,12 @@ class TicketControllerTest {
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private HardwareRepository hardwareRepository;
+    @Autowired
+    private TicketArchiver ticketArchiver;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     private String adminToken;
     private String operadorToken;
@@ -59,6 +87,20 @@ class TicketControllerTest {
                 .get("token").asText();
     }
 
+    private long crearTicket(String asunto) throws Exception {
+        TicketRequest request = new TicketRequest();
+        request.setAsunto(asunto);
+        request.setDescripcion("Ticket creado desde test de integración");
+        request.setJuzgadoId(1L);
+        MvcResult result = mockMvc.perform(post("/api/tickets")
+                .header("Authorization", "Bearer " + operadorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
     @Nested
     @DisplayName("GET /api/tickets")
     class ListarTickets {
@@ -90,6 +132,91 @@ class TicketControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/tickets/export")
+    class ExportarTickets {
+
+        private String export(String token, String query) throws Exception {
+            MvcResult async = mockMvc.perform(get("/api/tickets/export" + query)
+                    .header("Authorization", "Bearer " + token))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(async))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(java.nio.charset.StandardCharsets.UTF_8);
+        }
+
+        @Test
+        @DisplayName("Admin exporta CSV con encabezado y una línea por ticket")
+        void exportarCsv() throws Exception {
+            String csv = export(adminToken, "?format=csv");
+            String[] lines = csv.split("\r\n");
+
+            assertThat(lines[0]).startsWith("\uFEFFid,asunto,descripcion,status");
+            assertThat(lines.length).isGreaterThan(1);
+        }
+
+        @Test
+        @DisplayName("Técnico exporta NDJSON solo con sus tickets y respetando el filtro de estado")
+        void exportarNdjsonTecnico() throws Exception {
+            String ndjson = export(tecnicoToken, "?format=ndjson&estado=asignado");
+
+            String[] lines = ndjson.strip().split("\n");
+            assertThat(lines).isNotEmpty().allSatisfy(line -> {
+                var node = objectMapper.readTree(line);
+                assertThat(node.get("tecnicoNombre").asText()).isNotBlank();
+                assertThat(node.get("status").asText()).isEqualTo("ASIGNADO");
+                assertThat(node.has("bitacora")).isFalse();
+            });
+        }
+
+        @Test
+        @DisplayName("Filtros inválidos responden 400 antes de empezar el streaming")
+        void exportarFiltroInvalido() throws Exception {
+            mockMvc.perform(get("/api/tickets/export?estado=PERDIDO")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/tickets/export?desde=2025-02-01&hasta=2025-01-01")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tickets/page")
+    class ListarTicketsPaginados {
+
+        @Test
+        @DisplayName("Admin recorre las páginas siguiendo nextCursor sin repetir tickets")
+        void paginarComoAdmin() throws Exception {
+            MvcResult first = mockMvc.perform(get("/api/tickets/page").param("size", "2")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.hasMore").value(true))
+                    .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                    .andReturn();
+
+            var firstBody = objectMapper.readTree(first.getResponse().getContentAsString());
+            String cursor = firstBody.get("nextCursor").asText();
+            long lastIdFirstPage = firstBody.get("items").get(1).get("id").asLong();
+
+            mockMvc.perform(get("/api/tickets/page").param("size", "2").param("cursor", cursor)
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(greaterThanOrEqualTo(1))))
+                    .andExpect(jsonPath("$.items[0].id", lessThan((int) lastIdFirstPage)));
+        }
+
+        @Test
+        @DisplayName("Cursor inválido retorna 400")
+        void cursorInvalido() throws Exception {
+            mockMvc.perform(get("/api/tickets/page").param("cursor", "no-es-un-cursor")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/tickets/{id}")
     class ObtenerTicket {
@@ -112,6 +239,82 @@ class TicketControllerTest {
                     .header("Authorization", "Bearer " + adminToken))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("El detalle trae solo la cantidad de entradas; la bitácora se pagina aparte")
+        void bitacoraPaginada() throws Exception {
+            mockMvc.perform(get("/api/tickets/1")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bitacora").doesNotExist())
+                    .andExpect(jsonPath("$.bitacoraCount").value(greaterThanOrEqualTo(2)));
+
+            MvcResult first = mockMvc.perform(get("/api/tickets/1/bitacora?size=1")
+                    .header("Authorization", "Bearer " + tecnicoToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.items[0].autor").value("operador"))
+                    .andExpect(jsonPath("$.items[0].texto").value("Creado el ticket"))
+                    .andExpect(jsonPath("$.items[0].createdAt").value("2026-02-25 09:00"))
+                    .andExpect(jsonPath("$.hasMore").value(true))
+                    .andReturn();
+            String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+            mockMvc.perform(get("/api/tickets/1/bitacora?size=1&cursor=" + cursor)
+                    .header("Authorization", "Bearer " + tecnicoToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].texto").value("Asignado a Ana Martínez"));
+
+            mockMvc.perform(get("/api/tickets/9999/bitacora")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Archivo de tickets cerrados")
+    class ArchivoDeCerrados {
+
+        @Test
+        @DisplayName("Un ticket archivado sale de la tabla viva y se sigue leyendo con bitácora y auditoría")
+        void lecturaTransparente() throws Exception {
+            long id = crearTicket("Ticket viejo para archivar");
+            BitacoraRequest req = new BitacoraRequest();
+            req.setTexto("Resuelto hace años");
+            mockMvc.perform(post("/api/tickets/" + id + "/bitacora")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isCreated());
+            await().atMost(Duration.ofSeconds(5)).until(() -> jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM audit_log WHERE entity_name = 'Ticket' AND entity_id = ?",
+                    Long.class, id) >= 1);
+            jdbcTemplate.update("UPDATE tickets SET status = 'CERRADO', closed_at = ? WHERE id = ?",
+                    LocalDateTime.now().minusYears(10), id);
+
+            assertThat(ticketArchiver.archiveClosedBefore(LocalDateTime.now().minusYears(5))).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets WHERE id = ?", Long.class, id))
+                    .isZero();
+            assertThat(ticketArchiver.archiveClosedBefore(LocalDateTime.now().minusYears(5))).isZero();
+
+            mockMvc.perform(get("/api/tickets/" + id)
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CERRADO"))
+                    .andExpect(jsonPath("$.asunto").value("Ticket viejo para archivar"))
+                    .andExpect(jsonPath("$.juzgadoNombre").isNotEmpty())
+                    .andExpect(jsonPath("$.bitacoraCount").value(1));
+            mockMvc.perform(get("/api/tickets/" + id + "/bitacora")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.items[0].texto").value("Resuelto hace años"));
+            mockMvc.perform(get("/api/audit/entity/Ticket/" + id)
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].action").value("CREAR"))
+                    .andExpect(jsonPath("$[*].entityId", everyItem(is((int) id))));
+        }
     }
 
     @Nested
@@ -137,6 +340,158 @@ class TicketControllerTest {
                     .andExpect(jsonPath("$.status").value("SOLICITADO"));
         }
 
+        @Test
+        @DisplayName("Dos altas simultáneas sobre el mismo equipo: una se crea y la otra recibe 409")
+        void crearConcurrenteMismoHardware() throws Exception {
+            Hardware hw = hardwareRepository.save(Hardware.builder()
+                    .inventarioPatrimonial("INV-CONC-0001").clase("PC").build());
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Equipo sin red");
+            request.setDescripcion("No conecta a la red");
+            request.setJuzgadoId(1L);
+            request.setHardwareId(hw.getId());
+            String body = objectMapper.writeValueAsString(request);
+
+            int threads = 4;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Callable<Integer> create = () -> {
+                        start.await();
+                        return mockMvc.perform(post("/api/tickets")
+                                .header("Authorization", "Bearer " + operadorToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                                .andReturn().getResponse().getStatus();
+                    };
+                    results.add(pool.submit(create));
+                }
+                start.countDown();
+                List<Integer> statuses = new ArrayList<>();
+                for (Future<Integer> r : results) {
+                    statuses.add(r.get());
+                }
+                assertThat(statuses).containsOnlyOnce(201).containsOnly(201, 409);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + operadorToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value(containsString("INV-CONC-0001 ya tiene un ticket activo")));
+        }
+
+        @Test
+        @DisplayName("Una regla de prioridad creada por el admin aplica al siguiente ticket sin reiniciar")
+        void reglaDePrioridadEnCaliente() throws Exception {
+            mockMvc.perform(post("/api/priority-rules")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"keyword\":\"servidor caído\",\"prioridad\":\"ALTA\"}"))
+                    .andExpect(status().isCreated());
+
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Sin sistema de expedientes");
+            request.setDescripcion("El SERVIDOR CAIDO desde las 8");
+            request.setJuzgadoId(1L);
+            request.setPrioridad("BAJA");
+            mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + operadorToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.prioridad").value("ALTA"));
+
+            mockMvc.perform(get("/api/priority-rules/hits")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['servidor caído']").value(1));
+            mockMvc.perform(get("/api/priority-rules")
+                    .header("Authorization", "Bearer " + operadorToken))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Con autoAsignar el ticket nace ASIGNADO al técnico de menor carga")
+        void crearConAsignacionAutomatica() throws Exception {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Teclado sin respuesta");
+            request.setDescripcion("No responde ninguna tecla");
+            request.setJuzgadoId(1L);
+            request.setAutoAsignar(true);
+
+            mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + operadorToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.status").value("ASIGNADO"))
+                    .andExpect(jsonPath("$.tecnicoNombre").isNotEmpty());
+        }
+
+        @Test
+        @DisplayName("Un ticket parecido a otro abierto del mismo juzgado se marca como posible duplicado")
+        void crearPosibleDuplicado() throws Exception {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Escáner de mesa de entradas");
+            request.setDescripcion("El escáner no digitaliza los documentos");
+            request.setJuzgadoId(1L);
+            MvcResult original = mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + operadorToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            int originalId = objectMapper.readTree(original.getResponse().getContentAsString()).get("id").asInt();
+
+            request.setAsunto("No digitaliza el escáner");
+            request.setDescripcion("Mesa de entradas: el escáner no digitaliza documentos");
+            mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + operadorToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.posiblesDuplicados", hasItem(originalId)));
+        }
+
+        @Test
+        @DisplayName("Reintentos concurrentes con la misma Idempotency-Key crean un solo ticket")
+        void crearIdempotenteConcurrente() throws Exception {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Sin red en la mesa de entradas");
+            request.setDescripcion("Reintento desde la app móvil");
+            request.setJuzgadoId(1L);
+            String body = objectMapper.writeValueAsString(request);
+
+            Callable<MvcResult> envio = () -> mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + operadorToken)
+                    .header("Idempotency-Key", "app-movil-reintento-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andReturn();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<MvcResult>> envios = new ArrayList<>();
+            try {
+                for (int i = 0; i < 4; i++) {
+                    envios.add(executor.submit(envio));
+                }
+                List<Long> ids = new ArrayList<>();
+                for (Future<MvcResult> f : envios) {
+                    MvcResult result = f.get();
+                    assertThat(result.getResponse().getStatus()).isEqualTo(201);
+                    ids.add(objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong());
+                }
+                assertThat(ids).containsOnly(ids.get(0));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
         @Test
         @DisplayName("Técnico NO puede crear tickets (403)")
         void crearComoTecnico() throws Exception {
@@ -189,6 +544,46 @@ class TicketControllerTest {
                     .andExpect(jsonPath("$.status").value("ASIGNADO"));
         }
 
+        @Test
+        @DisplayName("Con una versión desactualizada responde 409 con el estado vigente")
+        void cambiarEstadoVersionDesactualizada() throws Exception {
+            StatusChangeRequest req = new StatusChangeRequest();
+            req.setStatus("EN_CURSO");
+            req.setVersion(-1L);
+
+            mockMvc.perform(patch("/api/tickets/3/status")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.current.id").value(3))
+                    .andExpect(jsonPath("$.current.version").isNumber());
+        }
+
+        @Test
+        @DisplayName("Técnico agrega un comentario y sube el contador y la versión del ticket")
+        void agregarComentario() throws Exception {
+            MvcResult before = mockMvc.perform(get("/api/tickets/3")
+                    .header("Authorization", "Bearer " + tecnicoToken))
+                    .andReturn();
+            var ticket = objectMapper.readTree(before.getResponse().getContentAsString());
+
+            BitacoraRequest req = new BitacoraRequest();
+            req.setTexto("Se pidió el tóner a depósito");
+            mockMvc.perform(post("/api/tickets/3/bitacora")
+                    .header("Authorization", "Bearer " + tecnicoToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.autor").value("tecnico"))
+                    .andExpect(jsonPath("$.texto").value("Se pidió el tóner a depósito"));
+
+            mockMvc.perform(get("/api/tickets/3")
+                    .header("Authorization", "Bearer " + tecnicoToken))
+                    .andExpect(jsonPath("$.bitacoraCount").value(ticket.get("bitacoraCount").asInt() + 1))
+                    .andExpect(jsonPath("$.version").value(ticket.get("version").asLong() + 1));
+        }
+
         @Test
         @DisplayName("Operador NO puede cambiar estado (403)")
         void cambiarEstadoOperador() throws Exception {
@@ -202,4 +597,165 @@ class TicketControllerTest {
                     .andExpect(status().isForbidden());
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/tickets/bulk")
+    class OperacionesMasivas {
+
+        @Test
+        @DisplayName("Admin asigna, avanza y elimina un lote con resultado por ticket")
+        void flujoPorLote() throws Exception {
+            long primero = crearTicket("Lote — monitor");
+            long segundo = crearTicket("Lote — teclado");
+
+            BulkTicketRequest asignar = new BulkTicketRequest();
+            asignar.setOperacion("ASIGNAR");
+            asignar.setIds(List.of(primero, segundo));
+            asignar.setTecnicoId(3L);
+            bulk(asignar, adminToken)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.aplicados").value(2))
+                    .andExpect(jsonPath("$.items[*].resultado", everyItem(is("APLICADO"))));
+
+            BulkTicketRequest avanzar = new BulkTicketRequest();
+            avanzar.setOperacion("CAMBIAR_ESTADO");
+            avanzar.setStatus("EN_CURSO");
+            avanzar.setComentario("Se revisa en el lote de la tarde");
+            avanzar.setIds(List.of(primero, 999999L));
+            bulk(avanzar, adminToken)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(2))
+                    .andExpect(jsonPath("$.items[0].resultado").value("APLICADO"))
+                    .andExpect(jsonPath("$.items[1].resultado").value("NO_ENCONTRADO"));
+
+            // EN_CURSO → SOLICITADO no es una transición válida; ASIGNADO → SOLICITADO sí
+            avanzar.setStatus("SOLICITADO");
+            avanzar.setComentario(null);
+            avanzar.setIds(List.of(primero, segundo));
+            bulk(avanzar, adminToken)
+                    .andExpect(jsonPath("$.items[0].resultado").value("TRANSICION_INVALIDA"))
+                    .andExpect(jsonPath("$.items[1].resultado").value("APLICADO"));
+
+            mockMvc.perform(get("/api/tickets/" + primero)
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(jsonPath("$.status").value("EN_CURSO"))
+                    .andExpect(jsonPath("$.tecnicoNombre").value(notNullValue()))
+                    .andExpect(jsonPath("$.bitacoraCount").value(1))
+                    .andExpect(jsonPath("$.version").value(2));
+
+            BulkTicketRequest eliminar = new BulkTicketRequest();
+            eliminar.setOperacion("ELIMINAR");
+            eliminar.setIds(List.of(primero, segundo));
+            bulk(eliminar, adminToken)
+                    .andExpect(jsonPath("$.aplicados").value(2));
+            mockMvc.perform(get("/api/tickets/" + segundo)
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Solo el administrador opera por lote; una operación desconocida o un id nulo es 400")
+        void permisosYValidacion() throws Exception {
+            BulkTicketRequest request = new BulkTicketRequest();
+            request.setOperacion("COMENTAR");
+            request.setComentario("Sin permiso");
+            request.setIds(List.of(1L));
+            bulk(request, operadorToken).andExpect(status().isForbidden());
+            bulk(request, tecnicoToken).andExpect(status().isForbidden());
+
+            request.setOperacion("ARCHIVAR");
+            bulk(request, adminToken).andExpect(status().isBadRequest());
+
+            request.setOperacion("COMENTAR");
+            request.setIds(Arrays.asList(1L, null));
+            bulk(request, adminToken).andExpect(status().isBadRequest());
+        }
+
+        private ResultActions bulk(BulkTicketRequest request, String token) throws Exception {
+            return mockMvc.perform(post("/api/tickets/bulk")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tickets/stream")
+    class FlujoDeCambios {
+
+        private final Pattern eventId = Pattern.compile("id:(\\S+)\nevent:ticket\ndata:\\{[^\n]*\"ticketId\":(\\d+)");
+
+        @Test
+        @DisplayName("Entrega los cambios confirmados filtrados por rol, como /my")
+        void entregaPorRol() throws Exception {
+            MvcResult operador = abrirFlujo(operadorToken, null, null);
+            MvcResult admin = abrirFlujo(adminToken, null, null);
+            MvcResult tecnico = abrirFlujo(tecnicoToken, null, null);
+
+            long ticketId = crearTicket("Evento en vivo");
+            String marca = "\"ticketId\":" + ticketId + ",";
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                assertThat(operador.getResponse().getContentAsString()).contains("event:ticket").contains(marca);
+                assertThat(admin.getResponse().getContentAsString()).contains(marca);
+            });
+            // Las altas se procesan en orden tras el envío anterior: cuando ésta conecta, el evento ya se repartió
+            MvcResult posterior = abrirFlujo(adminToken, null, null);
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(posterior.getResponse().getContentAsString()).contains(":conectado"));
+            assertThat(tecnico.getResponse().getContentAsString()).doesNotContain(marca);
+            assertThat(operador.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+
+        @Test
+        @DisplayName("Con Last-Event-ID reenvía solo lo posterior; un id desconocido pide recargar")
+        void reanudaDesdeLastEventId() throws Exception {
+            MvcResult operador = abrirFlujo(operadorToken, null, null);
+            long primero = crearTicket("Antes de la desconexión");
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(idDe(operador, primero)).isNotNull());
+            String lastEventId = idDe(operador, primero);
+
+            long segundo = crearTicket("Durante la desconexión");
+
+            MvcResult reconexion = abrirFlujo(operadorToken, null, lastEventId);
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(idDe(reconexion, segundo)).isNotNull());
+            assertThat(idDe(reconexion, primero)).isNull();
+
+            MvcResult desconocido = abrirFlujo(operadorToken, null, "otro-arranque-7");
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(desconocido.getResponse().getContentAsString()).contains("event:reset"));
+        }
+
+        @Test
+        @DisplayName("scope inválido retorna 400")
+        void scopeInvalido() throws Exception {
+            mockMvc.perform(get("/api/tickets/stream").param("scope", "todos")
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+        }
+
+        private MvcResult abrirFlujo(String token, String scope, String lastEventId) throws Exception {
+            var builder = get("/api/tickets/stream").header("Authorization", "Bearer " + token)
+                    .accept(MediaType.TEXT_EVENT_STREAM);
+            if (scope != null) {
+                builder.param("scope", scope);
+            }
+            if (lastEventId != null) {
+                builder.header("Last-Event-ID", lastEventId);
+            }
+            return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        }
+
+        private String idDe(MvcResult stream, long ticketId) throws Exception {
+            Matcher matcher = eventId.matcher(stream.getResponse().getContentAsString());
+            while (matcher.find()) {
+                if (Long.parseLong(matcher.group(2)) == ticketId) {
+                    return matcher.group(1);
+                }
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.sojus.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JwtTokenProvider — Tests Unitarios")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "ClaveDeTestSuficientementeLargaParaHmacSha256!!";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 100);
+
+    @Test
+    @DisplayName("Un token válido devuelve username, rol y expiración en una sola llamada")
+    void parseToken_valido() {
+        String token = provider.generateToken("tecnico", "TECNICO");
+
+        JwtClaims claims = provider.parseToken(token).orElseThrow();
+
+        assertThat(claims.username()).isEqualTo("tecnico");
+        assertThat(claims.role()).isEqualTo("TECNICO");
+        assertThat(claims.expiresAt()).isNotNull();
+        assertThat(provider.parseToken(token)).contains(claims);
+    }
+
+    @Test
+    @DisplayName("Tokens con firma ajena, alterados o expirados se rechazan")
+    void parseToken_invalido() {
+        String ajeno = new JwtTokenProvider(SECRET + "otra", 60_000L, 100).generateToken("admin", "ADMINISTRADOR");
+        String token = provider.generateToken("tecnico", "TECNICO");
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expirado = new JwtTokenProvider(SECRET, -1_000L, 100).generateToken("tecnico", "TECNICO");
+
+        assertThat(provider.parseToken(ajeno)).isEmpty();
+        assertThat(provider.parseToken(alterado)).isEmpty();
+        assertThat(provider.parseToken(expirado)).isEmpty();
+        assertThat(provider.parseToken("no-es-un-jwt")).isEmpty();
+        assertThat(provider.validateToken(null)).isFalse();
+    }
+}
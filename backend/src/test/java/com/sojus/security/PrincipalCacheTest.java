@@ -0,0 +1,77 @@
+package com.sojus.security;
+
+import com.sojus.domain.entity.User;
+import com.sojus.domain.enums.RoleName;
+import com.sojus.domain.event.UserChangedEvent;
+import com.sojus.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PrincipalCache — Tests Unitarios")
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache cache;
+    private User tecnico;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PrincipalCache(userRepository, meterRegistry, 60_000L, 2);
+        tecnico = User.builder().id(3L).username("tecnico").role(RoleName.TECNICO).build();
+    }
+
+    @Test
+    @DisplayName("Lecturas repetidas dentro del TTL no consultan la BD")
+    void cacheaDentroDelTtl() {
+        when(userRepository.findByUsernameAndDeletedFalse("tecnico")).thenReturn(Optional.of(tecnico));
+
+        cache.get("tecnico");
+        cache.get("tecnico");
+        cache.get("tecnico");
+
+        verify(userRepository, times(1)).findByUsernameAndDeletedFalse("tecnico");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Un cambio de usuario invalida la entrada y la siguiente lectura va a BD")
+    void invalidaPorEvento() {
+        when(userRepository.findByUsernameAndDeletedFalse("tecnico"))
+                .thenReturn(Optional.of(tecnico), Optional.empty());
+
+        assertThat(cache.get("tecnico")).isPresent();
+        cache.onUserChanged(new UserChangedEvent(3L, "tecnico", "ELIMINAR"));
+
+        assertThat(cache.get("tecnico")).isEmpty();
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Respeta el tamaño máximo expulsando la entrada más antigua")
+    void acotadaPorTamano() {
+        for (String username : new String[]{"a", "b", "c"}) {
+            when(userRepository.findByUsernameAndDeletedFalse(username))
+                    .thenReturn(Optional.of(User.builder().username(username).build()));
+            cache.get(username);
+        }
+
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.AuditCheckpoint;
+import com.sojus.dto.AuditChainReport;
+import com.sojus.repository.AuditCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuditChainVerifier — Tests Unitarios")
+class AuditChainVerifierTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 15, 10, 0);
+
+    private final AuditCheckpointRepository checkpointRepository = mock(AuditCheckpointRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+    private AuditChainVerifier verifier;
+    private String head = AuditChain.GENESIS;
+    private long seq;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-chain-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_log (
+                    id BIGINT PRIMARY KEY, entity_name VARCHAR(50) NOT NULL, entity_id BIGINT,
+                    action VARCHAR(30) NOT NULL, username VARCHAR(50), old_value TEXT, new_value TEXT,
+                    field VARCHAR(100), timestamp TIMESTAMP NOT NULL, chain_seq BIGINT, hash VARCHAR(64))
+                """);
+        jdbcTemplate.execute("CREATE TABLE audit_log_archive AS SELECT * FROM audit_log WITH NO DATA");
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_chain_head (id INTEGER PRIMARY KEY, last_seq BIGINT NOT NULL,
+                    last_hash VARCHAR(64) NOT NULL)
+                """);
+        jdbcTemplate.update("INSERT INTO audit_chain_head VALUES (1, 0, ?)", AuditChain.GENESIS);
+        verifier = new AuditChainVerifier(checkpointRepository, dataSource,
+                new DataSourceTransactionManager(dataSource), meterRegistry, 2);
+        when(checkpointRepository.findFirstByValidTrueOrderByIdDesc()).thenReturn(Optional.empty());
+    }
+
+    /** Inserta un registro encadenado en la siguiente posición, como lo haría AuditLogWriter. */
+    private void encadenar(String tabla, long id, String action) {
+        LocalDateTime at = BASE.plusMinutes(id);
+        head = AuditChain.hash(head, ++seq, "Ticket", 1L, action, "admin", null, "valor " + id, null, at);
+        jdbcTemplate.update("INSERT INTO " + tabla + " (id, entity_name, entity_id, action, username, new_value, "
+                + "timestamp, chain_seq, hash) VALUES (?, 'Ticket', 1, ?, 'admin', ?, ?, ?, ?)",
+                id, action, "valor " + id, Timestamp.valueOf(at), seq, head);
+        jdbcTemplate.update("UPDATE audit_chain_head SET last_seq = ?, last_hash = ? WHERE id = 1", seq, head);
+    }
+
+    private AuditCheckpoint ultimoCheckpoint() {
+        ArgumentCaptor<AuditCheckpoint> captor = ArgumentCaptor.forClass(AuditCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Recorre la tabla viva y el archivo en orden de chain_seq, no de id, y saltea los registros previos a la cadena")
+    void cadenaIntegra() {
+        jdbcTemplate.update("INSERT INTO audit_log (id, entity_name, action, timestamp) VALUES (1, 'Ticket', 'CREAR', ?)",
+                Timestamp.valueOf(BASE));
+        encadenar("audit_log", 5, "CREAR");
+        encadenar("audit_log_archive", 3, "CAMBIO_ESTADO");
+        encadenar("audit_log", 4, "EDITAR");
+
+        AuditChainReport report = verifier.verify();
+
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getVerificados()).isEqualTo(3);
+        assertThat(report.getHastaSeq()).isEqualTo(3);
+        AuditCheckpoint checkpoint = ultimoCheckpoint();
+        assertThat(checkpoint.isValid()).isTrue();
+        assertThat(checkpoint.getLastSeq()).isEqualTo(3);
+        assertThat(checkpoint.getLastHash()).isEqualTo(head);
+    }
+
+    @Test
+    @DisplayName("Detecta un registro alterado, uno borrado y uno reordenado después de iniciada la cadena")
+    void detectaRupturas() {
+        for (long id = 1; id <= 5; id++) {
+            encadenar("audit_log", id, "EDITAR");
+        }
+        jdbcTemplate.update("UPDATE audit_log SET new_value = 'otro' WHERE id = 3");
+        assertThat(verifier.verify().getBrokenId()).isEqualTo(3L);
+        AuditCheckpoint roto = ultimoCheckpoint();
+        assertThat(roto.isValid()).isFalse();
+        assertThat(roto.getLastSeq()).isEqualTo(2);
+
+        jdbcTemplate.update("DELETE FROM audit_log WHERE id = 3");
+        assertThat(verifier.verify().getBrokenId()).isEqualTo(4L);
+
+        // Renumerar la posición para tapar el hueco tampoco alcanza: la posición entra en el hash
+        jdbcTemplate.update("UPDATE audit_log SET chain_seq = chain_seq - 1 WHERE id > 3");
+        assertThat(verifier.verify().getBrokenId()).isEqualTo(4L);
+        assertThat(meterRegistry.counter("audit.chain.breaks").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Borrar los últimos registros rompe la cadena aunque lo que queda encadene")
+    void detectaTruncamiento() {
+        for (long id = 1; id <= 3; id++) {
+            encadenar("audit_log", id, "EDITAR");
+        }
+        assertThat(verifier.verify().isValid()).isTrue();
+        AuditCheckpoint valido = ultimoCheckpoint();
+        when(checkpointRepository.findFirstByValidTrueOrderByIdDesc()).thenReturn(Optional.of(valido));
+        encadenar("audit_log", 4, "EDITAR");
+        encadenar("audit_log", 5, "ELIMINAR");
+
+        jdbcTemplate.update("DELETE FROM audit_log WHERE id >= 4");
+        AuditChainReport report = verifier.verify();
+
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getBrokenId()).isNull();
+        assertThat(report.getTruncadaEn()).isEqualTo(5);
+        assertThat(report.getHastaSeq()).isEqualTo(3);
+        assertThat(ultimoCheckpoint().isValid()).isFalse();
+
+        // Sin checkpoint previo también: la tabla queda más corta que la cabeza
+        when(checkpointRepository.findFirstByValidTrueOrderByIdDesc()).thenReturn(Optional.empty());
+        assertThat(verifier.verify().getTruncadaEn()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Desde un checkpoint válido solo verifica los registros nuevos")
+    void incremental() {
+        encadenar("audit_log", 1, "CREAR");
+        encadenar("audit_log", 2, "EDITAR");
+        when(checkpointRepository.findFirstByValidTrueOrderByIdDesc()).thenReturn(Optional.of(
+                AuditCheckpoint.builder().lastSeq(2L).lastHash(head).valid(true).build()));
+        // Un registro ya verificado no se vuelve a leer
+        jdbcTemplate.update("UPDATE audit_log SET new_value = 'otro' WHERE id = 1");
+        encadenar("audit_log", 3, "CAMBIO_ESTADO");
+
+        AuditChainReport report = verifier.verify();
+
+        assertThat(report.isValid()).isTrue();
+        assertThat(report.getDesdeSeq()).isEqualTo(2);
+        assertThat(report.getVerificados()).isEqualTo(1);
+        assertThat(ultimoCheckpoint().getLastSeq()).isEqualTo(3);
+    }
+}
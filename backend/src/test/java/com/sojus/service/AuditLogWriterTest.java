@@ -0,0 +1,199 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AuditLogWriter — Tests Unitarios")
+class AuditLogWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private TransactionTemplate tx;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:audit-writer-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_log (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, entity_name VARCHAR(50) NOT NULL, entity_id BIGINT,
+                    action VARCHAR(30) NOT NULL, username VARCHAR(50), old_value TEXT, new_value TEXT,
+                    field VARCHAR(100), timestamp TIMESTAMP NOT NULL, chain_seq BIGINT, hash VARCHAR(64))
+                """);
+        jdbcTemplate.execute("CREATE TABLE audit_log_archive AS SELECT * FROM audit_log WITH NO DATA");
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_chain_head (id INTEGER PRIMARY KEY, last_seq BIGINT NOT NULL,
+                    last_hash VARCHAR(64) NOT NULL)
+                """);
+        jdbcTemplate.update("INSERT INTO audit_chain_head VALUES (1, 0, ?)", AuditChain.GENESIS);
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_outbox (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY, entity_name VARCHAR(50) NOT NULL, entity_id BIGINT,
+                    action VARCHAR(30) NOT NULL, username VARCHAR(50), old_value TEXT, new_value TEXT,
+                    field VARCHAR(100), timestamp TIMESTAMP NOT NULL)
+                """);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    private AuditLogWriter newWriter() {
+        return new AuditLogWriter(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 50, 20);
+    }
+
+    private static AuditLog log(String action) {
+        return AuditLog.builder().entityName("Ticket").entityId(1L).action(action).username("admin").build();
+    }
+
+    private long awaitRows(long expected) throws InterruptedException {
+        long count = 0;
+        for (int i = 0; i < 100 && count < expected; i++) {
+            Thread.sleep(50);
+            count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log", Long.class);
+        }
+        return count;
+    }
+
+    @Test
+    @DisplayName("Solo se escriben los registros de transacciones confirmadas")
+    void soloTransaccionesConfirmadas() throws InterruptedException {
+        writer = newWriter();
+        writer.start();
+
+        tx.executeWithoutResult(status -> {
+            writer.record(log("CREAR"));
+            writer.record(log("CAMBIO_ESTADO"));
+        });
+        tx.executeWithoutResult(status -> {
+            writer.record(log("ELIMINAR"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(awaitRows(2)).isEqualTo(2);
+        writer.stop();
+        assertThat(jdbcTemplate.queryForList("SELECT action FROM audit_log ORDER BY id", String.class))
+                .containsExactly("CREAR", "CAMBIO_ESTADO");
+    }
+
+    @Test
+    @DisplayName("Cada registro se encadena con el hash del anterior, también entre lotes")
+    void encadenaRegistros() throws InterruptedException {
+        writer = newWriter();
+        writer.start();
+
+        tx.executeWithoutResult(status -> writer.record(log("CREAR")));
+        assertThat(awaitRows(1)).isEqualTo(1);
+        tx.executeWithoutResult(status -> {
+            writer.record(log("ASIGNAR"));
+            writer.record(log("CAMBIO_ESTADO"));
+        });
+        assertThat(awaitRows(3)).isEqualTo(3);
+        writer.stop();
+
+        assertChain(3);
+    }
+
+    @Test
+    @DisplayName("Dos instancias sobre la misma base comparten una sola cadena sin huecos")
+    void dosInstanciasUnaCadena() throws InterruptedException {
+        writer = newWriter();
+        AuditLogWriter other = newWriter();
+        writer.start();
+        other.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                AuditLogWriter target = i % 2 == 0 ? writer : other;
+                String action = "EDITAR_" + i;
+                tx.executeWithoutResult(status -> target.record(log(action)));
+            }
+            assertThat(awaitRows(20)).isEqualTo(20);
+        } finally {
+            other.stop();
+        }
+        writer.stop();
+        assertChain(20);
+    }
+
+    /** Recalcula la cadena en orden de chain_seq, sin huecos desde la posición 1. */
+    private void assertChain(int rows) {
+        String previous = AuditChain.GENESIS;
+        long seq = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT * FROM audit_log ORDER BY chain_seq")) {
+            assertThat(((Number) row.get("CHAIN_SEQ")).longValue()).isEqualTo(++seq);
+            String expected = AuditChain.hash(previous, seq, (String) row.get("ENTITY_NAME"),
+                    ((Number) row.get("ENTITY_ID")).longValue(), (String) row.get("ACTION"),
+                    (String) row.get("USERNAME"), null, null, null,
+                    ((Timestamp) row.get("TIMESTAMP")).toLocalDateTime());
+            assertThat(row.get("HASH")).isEqualTo(expected);
+            previous = expected;
+        }
+        assertThat(seq).isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_hash FROM audit_chain_head", String.class))
+                .isEqualTo(previous);
+    }
+
+    @Test
+    @DisplayName("El outbox se confirma con la transacción y sobrevive al proceso: otro arranque lo escribe")
+    void outboxSobreviveAlProceso() throws InterruptedException {
+        writer = newWriter(); // Sin arrancar: como si el proceso hubiera caído tras el commit
+
+        tx.executeWithoutResult(status -> writer.record(log("CREAR")));
+        tx.executeWithoutResult(status -> {
+            writer.record(log("ELIMINAR"));
+            status.setRollbackOnly();
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_outbox", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log", Long.class)).isZero();
+
+        writer = newWriter();
+        writer.start();
+
+        assertThat(awaitRows(1)).isEqualTo(1);
+        writer.stop();
+        assertThat(jdbcTemplate.queryForList("SELECT action FROM audit_log", String.class)).containsExactly("CREAR");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_outbox", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Si el INSERT en audit_log falla, el lote queda en el outbox y se escribe una sola vez")
+    void falloNoDuplica() throws InterruptedException {
+        jdbcTemplate.execute("ALTER TABLE audit_log RENAME TO audit_log_caida");
+        writer = newWriter();
+        writer.start();
+        tx.executeWithoutResult(status -> {
+            writer.record(log("CREAR"));
+            writer.record(log("ASIGNAR"));
+        });
+        Thread.sleep(200);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_outbox", Long.class)).isEqualTo(2);
+
+        jdbcTemplate.execute("ALTER TABLE audit_log_caida RENAME TO audit_log");
+        assertThat(awaitRows(2)).isEqualTo(2);
+        writer.stop();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_outbox", Long.class)).isZero();
+        assertChain(2); // El lote fallido tampoco avanzó la cabeza de la cadena
+    }
+}
@@ -0,0 +1,128 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.AuditLog;
+import com.sojus.dto.AuditFilter;
+import com.sojus.dto.AuditPageResponse;
+import com.sojus.repository.AuditLogRepository;
+import com.sojus.repository.AuditSearchRepository;
+import com.sojus.repository.TicketArchiveRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditService — Tests Unitarios")
+class AuditServiceTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+    @Mock
+    private AuditSearchRepository auditSearchRepository;
+    @Mock
+    private TicketArchiveRepository ticketArchiveRepository;
+
+    @InjectMocks
+    private AuditService auditService;
+
+    private static List<AuditLog> registros(int n) {
+        return Collections.nCopies(n, AuditLog.builder().entityName("Ticket").action("CREAR").build());
+    }
+
+    @Test
+    @DisplayName("findRecent se resuelve con el mes en curso si alcanza")
+    void recientesDelMes() {
+        when(auditLogRepository.findTop100ByTimestampGreaterThanEqualOrderByTimestampDesc(
+                LocalDate.now().withDayOfMonth(1).atStartOfDay())).thenReturn(registros(100));
+
+        assertThat(auditService.findRecent()).hasSize(100);
+        verify(auditLogRepository, never()).findTop100ByOrderByTimestampDesc();
+        verifyNoInteractions(ticketArchiveRepository);
+    }
+
+    @Test
+    @DisplayName("findRecent recorre el historial y completa con el archivo si el mes no alcanza")
+    void recientesConHistorialYArchivo() {
+        when(auditLogRepository.findTop100ByTimestampGreaterThanEqualOrderByTimestampDesc(any()))
+                .thenReturn(registros(10));
+        when(auditLogRepository.findTop100ByOrderByTimestampDesc()).thenReturn(registros(40));
+        when(ticketArchiveRepository.findRecentAudit(60)).thenReturn(registros(60));
+
+        assertThat(auditService.findRecent()).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("findByEntity mezcla tabla viva y archivo en orden (timestamp, id)")
+    void historialArchivado() {
+        LocalDateTime t = LocalDateTime.of(2026, 3, 10, 12, 0);
+        // Registro volcado por el escritor después de que el ticket se archivó
+        when(auditLogRepository.findAllByEntityNameAndEntityIdOrderByTimestampDesc("Ticket", 5L))
+                .thenReturn(List.of(log(12L, t)));
+        when(ticketArchiveRepository.findAuditByEntity("Ticket", 5L))
+                .thenReturn(List.of(log(11L, t), log(4L, t.minusDays(1))));
+
+        assertThat(auditService.findByEntity("Ticket", 5L)).extracting(AuditLog::getId)
+                .containsExactly(12L, 11L, 4L);
+
+        when(auditLogRepository.findAllByEntityNameAndEntityIdOrderByTimestampDesc("Hardware", 5L))
+                .thenReturn(List.of(log(20L, t)));
+        assertThat(auditService.findByEntity("Hardware", 5L)).hasSize(1);
+        verify(ticketArchiveRepository, never()).findAuditByEntity(eq("Hardware"), any());
+    }
+
+    @Test
+    @DisplayName("search mezcla tabla viva y archivo en orden (timestamp, id) y el cursor retoma desde el último")
+    void busquedaPaginada() {
+        LocalDateTime t = LocalDateTime.of(2026, 3, 10, 12, 0);
+        AuditFilter filter = AuditFilter.builder().username("admin").build();
+        when(auditSearchRepository.search(AuditSearchRepository.Source.LIVE, filter, null, null, 3))
+                .thenReturn(List.of(log(9L, t), log(7L, t.minusDays(2))));
+        when(auditSearchRepository.search(AuditSearchRepository.Source.ARCHIVE, filter, null, null, 3))
+                .thenReturn(List.of(log(8L, t.minusDays(1)), log(3L, t.minusDays(5))));
+
+        AuditPageResponse page = auditService.search(filter, null, 2);
+
+        assertThat(page.getItems()).extracting(AuditLog::getId).containsExactly(9L, 8L);
+        assertThat(page.isHasMore()).isTrue();
+
+        auditService.search(filter, page.getNextCursor(), 2);
+        verify(auditSearchRepository).search(AuditSearchRepository.Source.LIVE, filter, t.minusDays(1), 8L, 3);
+    }
+
+    @Test
+    @DisplayName("search no consulta el archivo si la entidad no es Ticket y valida filtros y cursor")
+    void busquedaValidaciones() {
+        AuditFilter hardware = AuditFilter.builder().entityName("Hardware").build();
+        when(auditSearchRepository.search(eq(AuditSearchRepository.Source.LIVE), eq(hardware), isNull(), isNull(),
+                anyInt())).thenReturn(List.of());
+
+        assertThat(auditService.search(hardware, null, null).getItems()).isEmpty();
+        verify(auditSearchRepository, never()).search(eq(AuditSearchRepository.Source.ARCHIVE), any(), any(), any(),
+                anyInt());
+
+        assertThatThrownBy(() -> auditService.search(AuditFilter.builder().entityId(5L).build(), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(() -> auditService.search(AuditFilter.builder().desde(now).hasta(now).build(), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> auditService.search(hardware, "no-es-un-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor");
+    }
+
+    private static AuditLog log(Long id, LocalDateTime timestamp) {
+        return AuditLog.builder().id(id).entityName("Ticket").action("CREAR").username("admin")
+                .timestamp(timestamp).build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.InventoryChangedEvent;
+import com.sojus.dto.DashboardStats;
+import com.sojus.dto.InventoryContractCounts;
+import com.sojus.dto.TicketCountRow;
+import com.sojus.repository.DashboardRepository;
+import com.sojus.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardService — Tests Unitarios")
+class DashboardServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private DashboardRepository dashboardRepository;
+    @Mock
+    private TicketCounterRegistry ticketCounters;
+    @Mock
+    private SlaTracker slaTracker;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardService, "cacheTtlMs", 60_000L);
+        when(dashboardRepository.countInventoryAndContracts(any()))
+                .thenReturn(new InventoryContractCounts(10, 5, 3, 1));
+        when(slaTracker.snapshot()).thenReturn(new SlaTracker.Snapshot(2, 1, 45L));
+    }
+
+    @Test
+    @DisplayName("Sin contadores inicializados agrega los conteos con un GROUP BY")
+    void agregaConteos() {
+        when(ticketRepository.countGroupedByStatusAndPrioridad()).thenReturn(List.of(
+                new TicketCountRow(TicketStatus.SOLICITADO, Priority.ALTA, 2),
+                new TicketCountRow(TicketStatus.EN_CURSO, Priority.MEDIA, 3),
+                new TicketCountRow(TicketStatus.CERRADO, Priority.ALTA, 4)));
+
+        DashboardStats stats = dashboardService.getStats();
+
+        assertThat(stats.getTicketsAbiertos()).isEqualTo(5);
+        assertThat(stats.getTicketsCerradosMes()).isEqualTo(4);
+        assertThat(stats.getTicketsPrioridadAlta()).isEqualTo(2);
+        assertThat(stats.getTotalHardware()).isEqualTo(10);
+        assertThat(stats.getContratosProximosVencer()).isEqualTo(1);
+        assertThat(stats.getSlaEnRiesgo()).isEqualTo(2);
+        assertThat(stats.getSlaIncumplidos()).isEqualTo(1);
+        assertThat(stats.getSlaMinutosProximoIncumplimiento()).isEqualTo(45L);
+    }
+
+    @Test
+    @DisplayName("Con contadores inicializados no consulta la tabla tickets")
+    void leeContadoresEnMemoria() {
+        when(ticketCounters.isReady()).thenReturn(true);
+        when(ticketCounters.count(any(TicketStatus.class))).thenReturn(1L);
+        when(ticketCounters.count(TicketStatus.CERRADO)).thenReturn(7L);
+        when(ticketCounters.count(any(TicketStatus.class), eq(Priority.ALTA))).thenReturn(1L);
+
+        DashboardStats stats = dashboardService.getStats();
+
+        assertThat(stats.getTicketsAbiertos()).isEqualTo(3);
+        assertThat(stats.getTicketsCerradosMes()).isEqualTo(7);
+        assertThat(stats.getTicketsPrioridadAlta()).isEqualTo(3);
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    @DisplayName("Lecturas dentro del TTL no consultan inventario; un cambio de inventario invalida la instantánea")
+    void cacheEInvalidacion() {
+        when(ticketCounters.isReady()).thenReturn(true);
+
+        dashboardService.getStats();
+        dashboardService.getStats();
+        verify(dashboardRepository, times(1)).countInventoryAndContracts(any());
+
+        dashboardService.onInventoryChanged(new InventoryChangedEvent("HARDWARE", 1L, "CREAR"));
+        dashboardService.getStats();
+        verify(dashboardRepository, times(2)).countInventoryAndContracts(any());
+    }
+}
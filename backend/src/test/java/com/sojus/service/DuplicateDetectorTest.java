@@ -0,0 +1,103 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.TicketTextRow;
+import com.sojus.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateDetector — Tests Unitarios")
+class DuplicateDetectorTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        detector = new DuplicateDetector(ticketRepository, meterRegistry, 0.5, 128, 32);
+        when(ticketRepository.findOpenTextRows()).thenReturn(List.of(
+                new TicketTextRow(1L, 3L, "Impresora no imprime", null),
+                new TicketTextRow(2L, 3L, "Monitor sin señal", "La pantalla queda en negro al encender"),
+                new TicketTextRow(3L, 4L, "Impresora no imprime", null)));
+        detector.rebuild();
+    }
+
+    @Test
+    @DisplayName("Normaliza mayúsculas, acentos y palabras vacías, y recorta las palabras")
+    void shingles() {
+        assertThat(DuplicateDetector.shingles("No IMPRIME la impresora", "Juzgado N° 3, sin conexión"))
+                .containsExactly("no", "imprim", "impres", "juzgad", "3", "sin", "conexi");
+    }
+
+    @Test
+    @DisplayName("Encuentra el parecido del mismo juzgado aunque cambien el orden y las palabras")
+    void encuentraParecidoMismoJuzgado() {
+        List<DuplicateDetector.Match> matches =
+                detector.findSimilar(3L, "No imprime la impresora del juzgado 3", null);
+
+        assertThat(matches).extracting(DuplicateDetector.Match::ticketId).containsExactly(1L);
+        assertThat(matches.get(0).similitud()).isBetween(0.5, 0.75);
+        assertThat(meterRegistry.get("tickets.duplicates.flagged").counter().count()).isEqualTo(1);
+        assertThat(detector.findSimilar(3L, "Solicitud de alta de usuario", "Nuevo agente en mesa de entradas"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Los tickets nuevos entran al índice y los cerrados o eliminados salen")
+    void actualizacionIncremental() {
+        detector.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.CREATED)
+                .ticketId(10L).juzgadoId(5L).asunto("Sin acceso a la red").descripcion("El cable de red no conecta")
+                .build());
+        assertThat(detector.findSimilar(5L, "Sin red", "No conecta el cable de red"))
+                .extracting(DuplicateDetector.Match::ticketId).containsExactly(10L);
+
+        detector.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(10L).juzgadoId(5L).status(TicketStatus.CERRADO).build());
+        detector.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.DELETED)
+                .ticketId(3L).juzgadoId(4L).status(TicketStatus.SOLICITADO).build());
+
+        assertThat(detector.findSimilar(5L, "Sin red", "No conecta el cable de red")).isEmpty();
+        assertThat(detector.findSimilar(4L, "Impresora no imprime", null)).isEmpty();
+        assertThat(detector.indexed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Los cambios que llegan antes o durante la carga inicial se aplican al terminarla")
+    void cambiosDuranteLaCarga() {
+        DuplicateDetector nuevo = new DuplicateDetector(ticketRepository, new SimpleMeterRegistry(), 0.5, 128, 32);
+        // Antes de arrancar: el ticket 1 se cierra
+        nuevo.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(1L).juzgadoId(3L).status(TicketStatus.CERRADO).build());
+        when(ticketRepository.findOpenTextRows()).thenAnswer(invocation -> {
+            // Durante la lectura: se crea el 10, que la consulta ya no ve
+            nuevo.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.CREATED)
+                    .ticketId(10L).juzgadoId(5L).asunto("Sin acceso a la red")
+                    .descripcion("El cable de red no conecta").build());
+            return List.of(new TicketTextRow(1L, 3L, "Impresora no imprime", null),
+                    new TicketTextRow(2L, 3L, "Monitor sin señal", "La pantalla queda en negro al encender"));
+        });
+
+        nuevo.rebuild();
+
+        assertThat(nuevo.indexed()).isEqualTo(2);
+        assertThat(nuevo.findSimilar(3L, "Impresora no imprime", null)).isEmpty();
+        assertThat(nuevo.findSimilar(5L, "Sin red", "No conecta el cable de red"))
+                .extracting(DuplicateDetector.Match::ticketId).containsExactly(10L);
+    }
+}
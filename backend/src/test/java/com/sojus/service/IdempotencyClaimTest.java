@@ -0,0 +1,108 @@
+package com.sojus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.dto.TicketResponse;
+import com.sojus.exception.BusinessRuleException;
+import com.sojus.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Reclamo de claves de idempotencia contra la BD real (H2): el reclamo tiene que ser atómico
+ * aunque dos instancias hayan visto la clave libre o vencida.
+ */
+@SpringBootTest
+@DisplayName("IdempotencyStore — Reclamo atómico en BD")
+class IdempotencyClaimTest {
+
+    private static final String ENDPOINT = "POST /api/tickets";
+    private static final String USERNAME = "idempotencia-it";
+
+    @Autowired
+    private IdempotencyStore store;
+    @Autowired
+    private IdempotencyKeyRepository repository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE username = ?", USERNAME);
+    }
+
+    /** Otra instancia: mismo repositorio y BD, sin la caché ni las solicitudes en vuelo de {@link #store}. */
+    private IdempotencyStore otraInstancia() {
+        return new IdempotencyStore(repository, objectMapper, new SimpleMeterRegistry(),
+                60_000L, 60_000L, 1_000L, 100);
+    }
+
+    private String pendiente(String key, LocalDateTime expiresAt) {
+        String id = IdempotencyStore.keyId(USERNAME, ENDPOINT, key);
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (id, username, endpoint, request_hash, created_at, expires_at)
+                VALUES (?, ?, ?, 'x', ?, ?)
+                """, id, USERNAME, ENDPOINT, Timestamp.valueOf(LocalDateTime.now().minusMinutes(10)),
+                Timestamp.valueOf(expiresAt));
+        return id;
+    }
+
+    @Test
+    @DisplayName("Una fila pendiente vencida se reclama una sola vez; el segundo reclamo es 409")
+    void vencidaSeReclamaUnaVez() {
+        String id = pendiente("k-vencida", LocalDateTime.now().minusMinutes(1));
+
+        store.claim(id, USERNAME, ENDPOINT, "hash");
+        assertThatThrownBy(() -> otraInstancia().claim(id, USERNAME, ENDPOINT, "hash"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("solicitud en curso");
+        assertThat(jdbcTemplate.queryForObject("SELECT expires_at FROM idempotency_keys WHERE id = ?",
+                Timestamp.class, id).toLocalDateTime()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Una fila pendiente vigente de otra instancia es 409 sin ejecutar la operación")
+    void vigenteEs409() {
+        String id = pendiente("k-vigente", LocalDateTime.now().plusMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> store.execute("k-vigente", USERNAME, ENDPOINT, Map.of(), TicketResponse.class,
+                () -> {
+                    executions.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.CREATED).body(TicketResponse.builder().id(1L).build());
+                }))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> otraInstancia().claim(id, USERNAME, ENDPOINT, "hash"))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Tras reclamar una clave vencida la operación corre una vez y su respuesta se guarda")
+    void vencidaSeEjecutaYGuarda() {
+        String id = pendiente("k-retoma", LocalDateTime.now().minusMinutes(1));
+
+        ResponseEntity<TicketResponse> response = store.execute("k-retoma", USERNAME, ENDPOINT, Map.of(),
+                TicketResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(TicketResponse.builder().id(5L).build()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(jdbcTemplate.queryForObject("SELECT status_code FROM idempotency_keys WHERE id = ?",
+                Integer.class, id)).isEqualTo(201);
+    }
+}
@@ -0,0 +1,168 @@
+package com.sojus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.entity.IdempotencyKey;
+import com.sojus.dto.TicketResponse;
+import com.sojus.exception.BusinessRuleException;
+import com.sojus.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyStore — Tests Unitarios")
+class IdempotencyStoreTest {
+
+    private static final String ENDPOINT = "POST /api/tickets";
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(repository, new ObjectMapper(), meterRegistry, 60_000L, 60_000L, 5_000L, 100);
+        executions = new AtomicInteger();
+    }
+
+    private Supplier<ResponseEntity<TicketResponse>> crear(long id) {
+        return () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(TicketResponse.builder().id(id).asunto("Red").build());
+        };
+    }
+
+    @Test
+    @DisplayName("Un reintento con la misma clave repite la respuesta sin volver a ejecutar")
+    void repiteRespuesta() {
+        ResponseEntity<TicketResponse> first = store.execute("k1", "operador", ENDPOINT, Map.of("asunto", "Red"),
+                TicketResponse.class, crear(7L));
+        ResponseEntity<TicketResponse> retry = store.execute("k1", "operador", ENDPOINT, Map.of("asunto", "Red"),
+                TicketResponse.class, crear(8L));
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody().getId()).isEqualTo(7L);
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        verify(repository).insertPending(anyString(), eq("operador"), eq(ENDPOINT), anyString(), any(), any());
+        assertThat(meterRegistry.get("idempotency.replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("La clave vale por usuario; reusarla con otro contenido es un error del cliente")
+    void alcanceYContenido() {
+        store.execute("k1", "operador", ENDPOINT, Map.of("asunto", "Red"), TicketResponse.class, crear(7L));
+        store.execute("k1", "admin", ENDPOINT, Map.of("asunto", "Red"), TicketResponse.class, crear(8L));
+        assertThat(executions).hasValue(2);
+
+        assertThatThrownBy(() -> store.execute("k1", "operador", ENDPOINT, Map.of("asunto", "Otra"),
+                TicketResponse.class, crear(9L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ya se usó con otra solicitud");
+        assertThatThrownBy(() -> store.execute(" ", "operador", ENDPOINT, Map.of(), TicketResponse.class, crear(9L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Los duplicados concurrentes esperan el resultado de la solicitud en vuelo")
+    void duplicadosConcurrentesEsperan() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<TicketResponse>> lenta = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return crear(7L).get();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<TicketResponse>> owner = executor.submit(() ->
+                    store.execute("k1", "operador", ENDPOINT, Map.of(), TicketResponse.class, lenta));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ResponseEntity<TicketResponse>> dup1 = executor.submit(() ->
+                    store.execute("k1", "operador", ENDPOINT, Map.of(), TicketResponse.class, crear(8L)));
+            Future<ResponseEntity<TicketResponse>> dup2 = executor.submit(() ->
+                    store.execute("k1", "operador", ENDPOINT, Map.of(), TicketResponse.class, crear(9L)));
+            release.countDown();
+
+            assertThat(owner.get(5, TimeUnit.SECONDS).getBody().getId()).isEqualTo(7L);
+            assertThat(dup1.get(5, TimeUnit.SECONDS).getBody().getId()).isEqualTo(7L);
+            assertThat(dup2.get(5, TimeUnit.SECONDS).getBody().getId()).isEqualTo(7L);
+            assertThat(executions).hasValue(1);
+            verify(repository, times(1)).insertPending(any(), any(), any(), any(), any(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Una operación fallida no se guarda: libera la clave y el reintento vuelve a ejecutar")
+    void fallaNoSeGuarda() {
+        assertThatThrownBy(() -> store.execute("k1", "operador", ENDPOINT, Map.of(), TicketResponse.class, () -> {
+            throw new BusinessRuleException("El equipo ya tiene un ticket activo");
+        })).isInstanceOf(BusinessRuleException.class);
+        verify(repository).deletePending(anyString());
+
+        store.execute("k1", "operador", ENDPOINT, Map.of(), TicketResponse.class, crear(7L));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Tras un reinicio repite desde la BD; una clave en curso en otra instancia es 409")
+    void respaldoEnBd() throws Exception {
+        String body = new ObjectMapper().writeValueAsString(TicketResponse.builder().id(7L).build());
+        IdempotencyKey completed = IdempotencyKey.builder().requestHash(sha256Of("{}")).statusCode(201)
+                .responseBody(body).expiresAt(LocalDateTime.now().plusHours(1)).build();
+        IdempotencyKey pending = IdempotencyKey.builder().requestHash(sha256Of("{}"))
+                .expiresAt(LocalDateTime.now().plusMinutes(1)).build();
+        when(repository.findById(anyString())).thenReturn(Optional.of(completed), Optional.of(pending));
+
+        ResponseEntity<TicketResponse> replay = store.execute("k1", "operador", ENDPOINT, Map.of(),
+                TicketResponse.class, crear(8L));
+        assertThat(replay.getBody().getId()).isEqualTo(7L);
+        assertThat(replay.getStatusCode().value()).isEqualTo(201);
+
+        assertThatThrownBy(() -> store.execute("k2", "operador", ENDPOINT, Map.of(), TicketResponse.class, crear(9L)))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("solicitud en curso");
+        assertThat(executions).hasValue(0);
+        verify(repository, never()).insertPending(any(), any(), any(), any(), any(), any());
+    }
+
+    private static String sha256Of(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
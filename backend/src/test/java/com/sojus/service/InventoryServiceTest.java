@@ -3,8 +3,12 @@ package com.sojus.service;
 import com.sojus.domain.entity.Hardware;
 import com.sojus.domain.entity.Software;
 import com.sojus.domain.enums.AssetStatus;
+import com.sojus.domain.event.InventoryChangedEvent;
+import com.sojus.dto.HardwareImportResult;
+import com.sojus.dto.HardwareImportRow;
 import com.sojus.exception.BusinessRuleException;
 import com.sojus.exception.ResourceNotFoundException;
+import com.sojus.repository.HardwareBatchRepository;
 import com.sojus.repository.HardwareRepository;
 import com.sojus.repository.SoftwareRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,13 +19,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.StringReader;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +43,10 @@ class InventoryServiceTest {
     private HardwareRepository hardwareRepository;
     @Mock
     private SoftwareRepository softwareRepository;
+    @Mock
+    private HardwareBatchRepository hardwareBatchRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private InventoryService inventoryService;
@@ -224,4 +239,75 @@ class InventoryServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
+
+    // ================================================================
+    // IMPORTACIÓN MASIVA
+    // ================================================================
+    @Nested
+    @DisplayName("Importación masiva de Hardware")
+    class ImportarHardware {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(inventoryService, "importBatchSize", 500);
+            ReflectionTestUtils.setField(inventoryService, "importMaxRows", 100);
+        }
+
+        @Test
+        @DisplayName("Inserta las filas válidas en lote y reporta duplicados e inválidas por fila")
+        void importarConReporte() {
+            when(hardwareBatchRepository.findExistingInventarios(anyCollection())).thenReturn(Set.of("INV-EXISTE"));
+            when(hardwareBatchRepository.findJuzgadoIds()).thenReturn(Set.of(1L));
+
+            HardwareImportResult result = inventoryService.importHardware(List.of(
+                    HardwareImportRow.builder().inventarioPatrimonial(" INV-NUEVO ").clase("PC").juzgadoId(1L).build(),
+                    HardwareImportRow.builder().inventarioPatrimonial("INV-EXISTE").clase("PC").build(),
+                    HardwareImportRow.builder().inventarioPatrimonial("INV-NUEVO").clase("PC").build(),
+                    HardwareImportRow.builder().inventarioPatrimonial("INV-X").clase("PC").estado("ROTO").build(),
+                    HardwareImportRow.builder().inventarioPatrimonial("INV-Y").clase("PC").juzgadoId(9L).build(),
+                    HardwareImportRow.builder().clase("PC").build()));
+
+            assertThat(result.getTotal()).isEqualTo(6);
+            assertThat(result.getCreados()).isEqualTo(1);
+            assertThat(result.getRechazados()).isEqualTo(5);
+            assertThat(result.getFilas()).extracting(HardwareImportResult.Fila::getResultado).containsExactly(
+                    HardwareImportResult.Resultado.CREADO, HardwareImportResult.Resultado.DUPLICADO,
+                    HardwareImportResult.Resultado.DUPLICADO, HardwareImportResult.Resultado.INVALIDO,
+                    HardwareImportResult.Resultado.INVALIDO, HardwareImportResult.Resultado.INVALIDO);
+            verify(hardwareBatchRepository, times(1)).findExistingInventarios(anyCollection());
+            verify(hardwareBatchRepository).insertAll(argThat(rows -> rows.size() == 1
+                    && rows.get(0).getInventarioPatrimonial().equals("INV-NUEVO")
+                    && rows.get(0).getEstado().equals("ACTIVO")), eq(500));
+            verify(eventPublisher).publishEvent(any(InventoryChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Lee CSV con separador ';', comillas y encabezados en snake_case")
+        void importarCsv() {
+            when(hardwareBatchRepository.findExistingInventarios(anyCollection())).thenReturn(Set.of());
+            String csv = """
+                    inventario_patrimonial;clase;marca;estado;observaciones
+                    INV-CSV-1;PC;Dell;activo;"Monitor roto; ""urgente""\"
+                    INV-CSV-2;IMPRESORA;HP;;
+                    """;
+
+            HardwareImportResult result = inventoryService.importHardwareCsv(new StringReader(csv));
+
+            assertThat(result.getCreados()).isEqualTo(2);
+            verify(hardwareBatchRepository).insertAll(argThat(rows -> rows.size() == 2
+                    && rows.get(0).getObservaciones().equals("Monitor roto; \"urgente\"")
+                    && rows.get(1).getMarca().equals("HP")), eq(500));
+        }
+
+        @Test
+        @DisplayName("Rechaza importaciones vacías o que superan el máximo de filas")
+        void importarLimites() {
+            assertThatThrownBy(() -> inventoryService.importHardware(List.of()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            List<HardwareImportRow> demasiadas = java.util.Collections.nCopies(101, new HardwareImportRow());
+            assertThatThrownBy(() -> inventoryService.importHardware(demasiadas))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(hardwareBatchRepository, never()).insertAll(anyList(), anyInt());
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.PriorityRule;
+import com.sojus.domain.enums.Priority;
+import com.sojus.repository.PriorityRuleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PriorityRuleEngine — Tests Unitarios")
+class PriorityRuleEngineTest {
+
+    @Mock
+    private PriorityRuleRepository priorityRuleRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PriorityRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new PriorityRuleEngine(priorityRuleRepository, meterRegistry);
+    }
+
+    private static PriorityRule rule(long id, String keyword, Priority prioridad) {
+        return PriorityRule.builder().id(id).keyword(keyword).prioridad(prioridad).build();
+    }
+
+    @Test
+    @DisplayName("El autómato reporta coincidencias solapadas y anidadas en una sola pasada")
+    void automataSolapadas() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("he", "she", "his", "hers"));
+        List<Integer> found = new ArrayList<>();
+        int state = automaton.initialState();
+        for (char c : "ushers".toCharArray()) {
+            state = automaton.next(state, c);
+            for (int m : automaton.matches(state)) {
+                found.add(m);
+            }
+        }
+        assertThat(found).containsExactlyInAnyOrder(1, 0, 3);
+    }
+
+    @Test
+    @DisplayName("Ignora mayúsculas y acentos en reglas y texto, y devuelve la prioridad más alta")
+    void evaluaSinAcentosNiMayusculas() {
+        engine.compile(List.of(rule(1, "Audiencia", Priority.ALTA), rule(2, "impresión", Priority.MEDIA),
+                rule(3, "sala de juntas", Priority.BAJA)));
+
+        assertThat(engine.evaluate("Falla en IMPRESION", null)).isEqualTo(Priority.MEDIA);
+        assertThat(engine.evaluate("Proyector", "Sala de Juntas sin imagen para la AUDIÉNCIA"))
+                .isEqualTo(Priority.ALTA);
+        assertThat(engine.evaluate("Cambio de mouse", "Sin novedad")).isNull();
+    }
+
+    @Test
+    @DisplayName("Cuenta una coincidencia por regla y ticket, aunque la palabra se repita")
+    void cuentaCoincidencias() {
+        engine.compile(List.of(rule(1, "juez", Priority.ALTA), rule(2, "sala", Priority.ALTA)));
+
+        engine.evaluate("PC del juez", "El juez no puede firmar");
+        engine.evaluate("Sala 3", null);
+
+        assertThat(engine.hits()).containsEntry("juez", 1L).containsEntry("sala", 1L);
+        assertThat(meterRegistry.get(PriorityRuleEngine.HITS_METER).tag("rule", "juez").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("La recarga recompila solo si cambiaron las reglas activas")
+    void recargaEnCaliente() {
+        when(priorityRuleRepository.findAllByActiveTrueOrderById())
+                .thenReturn(List.of(rule(1, "juez", Priority.ALTA)))
+                .thenReturn(List.of(rule(1, "juez", Priority.ALTA)))
+                .thenReturn(List.of(rule(1, "juez", Priority.ALTA), rule(2, "servidor", Priority.ALTA)));
+
+        engine.load();
+        assertThat(engine.evaluate("Servidor caído", null)).isNull();
+
+        engine.reload();
+        engine.reload();
+        assertThat(engine.evaluate("Servidor caído", null)).isEqualTo(Priority.ALTA);
+        verify(priorityRuleRepository, times(3)).findAllByActiveTrueOrderById();
+    }
+}
@@ -0,0 +1,140 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.Contract;
+import com.sojus.domain.entity.Hardware;
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.SlaEvent;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.SlaTicketRow;
+import com.sojus.repository.ContractRepository;
+import com.sojus.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlaTracker — Tests Unitarios")
+class SlaTrackerTest {
+
+    private static final long MINUTO = 60_000L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private ContractRepository contractRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SlaPolicy slaPolicy;
+    private SimpleMeterRegistry meterRegistry;
+    private SlaTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        slaPolicy = new SlaPolicy(contractRepository);
+        ReflectionTestUtils.setField(slaPolicy, "horasAlta", 8L);
+        ReflectionTestUtils.setField(slaPolicy, "horasMedia", 24L);
+        ReflectionTestUtils.setField(slaPolicy, "horasBaja", 72L);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new SlaTracker(ticketRepository, slaPolicy, eventPublisher, meterRegistry, 0.75, 1000);
+    }
+
+    private static TicketChangedEvent creado(long id, LocalDateTime abierto, LocalDateTime vence) {
+        return TicketChangedEvent.builder().type(TicketChangedEvent.Type.CREATED).ticketId(id)
+                .status(TicketStatus.SOLICITADO).prioridad(Priority.ALTA)
+                .occurredAt(abierto).slaVencimiento(vence).build();
+    }
+
+    @Test
+    @DisplayName("La reconstrucción marca lo ya vencido sin publicar eventos")
+    void reconstruye() {
+        LocalDateTime ahora = LocalDateTime.now();
+        when(ticketRepository.findOpenSlaRows()).thenReturn(List.of(
+                new SlaTicketRow(1L, Priority.ALTA, ahora.minusHours(10), null),
+                new SlaTicketRow(2L, Priority.MEDIA, ahora, ahora.plusHours(24))));
+
+        tracker.rebuild();
+
+        SlaTracker.Snapshot snapshot = tracker.snapshot();
+        assertThat(snapshot.incumplidos()).isEqualTo(1);
+        assertThat(snapshot.enRiesgo()).isZero();
+        assertThat(snapshot.minutosParaProximoIncumplimiento()).isBetween(1439L, 1440L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Publica el aviso al 75% del plazo y el incumplimiento al vencer")
+    void avisoEIncumplimiento() {
+        when(ticketRepository.findOpenSlaRows()).thenReturn(List.of());
+        tracker.rebuild();
+        long ahora = System.currentTimeMillis();
+        LocalDateTime abierto = LocalDateTime.now();
+        tracker.onTicketChanged(creado(7L, abierto, abierto.plusMinutes(60)));
+
+        tracker.advance(ahora + 44 * MINUTO);
+        verifyNoInteractions(eventPublisher);
+
+        tracker.advance(ahora + 46 * MINUTO);
+        tracker.advance(ahora + 61 * MINUTO);
+
+        ArgumentCaptor<SlaEvent> eventos = ArgumentCaptor.forClass(SlaEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(eventos.capture());
+        assertThat(eventos.getAllValues()).extracting(SlaEvent::getType)
+                .containsExactly(SlaEvent.Type.WARNING, SlaEvent.Type.BREACH);
+        assertThat(tracker.snapshot().incumplidos()).isEqualTo(1);
+        assertThat(tracker.snapshot().enRiesgo()).isZero();
+        assertThat(meterRegistry.get("tickets.sla.breaches").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Cerrar el ticket cancela sus alarmas")
+    void cierreCancela() {
+        when(ticketRepository.findOpenSlaRows()).thenReturn(List.of());
+        tracker.rebuild();
+        long ahora = System.currentTimeMillis();
+        LocalDateTime abierto = LocalDateTime.now();
+        tracker.onTicketChanged(creado(8L, abierto, abierto.plusMinutes(30)));
+        tracker.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(8L).previousStatus(TicketStatus.EN_CURSO).status(TicketStatus.CERRADO)
+                .prioridad(Priority.ALTA).build());
+
+        tracker.advance(ahora + 120 * MINUTO);
+
+        verifyNoInteractions(eventPublisher);
+        assertThat(tracker.snapshot()).isEqualTo(new SlaTracker.Snapshot(0, 0, null));
+    }
+
+    @Test
+    @DisplayName("Un contrato vigente que cubre la marca del equipo acorta el plazo")
+    void plazoContractual() {
+        when(contractRepository.findAllByActiveTrue()).thenReturn(List.of(
+                Contract.builder().coberturaHw("PCs y Servidores Dell").fechaFin(LocalDate.now().plusYears(1))
+                        .slaDescripcion("Respuesta 4hs hábiles, resolución 24hs").build(),
+                Contract.builder().coberturaHw("Impresoras Epson y HP").slaDescripcion("Visita técnica en 48hs")
+                        .build()));
+        LocalDateTime abierto = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+        assertThat(slaPolicy.deadline(Priority.BAJA, abierto, Hardware.builder().marca("Dell").build()))
+                .isEqualTo(abierto.plusHours(24));
+        assertThat(slaPolicy.deadline(Priority.BAJA, abierto, Hardware.builder().marca("HP").build()))
+                .isEqualTo(abierto.plusHours(72));
+        assertThat(slaPolicy.deadline(Priority.ALTA, abierto, Hardware.builder().marca("Dell").build()))
+                .isEqualTo(abierto.plusHours(8));
+        assertThat(SlaPolicy.resolutionHours("Mesa de ayuda 24/7")).isNull();
+    }
+}
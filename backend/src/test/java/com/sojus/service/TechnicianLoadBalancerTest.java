@@ -0,0 +1,182 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.domain.event.UserChangedEvent;
+import com.sojus.dto.TechnicianLoadRow;
+import com.sojus.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TechnicianLoadBalancer — Tests Unitarios")
+class TechnicianLoadBalancerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TechnicianLoadBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balancer, "juzgadoAffinity", 2L);
+        ReflectionTestUtils.setField(balancer, "edificioAffinity", 1L);
+        // Técnico 10: juzgado 1 (edificio 100), un ticket ALTA → carga 3
+        // Técnico 20: juzgado 2 (edificio 100), un ticket BAJA → carga 1
+        // Técnico 30: sin juzgado ni tickets → carga 0
+        when(userRepository.findTechnicianLoads()).thenReturn(List.of(
+                new TechnicianLoadRow(10L, 1L, 100L, Priority.ALTA, 1),
+                new TechnicianLoadRow(20L, 2L, 100L, Priority.BAJA, 1),
+                new TechnicianLoadRow(30L, null, null, null, 0)));
+        balancer.rebuild();
+    }
+
+    @Test
+    @DisplayName("Reconstruye la carga ponderada por prioridad con una sola consulta")
+    void reconstruyeCarga() {
+        assertThat(balancer.loads()).containsEntry(10L, 3L).containsEntry(20L, 1L).containsEntry(30L, 0L);
+        verify(userRepository, times(1)).findTechnicianLoads();
+    }
+
+    @Test
+    @DisplayName("Sin afinidad elige al menos cargado y le reserva el peso del ticket")
+    void eligeMenosCargado() {
+        TechnicianLoadBalancer.Assignment assignment = balancer.pick(Priority.MEDIA, null, null).orElseThrow();
+
+        assertThat(assignment.tecnicoId()).isEqualTo(30L);
+        assertThat(assignment.afinidad()).isEqualTo("sin afinidad");
+        assertThat(balancer.loads()).containsEntry(30L, 2L);
+
+        // Ahora 20 (carga 1) es el menos cargado
+        assertThat(balancer.pick(Priority.BAJA, null, null).orElseThrow().tecnicoId()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("La afinidad de juzgado y edificio descuenta carga")
+    void afinidad() {
+        // Juzgado 2: técnico 20 tiene carga 1 - 2 = -1 < 0 del técnico 30
+        TechnicianLoadBalancer.Assignment juzgado = balancer.pick(Priority.BAJA, 2L, 100L).orElseThrow();
+        assertThat(juzgado.tecnicoId()).isEqualTo(20L);
+        assertThat(juzgado.afinidad()).isEqualTo("mismo juzgado");
+
+        // Otro juzgado del edificio 100: 20 tiene ahora carga 2, 2 - 1 = 1 no mejora el 0 del técnico 30
+        assertThat(balancer.pick(Priority.BAJA, 3L, 100L).orElseThrow().tecnicoId()).isEqualTo(30L);
+    }
+
+    @Test
+    @DisplayName("Los cambios de estado confirmados mueven la carga entre técnicos")
+    void eventosActualizanCarga() {
+        // Reasignación del ticket ALTA de 10 a 30
+        balancer.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(1L).previousStatus(TicketStatus.ASIGNADO).status(TicketStatus.EN_CURSO)
+                .prioridad(Priority.ALTA).previousTecnicoId(10L).tecnicoId(30L).build());
+        assertThat(balancer.loads()).containsEntry(10L, 0L).containsEntry(30L, 3L);
+
+        // Cierre: deja de contar
+        balancer.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(1L).previousStatus(TicketStatus.EN_CURSO).status(TicketStatus.CERRADO)
+                .prioridad(Priority.ALTA).previousTecnicoId(30L).tecnicoId(30L).build());
+        assertThat(balancer.loads()).containsEntry(30L, 0L);
+
+        // Eliminación de un ticket abierto
+        balancer.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.DELETED)
+                .ticketId(2L).status(TicketStatus.ASIGNADO).prioridad(Priority.BAJA).tecnicoId(20L).build());
+        assertThat(balancer.loads()).containsEntry(20L, 0L);
+    }
+
+    @Test
+    @DisplayName("Un técnico descartado no vuelve a elegirse; sin técnicos no hay asignación")
+    void descarteYPlantelVacio() {
+        balancer.evict(30L);
+        balancer.evict(20L);
+        assertThat(balancer.pick(Priority.MEDIA, null, null).orElseThrow().tecnicoId()).isEqualTo(10L);
+
+        balancer.evict(10L);
+        assertThat(balancer.pick(Priority.MEDIA, null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Un cambio confirmado durante la lectura hace releer en lugar de perderse o contarse dos veces")
+    void reconstruccionConCambioConcurrente() {
+        TicketChangedEvent cierre = TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(1L).previousStatus(TicketStatus.ASIGNADO).status(TicketStatus.CERRADO)
+                .prioridad(Priority.ALTA).previousTecnicoId(10L).tecnicoId(10L).build();
+        // La primera lectura ve el ticket abierto y el cierre llega mientras tanto; la segunda ya no lo ve
+        when(userRepository.findTechnicianLoads())
+                .thenAnswer(inv -> {
+                    balancer.onTicketChanged(cierre);
+                    return List.of(new TechnicianLoadRow(10L, 1L, 100L, Priority.ALTA, 1));
+                })
+                .thenReturn(List.of(new TechnicianLoadRow(10L, 1L, 100L, null, 0)));
+
+        balancer.rebuild();
+
+        assertThat(balancer.loads()).containsEntry(10L, 0L).hasSize(1);
+        verify(userRepository, times(3)).findTechnicianLoads();
+    }
+
+    @Test
+    @DisplayName("Una reserva sin confirmar sobrevive a la reconstrucción y su rollback no deja carga negativa")
+    void reservaSobreviveReconstruccion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(balancer.pick(Priority.ALTA, null, null).orElseThrow().tecnicoId()).isEqualTo(30L);
+            balancer.rebuild(); // La BD todavía no tiene el ticket
+            assertThat(balancer.loads()).containsEntry(30L, 3L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(balancer.loads()).containsEntry(30L, 0L);
+
+        // Una reserva devuelta a mano no se devuelve otra vez en el rollback
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            balancer.pick(Priority.MEDIA, null, null);
+            balancer.release(30L, Priority.MEDIA);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(balancer.loads()).containsEntry(30L, 0L).containsEntry(20L, 1L);
+    }
+
+    @Test
+    @DisplayName("Un cambio de usuario actualiza solo a ese técnico, conservando su carga y las reservas")
+    void cambioDeUsuario() {
+        // 20 pasa al juzgado 3 (edificio 300); conserva su carga 1
+        when(userRepository.findTechnicianLoad(20L)).thenReturn(List.of(new TechnicianLoadRow(20L, 3L, 300L, null, 0)));
+        balancer.onUserChanged(new UserChangedEvent(20L, "tecnico20", "ACTUALIZAR"));
+        assertThat(balancer.loads()).containsEntry(20L, 1L);
+        assertThat(balancer.pick(Priority.BAJA, 3L, 300L).orElseThrow().afinidad()).isEqualTo("mismo juzgado");
+
+        // Alta de un técnico con un ticket MEDIA ya asignado
+        when(userRepository.findTechnicianLoad(40L)).thenReturn(List.of(new TechnicianLoadRow(40L, null, null, Priority.MEDIA, 1)));
+        balancer.onUserChanged(new UserChangedEvent(40L, "tecnico40", "CREAR"));
+        assertThat(balancer.loads()).containsEntry(40L, 2L);
+
+        // Baja: deja de ser elegible
+        when(userRepository.findTechnicianLoad(30L)).thenReturn(List.of());
+        balancer.onUserChanged(new UserChangedEvent(30L, "tecnico30", "ELIMINAR"));
+        assertThat(balancer.loads()).doesNotContainKey(30L).containsEntry(10L, 3L);
+        verify(userRepository, times(1)).findTechnicianLoads();
+    }
+}
@@ -0,0 +1,101 @@
+package com.sojus.service;
+
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.TicketCountRow;
+import com.sojus.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
+@DisplayName("TicketCounterRegistry — Tests Unitarios")
+class TicketCounterRegistryTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private TicketCounterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketRepository.countGroupedByStatusPrioridadAndJuzgado()).thenReturn(List.of(
+                new TicketCountRow(TicketStatus.SOLICITADO, Priority.ALTA, 1L, 2),
+                new TicketCountRow(TicketStatus.CERRADO, Priority.MEDIA, 2L, 5)));
+        registry.rebuild();
+    }
+
+    @Test
+    @DisplayName("Se reconstruye desde el GROUP BY por status, prioridad y juzgado")
+    void reconstruyeDesdeBd() {
+        assertThat(registry.isReady()).isTrue();
+        assertThat(registry.count(TicketStatus.SOLICITADO, Priority.ALTA)).isEqualTo(2);
+        assertThat(registry.count(TicketStatus.CERRADO)).isEqualTo(5);
+        assertThat(registry.countByJuzgado(TicketStatus.SOLICITADO)).containsEntry(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Crear, cambiar de estado y eliminar ajustan los contadores")
+    void aplicaEventos() {
+        registry.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.CREATED)
+                .status(TicketStatus.SOLICITADO).prioridad(Priority.ALTA).juzgadoId(1L).build());
+        registry.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .previousStatus(TicketStatus.SOLICITADO).status(TicketStatus.ASIGNADO)
+                .prioridad(Priority.ALTA).juzgadoId(1L).build());
+        registry.onTicketChanged(TicketChangedEvent.builder().type(TicketChangedEvent.Type.DELETED)
+                .status(TicketStatus.CERRADO).prioridad(Priority.MEDIA).juzgadoId(2L).build());
+
+        assertThat(registry.count(TicketStatus.SOLICITADO, Priority.ALTA)).isEqualTo(2);
+        assertThat(registry.count(TicketStatus.ASIGNADO, Priority.ALTA)).isEqualTo(1);
+        assertThat(registry.count(TicketStatus.CERRADO)).isEqualTo(4);
+        assertThat(registry.countByJuzgado(TicketStatus.ASIGNADO)).containsEntry(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Un evento que llega durante la lectura hace releer en lugar de perderse")
+    void eventoDuranteLaLectura() {
+        TicketChangedEvent creado = TicketChangedEvent.builder().type(TicketChangedEvent.Type.CREATED)
+                .status(TicketStatus.SOLICITADO).prioridad(Priority.ALTA).juzgadoId(1L).build();
+        // La primera lectura no ve el alta que se confirma mientras corre; la segunda sí
+        when(ticketRepository.countGroupedByStatusPrioridadAndJuzgado())
+                .thenAnswer(inv -> {
+                    registry.onTicketChanged(creado);
+                    return List.of(new TicketCountRow(TicketStatus.SOLICITADO, Priority.ALTA, 1L, 2));
+                })
+                .thenReturn(List.of(new TicketCountRow(TicketStatus.SOLICITADO, Priority.ALTA, 1L, 3)));
+
+        registry.reconcile();
+
+        assertThat(registry.count(TicketStatus.SOLICITADO, Priority.ALTA)).isEqualTo(3);
+        verify(ticketRepository, times(3)).countGroupedByStatusPrioridadAndJuzgado();
+    }
+
+    @Test
+    @DisplayName("La reconciliación informa la deriva por clave aunque el total coincida")
+    void derivaPorClave(CapturedOutput output) {
+        // Un cambio de estado perdido: mismo total, distinta clave
+        when(ticketRepository.countGroupedByStatusPrioridadAndJuzgado()).thenReturn(List.of(
+                new TicketCountRow(TicketStatus.ASIGNADO, Priority.ALTA, 1L, 2),
+                new TicketCountRow(TicketStatus.CERRADO, Priority.MEDIA, 2L, 5)));
+
+        registry.reconcile();
+
+        assertThat(registry.count(TicketStatus.ASIGNADO, Priority.ALTA)).isEqualTo(2);
+        assertThat(output).contains("deriva en 2 claves")
+                .contains("ASIGNADO/ALTA/1: 0 -> 2")
+                .contains("SOLICITADO/ALTA/1: 2 -> 0");
+    }
+}
@@ -0,0 +1,142 @@
+package com.sojus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sojus.domain.entity.User;
+import com.sojus.domain.enums.Priority;
+import com.sojus.domain.enums.RoleName;
+import com.sojus.domain.enums.TicketStatus;
+import com.sojus.domain.event.TicketChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TicketEventStream — Tests Unitarios")
+class TicketEventStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User admin = User.builder().id(1L).username("admin").role(RoleName.ADMINISTRADOR).build();
+    private TicketEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        // Cola de 4 eventos por suscriptor y 2 hilos de envío
+        stream = new TicketEventStream(new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                64, 60_000, 5_000, 100, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    private static TicketChangedEvent cambio(long ticketId) {
+        return TicketChangedEvent.builder()
+                .type(TicketChangedEvent.Type.STATUS_CHANGED)
+                .ticketId(ticketId)
+                .previousStatus(TicketStatus.ASIGNADO)
+                .status(TicketStatus.EN_CURSO)
+                .prioridad(Priority.MEDIA)
+                .build();
+    }
+
+    private static void awaitTickets(RecordingEmitter emitter, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emitter.tickets() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /** Emisor que registra lo enviado sin escribir en un socket. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        long tickets() {
+            return sent.stream().filter(s -> s.contains("event:" + TicketEventStream.EVENT_TICKET)).count();
+        }
+    }
+
+    /** Cliente que no lee: el primer envío queda bloqueado hasta {@code release}. */
+    private static class StalledEmitter extends RecordingEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.send(builder);
+        }
+    }
+
+    @Test
+    @DisplayName("Un cliente que no lee no demora a los demás y se desconecta al llenar su cola")
+    void clienteLentoNoBloquea() throws InterruptedException {
+        StalledEmitter lento = new StalledEmitter();
+        RecordingEmitter rapido = new RecordingEmitter();
+        stream.subscribe(admin, TicketEventStream.SCOPE_ALL, null, lento);
+        stream.subscribe(admin, TicketEventStream.SCOPE_ALL, null, rapido);
+
+        // Al ritmo del cliente rápido: su cola nunca se llena, la del lento sí
+        for (long id = 1; id <= 20; id++) {
+            stream.onTicketChanged(cambio(id));
+            awaitTickets(rapido, id);
+        }
+
+        assertThat(rapido.tickets()).isEqualTo(20);
+        assertThat(meterRegistry.counter("tickets.stream.slow.disconnects").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tickets.stream.subscribers").gauge().value()).isEqualTo(1);
+
+        // Al destrabarse su envío, el lento se completa sin recibir lo descartado
+        lento.release.countDown();
+        assertThat(lento.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lento.tickets()).isLessThan(20);
+    }
+
+    @Test
+    @DisplayName("Una reanudación que no entra en la cola del suscriptor recibe reset")
+    void reanudacionGrandeRecibeReset() throws InterruptedException {
+        RecordingEmitter primero = new RecordingEmitter();
+        stream.subscribe(admin, TicketEventStream.SCOPE_ALL, null, primero);
+        stream.onTicketChanged(cambio(1));
+        awaitTickets(primero, 1);
+        String primerId = primero.sent.stream().filter(s -> s.contains("id:")).findFirst().orElseThrow();
+        String lastEventId = primerId.substring(primerId.indexOf("id:") + 3, primerId.indexOf('\n', primerId.indexOf("id:")));
+        for (long id = 2; id <= 10; id++) {
+            stream.onTicketChanged(cambio(id));
+        }
+
+        RecordingEmitter reconectado = new RecordingEmitter();
+        stream.subscribe(admin, TicketEventStream.SCOPE_ALL, lastEventId, reconectado);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (reconectado.sent.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(reconectado.sent).anyMatch(s -> s.contains("event:" + TicketEventStream.EVENT_RESET));
+        assertThat(reconectado.tickets()).isZero();
+    }
+}
@@ -0,0 +1,140 @@
+package com.sojus.service;
+
+import com.sojus.domain.entity.Hardware;
+import com.sojus.domain.entity.Juzgado;
+import com.sojus.domain.entity.Ticket;
+import com.sojus.domain.entity.User;
+import com.sojus.dto.TicketResponse;
+import com.sojus.repository.HardwareRepository;
+import com.sojus.repository.JuzgadoRepository;
+import com.sojus.repository.TicketRepository;
+import com.sojus.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark comparativo: lectura de tickets por entidades + toResponse (1+4N consultas,
+ * hidratación y snapshots de dirty-checking) contra la proyección JPQL a TicketResponse.
+ * Usa una BD H2 propia para no alterar los datos semilla de los demás tests.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sojus-projection-bench;DB_CLOSE_DELAY=-1")
+@DisplayName("TicketResponse — Proyección vs. Entidades")
+class TicketProjectionBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketProjectionBenchmarkTest.class);
+    private static final int TICKETS = 300;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private TicketService ticketService;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private HardwareRepository hardwareRepository;
+    @Autowired
+    private JuzgadoRepository juzgadoRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void seed() {
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        if (ticketRepository.count() >= TICKETS) {
+            return;
+        }
+
+        Juzgado juzgado = juzgadoRepository.findAll().get(0);
+        User solicitante = userRepository.findByUsernameAndDeletedFalse("operador").orElseThrow();
+        User tecnico = userRepository.findByUsernameAndDeletedFalse("tecnico").orElseThrow();
+
+        // Un hardware distinto por ticket: cada fila aporta al menos un proxy LAZY nuevo
+        List<Hardware> hardware = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            hardware.add(Hardware.builder().inventarioPatrimonial(String.format("BENCH-%05d", i))
+                    .clase("PC").juzgado(juzgado).build());
+        }
+        hardware = hardwareRepository.saveAll(hardware);
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(Ticket.builder().asunto("Ticket benchmark " + i).descripcion("Carga de prueba")
+                    .juzgado(juzgado).solicitante(solicitante).tecnicoAsignado(tecnico)
+                    .hardwareAfectado(hardware.get(i)).canal("WEB").build());
+        }
+        ticketRepository.saveAll(tickets);
+    }
+
+    @Test
+    @DisplayName("La proyección usa una sola consulta y asigna menos memoria que el camino por entidades")
+    void proyeccionVsEntidades() {
+        Supplier<List<TicketResponse>> entityPath = () -> readOnlyTx.execute(status ->
+                ticketRepository.findAllByDeletedFalse().stream().map(ticketService::toResponse).toList());
+        Supplier<List<TicketResponse>> projectionPath = () -> ticketService.findAll();
+
+        // Calentamiento (JIT, caché de planes de Hibernate)
+        for (int i = 0; i < 3; i++) {
+            entityPath.get();
+            projectionPath.get();
+        }
+
+        Measurement entity = measure(entityPath);
+        Measurement projection = measure(projectionPath);
+
+        log.info("Entidades  : {} filas, {} consultas, {} KB asignados por lectura",
+                entity.rows, entity.statements, entity.allocatedBytes / 1024);
+        log.info("Proyección : {} filas, {} consultas, {} KB asignados por lectura",
+                projection.rows, projection.statements, projection.allocatedBytes / 1024);
+
+        assertThat(projection.rows).isEqualTo(entity.rows).isGreaterThanOrEqualTo(TICKETS);
+        assertThat(projection.statements).isEqualTo(1);
+        assertThat(entity.statements).isGreaterThan(TICKETS);
+        assertThat(projection.allocatedBytes).isLessThan(entity.allocatedBytes);
+    }
+
+    private Measurement measure(Supplier<List<TicketResponse>> path) {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long statements = 0;
+        long allocated = 0;
+        int rows = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            stats.clear();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            rows = path.get().size();
+            allocated += threads.getCurrentThreadAllocatedBytes() - before;
+            statements += stats.getPrepareStatementCount();
+        }
+        stats.setStatisticsEnabled(false);
+        return new Measurement(rows, statements / ROUNDS, allocated / ROUNDS);
+    }
+
+    private record Measurement(int rows, long statements, long allocatedBytes) {
+    }
+}
@@ -2,10 +2,16 @@ package com.sojus.service;
 
 import com.sojus.domain.entity.*;
 import com.sojus.domain.enums.*;
+import com.sojus.domain.event.TicketChangedEvent;
+import com.sojus.dto.BulkTicketRequest;
+import com.sojus.dto.BulkTicketResult;
 import com.sojus.dto.StatusChangeRequest;
+import com.sojus.dto.TicketPageResponse;
 import com.sojus.dto.TicketRequest;
 import com.sojus.dto.TicketResponse;
+import com.sojus.dto.BitacoraEntryResponse;
 import com.sojus.exception.BusinessRuleException;
+import com.sojus.exception.ConcurrentUpdateException;
 import com.sojus.exception.ResourceNotFoundException;
 import com.sojus.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +21,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,7 +52,26 @@ class TicketServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private BitacoraEntryRepository bitacoraEntryRepository;
+    @Mock
+    private AuditLogWriter auditLogWriter;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TechnicianLoadBalancer technicianLoadBalancer;
+    @Mock
+    private SlaPolicy slaPolicy;
+    @Mock
+    private TicketBatchRepository ticketBatchRepository;
+    @Mock
+    private DuplicateDetector duplicateDetector;
+    @Mock
+    private TicketArchiveRepository ticketArchiveRepository;
+    @Spy
+    private PriorityRuleEngine priorityRuleEngine =
+            new PriorityRuleEngine(mock(PriorityRuleRepository.class), new SimpleMeterRegistry());
 
     @InjectMocks
     private TicketService ticketService;
@@ -62,6 +95,11 @@ class TicketServiceTest {
 
         hardware = Hardware.builder().id(1L).inventarioPatrimonial("INV-001-0001")
                 .clase("PC").deleted(false).build();
+        ReflectionTestUtils.setField(ticketService, "optimisticMaxAttempts", 3);
+        priorityRuleEngine.compile(List.of(
+                PriorityRule.builder().keyword("juez").prioridad(Priority.ALTA).build(),
+                PriorityRule.builder().keyword("audiencia").prioridad(Priority.ALTA).build(),
+                PriorityRule.builder().keyword("sala").prioridad(Priority.ALTA).build()));
     }
 
     // ================================================================
@@ -71,6 +109,91 @@ class TicketServiceTest {
     @DisplayName("Crear Tickets")
     class CrearTickets {
 
+        @Test
+        @DisplayName("Con autoAsignar asigna al técnico elegido por carga y lo audita")
+        void crearTicket_autoAsignar() {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Impresora sin conexión");
+            request.setDescripcion("No imprime desde la mañana");
+            request.setPrioridad("MEDIA");
+            request.setJuzgadoId(1L);
+            request.setAutoAsignar(true);
+
+            when(juzgadoRepository.findById(1L)).thenReturn(Optional.of(juzgado));
+            when(technicianLoadBalancer.pick(Priority.MEDIA, 1L, null))
+                    .thenReturn(Optional.of(new TechnicianLoadBalancer.Assignment(3L, 4, "mismo juzgado")));
+            when(userRepository.findById(3L)).thenReturn(Optional.of(tecnico));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
+                Ticket t = inv.getArgument(0);
+                t.setId(1L);
+                t.setCreatedAt(LocalDateTime.now());
+                return t;
+            });
+
+            TicketResponse response = ticketService.create(request, operador);
+
+            assertThat(response.getStatus()).isEqualTo("ASIGNADO");
+            assertThat(response.getTecnicoNombre()).isEqualTo("Técnico");
+            verify(auditLogWriter).record(argThat(a -> "ASIGNACION_AUTOMATICA".equals(a.getAction())
+                    && a.getNewValue().equals("tecnico (carga 4, mismo juzgado)")));
+            verify(ticketRepository, never()).countGroupedByStatusPrioridadAndJuzgado();
+        }
+
+        @Test
+        @DisplayName("Marca los tickets abiertos parecidos del mismo juzgado y publica el texto para indexarlo")
+        void crearTicket_posiblesDuplicados() {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("No imprime la impresora");
+            request.setDescripcion("Impresora del juzgado 1");
+            request.setJuzgadoId(1L);
+
+            when(juzgadoRepository.findById(1L)).thenReturn(Optional.of(juzgado));
+            when(duplicateDetector.findSimilar(1L, "No imprime la impresora", "Impresora del juzgado 1"))
+                    .thenReturn(List.of(new DuplicateDetector.Match(5L, 0.8), new DuplicateDetector.Match(4L, 0.6)));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
+                Ticket t = inv.getArgument(0);
+                t.setId(6L);
+                return t;
+            });
+
+            TicketResponse response = ticketService.create(request, operador);
+
+            assertThat(response.getPosiblesDuplicados()).containsExactly(5L, 4L);
+            verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof TicketChangedEvent t
+                    && t.getType() == TicketChangedEvent.Type.CREATED
+                    && "No imprime la impresora".equals(t.getAsunto())));
+        }
+
+        @Test
+        @DisplayName("Un candidato que ya no es técnico activo se descarta y se elige otro")
+        void crearTicket_autoAsignarDescartaInactivo() {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Monitor roto");
+            request.setDescripcion("Pantalla negra");
+            request.setJuzgadoId(1L);
+            request.setAutoAsignar(true);
+            User baja = User.builder().id(9L).username("baja").fullName("Baja")
+                    .role(RoleName.TECNICO).active(false).build();
+
+            when(juzgadoRepository.findById(1L)).thenReturn(Optional.of(juzgado));
+            when(technicianLoadBalancer.pick(any(), any(), any()))
+                    .thenReturn(Optional.of(new TechnicianLoadBalancer.Assignment(9L, 0, "sin afinidad")))
+                    .thenReturn(Optional.of(new TechnicianLoadBalancer.Assignment(3L, 1, "sin afinidad")));
+            when(userRepository.findById(9L)).thenReturn(Optional.of(baja));
+            when(userRepository.findById(3L)).thenReturn(Optional.of(tecnico));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
+                Ticket t = inv.getArgument(0);
+                t.setId(2L);
+                return t;
+            });
+
+            TicketResponse response = ticketService.create(request, operador);
+
+            assertThat(response.getTecnicoNombre()).isEqualTo("Técnico");
+            verify(technicianLoadBalancer).release(9L, Priority.MEDIA);
+            verify(technicianLoadBalancer).evict(9L);
+        }
+
         @Test
         @DisplayName("Debe crear ticket con datos válidos")
         void crearTicket_datosValidos() {
@@ -87,7 +210,6 @@ class TicketServiceTest {
                 t.setCreatedAt(LocalDateTime.now());
                 return t;
             });
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
 
             TicketResponse response = ticketService.create(request, operador);
 
@@ -96,7 +218,7 @@ class TicketServiceTest {
             assertThat(response.getStatus()).isEqualTo("SOLICITADO");
             assertThat(response.getPrioridad()).isEqualTo("MEDIA");
             verify(ticketRepository).save(any(Ticket.class));
-            verify(auditLogRepository).save(any(AuditLog.class));
+            verify(auditLogWriter).record(any(AuditLog.class));
         }
 
         @Test
@@ -115,7 +237,6 @@ class TicketServiceTest {
                 t.setCreatedAt(LocalDateTime.now());
                 return t;
             });
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
 
             TicketResponse response = ticketService.create(request, operador);
 
@@ -137,7 +258,26 @@ class TicketServiceTest {
                 t.setCreatedAt(LocalDateTime.now());
                 return t;
             });
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
+
+            TicketResponse response = ticketService.create(request, operador);
+
+            assertThat(response.getPrioridad()).isEqualTo("ALTA");
+        }
+
+        @Test
+        @DisplayName("Las reglas también aplican a la descripción, sin distinguir acentos")
+        void crearTicket_prioridadAltaPorDescripcion() {
+            TicketRequest request = new TicketRequest();
+            request.setAsunto("Monitor sin imagen");
+            request.setDescripcion("Es el monitor del JUÉZ de turno");
+            request.setPrioridad("BAJA");
+
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> {
+                Ticket t = inv.getArgument(0);
+                t.setId(4L);
+                t.setCreatedAt(LocalDateTime.now());
+                return t;
+            });
 
             TicketResponse response = ticketService.create(request, operador);
 
@@ -155,8 +295,9 @@ class TicketServiceTest {
 
             when(juzgadoRepository.findById(1L)).thenReturn(Optional.of(juzgado));
             when(hardwareRepository.findById(1L)).thenReturn(Optional.of(hardware));
-            when(ticketRepository.existsByHardwareAfectadoIdAndStatusNotAndDeletedFalse(
-                    1L, TicketStatus.CERRADO)).thenReturn(true);
+            when(ticketRepository.save(any(Ticket.class))).thenThrow(new DataIntegrityViolationException(
+                    "could not execute statement",
+                    new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_TICKETS_HARDWARE_ACTIVO\"")));
 
             assertThatThrownBy(() -> ticketService.create(request, operador))
                     .isInstanceOf(BusinessRuleException.class)
@@ -199,7 +340,6 @@ class TicketServiceTest {
             when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
             when(userRepository.findById(3L)).thenReturn(Optional.of(tecnico));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
 
             TicketResponse response = ticketService.changeStatus(1L, req, "admin");
 
@@ -217,7 +357,6 @@ class TicketServiceTest {
 
             when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
 
             TicketResponse response = ticketService.changeStatus(1L, req, "tecnico");
 
@@ -236,7 +375,6 @@ class TicketServiceTest {
 
             when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
 
             TicketResponse response = ticketService.changeStatus(1L, req, "tecnico");
 
@@ -244,6 +382,28 @@ class TicketServiceTest {
             assertThat(response.getClosedAt()).isNotNull();
         }
 
+        @Test
+        @DisplayName("El comentario se agrega como una entrada de bitácora sin reescribir el historial")
+        void cambioEstado_agregaEntradaBitacora() {
+            Ticket ticket = Ticket.builder().id(1L).asunto("Test").status(TicketStatus.ASIGNADO)
+                    .prioridad(Priority.MEDIA).deleted(false).bitacoraCount(4)
+                    .createdAt(LocalDateTime.now()).build();
+
+            StatusChangeRequest req = new StatusChangeRequest();
+            req.setStatus("EN_CURSO");
+            req.setComentario("Revisando el equipo");
+
+            when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            TicketResponse response = ticketService.changeStatus(1L, req, "tecnico");
+
+            verify(bitacoraEntryRepository).save(argThat(e -> e.getTicket() == ticket
+                    && "tecnico".equals(e.getAutor()) && "Revisando el equipo".equals(e.getTexto())));
+            assertThat(ticket.getBitacora()).isNull();
+            assertThat(response.getBitacoraCount()).isEqualTo(5);
+        }
+
         @Test
         @DisplayName("SOLICITADO → EN_CURSO debe fallar (transición inválida)")
         void cambioEstado_transicionInvalida() {
@@ -304,43 +464,78 @@ class TicketServiceTest {
         @Test
         @DisplayName("findAllForUser ADMIN devuelve todos los tickets")
         void findAllForUser_admin() {
-            Ticket t1 = Ticket.builder().id(1L).asunto("T1").status(TicketStatus.SOLICITADO)
-                    .prioridad(Priority.MEDIA).deleted(false).createdAt(LocalDateTime.now()).build();
-            Ticket t2 = Ticket.builder().id(2L).asunto("T2").status(TicketStatus.ASIGNADO)
-                    .prioridad(Priority.ALTA).deleted(false).createdAt(LocalDateTime.now()).build();
+            TicketResponse t1 = TicketResponse.builder().id(1L).asunto("T1").status("SOLICITADO")
+                    .prioridad("MEDIA").build();
+            TicketResponse t2 = TicketResponse.builder().id(2L).asunto("T2").status("ASIGNADO")
+                    .prioridad("ALTA").build();
 
-            when(ticketRepository.findAllByDeletedFalse()).thenReturn(List.of(t1, t2));
+            when(ticketRepository.findResponsesByDeletedFalse()).thenReturn(List.of(t1, t2));
 
             List<TicketResponse> result = ticketService.findAllForUser(admin);
 
             assertThat(result).hasSize(2);
-            verify(ticketRepository).findAllByDeletedFalse();
+            verify(ticketRepository).findResponsesByDeletedFalse();
+            verify(ticketRepository, never()).findAllByDeletedFalse();
         }
 
         @Test
         @DisplayName("findAllForUser TECNICO devuelve solo tickets asignados")
         void findAllForUser_tecnico() {
-            Ticket t1 = Ticket.builder().id(1L).asunto("T1").status(TicketStatus.ASIGNADO)
-                    .prioridad(Priority.MEDIA).deleted(false).createdAt(LocalDateTime.now()).build();
+            TicketResponse t1 = TicketResponse.builder().id(1L).asunto("T1").status("ASIGNADO")
+                    .prioridad("MEDIA").build();
 
-            when(ticketRepository.findAllByTecnicoAsignadoIdAndDeletedFalse(3L))
+            when(ticketRepository.findResponsesByTecnicoAsignadoId(3L))
                     .thenReturn(List.of(t1));
 
             List<TicketResponse> result = ticketService.findAllForUser(tecnico);
 
             assertThat(result).hasSize(1);
-            verify(ticketRepository).findAllByTecnicoAsignadoIdAndDeletedFalse(3L);
+            verify(ticketRepository).findResponsesByTecnicoAsignadoId(3L);
+        }
+
+        @Test
+        @DisplayName("findPageForUser TECNICO pagina solo sus tickets y limita el tamaño")
+        void findPageForUser_tecnico() {
+            Ticket t1 = Ticket.builder().id(7L).asunto("T7").status(TicketStatus.ASIGNADO)
+                    .prioridad(Priority.MEDIA).deleted(false).createdAt(LocalDateTime.now()).build();
+
+            when(ticketRepository.findPageByTecnico(eq(3L), isNull(), isNull(), any()))
+                    .thenReturn(List.of(t1));
+
+            TicketPageResponse page = ticketService.findPageForUser(tecnico, null, 10_000);
+
+            assertThat(page.getItems()).hasSize(1);
+            assertThat(page.isHasMore()).isFalse();
+            assertThat(page.getNextCursor()).isNull();
+            verify(ticketRepository).findPageByTecnico(3L, null, null,
+                    Limit.of(TicketService.MAX_PAGE_SIZE + 1));
         }
 
         @Test
         @DisplayName("findById con ticket eliminado lanza excepción")
         void findById_ticketEliminado() {
-            Ticket deleted = Ticket.builder().id(5L).asunto("Del").deleted(true).build();
-            when(ticketRepository.findById(5L)).thenReturn(Optional.of(deleted));
+            // La proyección filtra deleted = false: un ticket eliminado no devuelve fila
+            when(ticketRepository.findResponseById(5L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> ticketService.findById(5L))
                     .isInstanceOf(ResourceNotFoundException.class);
         }
+
+        @Test
+        @DisplayName("findById y la bitácora caen al archivo si el ticket ya no está en la tabla viva")
+        void findById_archivado() {
+            TicketResponse archivado = TicketResponse.builder().id(5L).status("CERRADO").build();
+            when(ticketRepository.findResponseById(5L)).thenReturn(Optional.empty());
+            when(ticketArchiveRepository.findResponseById(5L)).thenReturn(Optional.of(archivado));
+            when(ticketRepository.existsByIdAndDeletedFalse(5L)).thenReturn(false);
+            when(ticketArchiveRepository.existsById(5L)).thenReturn(true);
+            when(ticketArchiveRepository.findBitacoraPage(5L, null, TicketService.DEFAULT_PAGE_SIZE + 1))
+                    .thenReturn(List.of(new BitacoraEntryResponse(1L, "tecnico", "Cerrado", LocalDateTime.now())));
+
+            assertThat(ticketService.findById(5L)).isSameAs(archivado);
+            assertThat(ticketService.findBitacora(5L, null, null).getItems()).hasSize(1);
+            verifyNoInteractions(bitacoraEntryRepository);
+        }
     }
 
     // ================================================================
@@ -359,7 +554,6 @@ class TicketServiceTest {
 
             when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
             when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(auditLogRepository.save(any(AuditLog.class))).thenReturn(new AuditLog());
 
             ticketService.softDelete(1L, "admin");
 
@@ -376,4 +570,176 @@ class TicketServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
+
+    // ================================================================
+    // CONCURRENCIA OPTIMISTA
+    // ================================================================
+    @Nested
+    @DisplayName("Concurrencia Optimista")
+    class ConcurrenciaOptimista {
+
+        private Ticket ticket(TicketStatus status) {
+            return Ticket.builder().id(1L).asunto("Test").status(status).prioridad(Priority.MEDIA)
+                    .deleted(false).version(7L).createdAt(LocalDateTime.now()).build();
+        }
+
+        @Test
+        @DisplayName("Un comentario que choca con otra escritura se reintenta en una transacción nueva")
+        void comentarioReintentaConflicto() {
+            Ticket ticket = ticket(TicketStatus.EN_CURSO);
+            when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+            when(bitacoraEntryRepository.save(any(BitacoraEntry.class))).thenAnswer(inv -> {
+                BitacoraEntry e = inv.getArgument(0);
+                e.setId(10L);
+                return e;
+            });
+            when(ticketRepository.save(any(Ticket.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Ticket.class, 1L))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            BitacoraEntryResponse response = ticketService.addComment(1L, "Reemplazo de fuente", "tecnico");
+
+            assertThat(response.getId()).isEqualTo(10L);
+            assertThat(response.getTexto()).isEqualTo("Reemplazo de fuente");
+            verify(ticketRepository, times(2)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Agotados los reintentos de un comentario responde 409 con el estado vigente")
+        void comentarioAgotaReintentos() {
+            TicketResponse current = TicketResponse.builder().id(1L).status("EN_CURSO").version(9L).build();
+            when(ticketRepository.findById(1L)).thenAnswer(inv -> Optional.of(ticket(TicketStatus.EN_CURSO)));
+            when(ticketRepository.save(any(Ticket.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Ticket.class, 1L));
+            when(ticketRepository.findResponseById(1L)).thenReturn(Optional.of(current));
+
+            assertThatThrownBy(() -> ticketService.addComment(1L, "Nota", "tecnico"))
+                    .isInstanceOf(ConcurrentUpdateException.class)
+                    .extracting("current").isEqualTo(current);
+            verify(ticketRepository, times(3)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Un cambio de estado en conflicto no se reintenta y devuelve el estado vigente")
+        void cambioEstadoConflictoNoReintenta() {
+            TicketResponse current = TicketResponse.builder().id(1L).status("EN_CURSO").version(8L).build();
+            when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket(TicketStatus.ASIGNADO)));
+            when(ticketRepository.save(any(Ticket.class))).thenAnswer(inv -> inv.getArgument(0));
+            doThrow(new ObjectOptimisticLockingFailureException(Ticket.class, 1L)).when(ticketRepository).flush();
+            when(ticketRepository.findResponseById(1L)).thenReturn(Optional.of(current));
+
+            StatusChangeRequest req = new StatusChangeRequest();
+            req.setStatus("EN_CURSO");
+
+            assertThatThrownBy(() -> ticketService.changeStatus(1L, req, "tecnico"))
+                    .isInstanceOf(ConcurrentUpdateException.class)
+                    .extracting("current").isEqualTo(current);
+            verify(ticketRepository, times(1)).findById(1L);
+            verifyNoInteractions(auditLogWriter);
+        }
+
+        @Test
+        @DisplayName("Una versión esperada desactualizada responde 409 sin modificar el ticket")
+        void cambioEstadoVersionDesactualizada() {
+            when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket(TicketStatus.ASIGNADO)));
+
+            StatusChangeRequest req = new StatusChangeRequest();
+            req.setStatus("EN_CURSO");
+            req.setVersion(6L);
+
+            assertThatThrownBy(() -> ticketService.changeStatus(1L, req, "tecnico"))
+                    .isInstanceOf(ConcurrentUpdateException.class)
+                    .extracting("current.version").isEqualTo(7L);
+            verify(ticketRepository, never()).save(any());
+        }
+    }
+
+    // ================================================================
+    // OPERACIONES MASIVAS
+    // ================================================================
+    @Nested
+    @DisplayName("Operaciones Masivas")
+    class OperacionesMasivas {
+
+        private BulkTicketRequest request(String operacion, Long... ids) {
+            BulkTicketRequest request = new BulkTicketRequest();
+            request.setOperacion(operacion);
+            request.setIds(List.of(ids));
+            return request;
+        }
+
+        private TicketBatchRepository.Row row(Long id, TicketStatus status, long version) {
+            return new TicketBatchRepository.Row(id, status, Priority.MEDIA, 1L, 2L, 3L, version);
+        }
+
+        @Test
+        @DisplayName("Informa el resultado de cada ticket y solo escribe los que pasan la validación")
+        void cambiarEstadoPorLote() {
+            BulkTicketRequest request = request("CAMBIAR_ESTADO", 10L, 11L, 12L, 10L, 99L);
+            request.setStatus("EN_CURSO");
+            request.setComentario("Revisión programada");
+            when(ticketBatchRepository.findActiveByIds(List.of(10L, 11L, 12L, 99L))).thenReturn(List.of(
+                    row(10L, TicketStatus.ASIGNADO, 1),
+                    row(11L, TicketStatus.CERRADO, 4),
+                    row(12L, TicketStatus.ASIGNADO, 2)));
+            when(ticketBatchRepository.updateAll(anyList())).thenReturn(new int[] { 1, 0 });
+
+            BulkTicketResult result = ticketService.bulk(request, "admin");
+
+            assertThat(result.getTotal()).isEqualTo(4);
+            assertThat(result.getAplicados()).isEqualTo(1);
+            assertThat(result.getRechazados()).isEqualTo(3);
+            assertThat(result.getItems()).extracting(BulkTicketResult.Item::getId, BulkTicketResult.Item::getResultado,
+                    BulkTicketResult.Item::getVersion).containsExactly(
+                            tuple(10L, BulkTicketResult.Resultado.APLICADO, 2L),
+                            tuple(11L, BulkTicketResult.Resultado.TRANSICION_INVALIDA, 4L),
+                            tuple(12L, BulkTicketResult.Resultado.CONFLICTO, null),
+                            tuple(99L, BulkTicketResult.Resultado.NO_ENCONTRADO, null));
+            verify(ticketBatchRepository).updateAll(argThat(updates -> updates.size() == 2
+                    && updates.stream().allMatch(u -> u.status() == TicketStatus.EN_CURSO && u.comentarios() == 1)));
+            verify(ticketBatchRepository).insertBitacora(List.of(10L), "admin", "Revisión programada");
+            verify(ticketBatchRepository).insertAudit(argThat(logs -> logs.size() == 1
+                    && "CAMBIO_ESTADO".equals(logs.get(0).getAction()) && logs.get(0).getEntityId().equals(10L)));
+            verifyNoInteractions(auditLogWriter);
+            verify(eventPublisher, times(1)).publishEvent(argThat((Object e) -> e instanceof TicketChangedEvent t
+                    && t.getTicketId().equals(10L) && t.getPreviousStatus() == TicketStatus.ASIGNADO));
+        }
+
+        @Test
+        @DisplayName("ASIGNAR pasa SOLICITADO a ASIGNADO y conserva el estado de los tickets en curso")
+        void asignarPorLote() {
+            BulkTicketRequest request = request("ASIGNAR", 20L, 21L);
+            request.setTecnicoId(3L);
+            when(userRepository.findById(3L)).thenReturn(Optional.of(tecnico));
+            when(ticketBatchRepository.findActiveByIds(List.of(20L, 21L))).thenReturn(List.of(
+                    row(20L, TicketStatus.SOLICITADO, 0),
+                    row(21L, TicketStatus.EN_CURSO, 3)));
+            when(ticketBatchRepository.updateAll(anyList())).thenReturn(new int[] { 1, 1 });
+
+            BulkTicketResult result = ticketService.bulk(request, "admin");
+
+            assertThat(result.getAplicados()).isEqualTo(2);
+            verify(ticketBatchRepository).updateAll(List.of(
+                    new TicketBatchRepository.Update(20L, 0, TicketStatus.ASIGNADO, 3L, null, 0),
+                    new TicketBatchRepository.Update(21L, 3, TicketStatus.EN_CURSO, 3L, null, 0)));
+            verify(ticketBatchRepository, never()).insertBitacora(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Rechaza la operación completa si el técnico no tiene rol TECNICO o falta el comentario")
+        void validacionesGenerales() {
+            BulkTicketRequest asignar = request("ASIGNAR", 1L);
+            asignar.setTecnicoId(2L);
+            when(userRepository.findById(2L)).thenReturn(Optional.of(operador));
+
+            assertThatThrownBy(() -> ticketService.bulk(asignar, "admin"))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("no tiene rol TECNICO");
+            assertThatThrownBy(() -> ticketService.bulk(request("COMENTAR", 1L), "admin"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> ticketService.bulk(request("ARCHIVAR", 1L), "admin"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(ticketBatchRepository);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.sojus.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TimingWheel — Tests Unitarios")
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("Cada vencimiento se dispara en su tick, atravesando los niveles en cascada")
+    void disparaEnSuTick() {
+        // Ticks de 1 ms, 4 casilleros, 3 niveles: abarca 64 ticks; más allá se re-ubica en cada vuelta
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, 3, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = START + 1 + random.nextInt(300);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        assertThat(wheel.size()).isEqualTo(500);
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START + 1; now <= START + 301; now++) {
+            for (Long deadline : wheel.advance(now)) {
+                assertThat(deadline).isEqualTo(now);
+                fired.add(deadline);
+            }
+        }
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Lo cancelado no se dispara; lo ya vencido no se agenda")
+    void cancelacionYVencidos() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 64, 4, START);
+        TimingWheel.Timeout<String> cancelado = wheel.schedule("cancelado", START + 5_000);
+        wheel.schedule("vigente", START + 5_000);
+        wheel.cancel(cancelado);
+
+        assertThat(wheel.schedule("vencido", START)).isNull();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly("vigente");
+    }
+
+    @Test
+    @DisplayName("Un salto largo del reloj dispara todo lo vencido en el intervalo")
+    void saltoDelReloj() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 64, 4, START);
+        wheel.schedule("hora", START + 3_600_000);
+        wheel.schedule("dia", START + 86_400_000);
+
+        assertThat(wheel.advance(START + 7_200_000)).containsExactly("hora");
+        assertThat(wheel.advance(START + 90_000_000)).containsExactly("dia");
+    }
+}
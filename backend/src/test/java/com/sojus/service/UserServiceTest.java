@@ -2,6 +2,7 @@ package com.sojus.service;
 
 import com.sojus.domain.entity.User;
 import com.sojus.domain.enums.RoleName;
+import com.sojus.domain.event.UserChangedEvent;
 import com.sojus.dto.UserResponse;
 import com.sojus.exception.BusinessRuleException;
 import com.sojus.exception.ResourceNotFoundException;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -32,6 +34,8 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private UserService userService;
@@ -120,6 +124,7 @@ class UserServiceTest {
 
             assertThat(result.getFullName()).isEqualTo("Admin Actualizado");
             assertThat(result.getEmail()).isEqualTo("new@test.com");
+            verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
         }
 
         @Test
@@ -173,6 +178,7 @@ class UserServiceTest {
 
             assertThat(tecnicoUser.getDeleted()).isTrue();
             assertThat(tecnicoUser.getActive()).isFalse();
+            verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
         }
 
         @Test
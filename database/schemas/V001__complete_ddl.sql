@@ -5,7 +5,16 @@
 -- ============================================================
 
 -- Limpiar tablas existentes (orden inverso de dependencias)
+DROP TABLE IF EXISTS audit_checkpoints CASCADE;
+DROP TABLE IF EXISTS audit_chain_head CASCADE;
+DROP TABLE IF EXISTS audit_log_archive CASCADE;
+DROP TABLE IF EXISTS ticket_bitacora_archive CASCADE;
+DROP TABLE IF EXISTS tickets_archive CASCADE;
+DROP TABLE IF EXISTS idempotency_keys CASCADE;
+DROP TABLE IF EXISTS audit_outbox   CASCADE;
 DROP TABLE IF EXISTS audit_log      CASCADE;
+DROP TABLE IF EXISTS ticket_bitacora CASCADE;
+DROP TABLE IF EXISTS priority_rules CASCADE;
 DROP TABLE IF EXISTS tickets        CASCADE;
 DROP TABLE IF EXISTS hardware       CASCADE;
 DROP TABLE IF EXISTS software       CASCADE;
@@ -118,6 +127,7 @@ CREATE TABLE hardware (
     created_at              TIMESTAMP       NOT NULL DEFAULT NOW(),
     updated_at              TIMESTAMP,
     deleted                 BOOLEAN         NOT NULL DEFAULT FALSE,
+    version                 BIGINT          NOT NULL DEFAULT 0,     -- Concurrencia optimista (@Version)
 
     CONSTRAINT fk_hardware_juzgado
         FOREIGN KEY (juzgado_id)
@@ -152,6 +162,9 @@ CREATE TABLE software (
 -- 4. MESA DE AYUDA (TICKETS)
 -- ============================================================
 
+-- Sin particionar: la FK de ticket_bitacora y el índice único de equipo activo necesitan unicidad
+-- global por id y por hardware_id, que una tabla particionada por fecha no puede garantizar. El
+-- tamaño lo acota TicketArchiver, que mueve los cerrados antiguos a tickets_archive.
 CREATE TABLE tickets (
     id                  BIGSERIAL       PRIMARY KEY,
     asunto              VARCHAR(200)    NOT NULL,
@@ -162,12 +175,15 @@ CREATE TABLE tickets (
     solicitante_id      BIGINT,
     tecnico_asignado_id BIGINT,
     hardware_id         BIGINT,
-    bitacora            TEXT,
+    bitacora            TEXT,           -- Legado: migrado a ticket_bitacora al arrancar la aplicación
+    bitacora_count      INTEGER         NOT NULL DEFAULT 0,
     canal               VARCHAR(50),
     created_at          TIMESTAMP       NOT NULL DEFAULT NOW(),
     updated_at          TIMESTAMP,
     closed_at           TIMESTAMP,
+    sla_vencimiento     TIMESTAMP,      -- Plazo de resolución fijado al abrir (prioridad / contrato)
     deleted             BOOLEAN         NOT NULL DEFAULT FALSE,
+    version             BIGINT          NOT NULL DEFAULT 0,     -- Concurrencia optimista (@Version)
 
     CONSTRAINT fk_ticket_juzgado
         FOREIGN KEY (juzgado_id)
@@ -196,6 +212,33 @@ CREATE TABLE tickets (
         CHECK (prioridad IN ('ALTA', 'MEDIA', 'BAJA'))
 );
 
+-- Bitácora append-only: una fila por comentario
+CREATE TABLE ticket_bitacora (
+    id          BIGSERIAL       PRIMARY KEY,
+    ticket_id   BIGINT          NOT NULL,
+    autor       VARCHAR(50),
+    texto       TEXT            NOT NULL,
+    created_at  TIMESTAMP       NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_bitacora_ticket
+        FOREIGN KEY (ticket_id)
+        REFERENCES tickets (id)
+        ON DELETE CASCADE
+);
+
+-- Reglas de priorización automática por palabra clave (asunto/descripción)
+CREATE TABLE priority_rules (
+    id          BIGSERIAL       PRIMARY KEY,
+    keyword     VARCHAR(100)    NOT NULL UNIQUE,
+    prioridad   VARCHAR(10)     NOT NULL DEFAULT 'ALTA',
+    active      BOOLEAN         NOT NULL DEFAULT TRUE,
+    created_at  TIMESTAMP       NOT NULL DEFAULT NOW(),
+    updated_at  TIMESTAMP,
+
+    CONSTRAINT chk_priority_rule_prioridad
+        CHECK (prioridad IN ('ALTA', 'MEDIA', 'BAJA'))
+);
+
 -- ============================================================
 -- 5. CONTRATOS Y ALERTAS
 -- ============================================================
@@ -220,7 +263,96 @@ CREATE TABLE contracts (
 -- 6. AUDITORÍA (LOG INMUTABLE)
 -- ============================================================
 
+-- Particionada por mes sobre timestamp: las consultas acotadas por fecha leen solo las particiones
+-- del rango y la retención desprende particiones enteras en lugar de hacer DELETE masivos.
+-- La PK incluye la clave de partición; AuditLog sigue mapeando solo id.
 CREATE TABLE audit_log (
+    id          BIGSERIAL,
+    entity_name VARCHAR(50)     NOT NULL,
+    entity_id   BIGINT,
+    action      VARCHAR(30)     NOT NULL,
+    username    VARCHAR(50),
+    old_value   TEXT,
+    new_value   TEXT,
+    field       VARCHAR(100),
+    timestamp   TIMESTAMP       NOT NULL DEFAULT NOW(),
+    chain_seq   BIGINT,         -- posición en la cadena, asignada bajo el bloqueo de audit_chain_head
+    hash        VARCHAR(64),    -- SHA-256(hash anterior + posición + contenido), en orden de chain_seq
+
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Red de seguridad para filas fuera de las particiones mensuales creadas
+CREATE TABLE audit_log_default PARTITION OF audit_log DEFAULT;
+
+-- Crea las particiones mensuales audit_log_YYYY_MM de p_meses meses desde el mes de p_desde.
+-- Si la partición por defecto ya tiene filas del mes, las traslada antes de adjuntarla.
+-- Idempotente: la invoca AuditPartitionMaintenance a diario.
+CREATE OR REPLACE FUNCTION fn_audit_log_crear_particiones(p_desde DATE, p_meses INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_inicio  DATE := date_trunc('month', p_desde)::DATE;
+    v_fin     DATE;
+    v_nombre  TEXT;
+    v_creadas INTEGER := 0;
+BEGIN
+    FOR i IN 1 .. p_meses LOOP
+        v_fin := (v_inicio + INTERVAL '1 month')::DATE;
+        v_nombre := 'audit_log_' || to_char(v_inicio, 'YYYY_MM');
+        IF to_regclass(v_nombre) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM audit_log_default WHERE timestamp >= v_inicio AND timestamp < v_fin) THEN
+                EXECUTE format('CREATE TABLE %I (LIKE audit_log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               v_nombre);
+                EXECUTE format('WITH movidas AS (DELETE FROM audit_log_default WHERE timestamp >= %L '
+                               'AND timestamp < %L RETURNING *) INSERT INTO %I SELECT * FROM movidas',
+                               v_inicio, v_fin, v_nombre);
+                EXECUTE format('ALTER TABLE audit_log ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               v_nombre, v_inicio, v_fin);
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+                               v_nombre, v_inicio, v_fin);
+            END IF;
+            v_creadas := v_creadas + 1;
+        END IF;
+        v_inicio := v_fin;
+    END LOOP;
+    RETURN v_creadas;
+END;
+$$;
+
+-- Desprende y elimina las particiones mensuales que terminaron hace más de p_retencion_meses meses.
+CREATE OR REPLACE FUNCTION fn_audit_log_purgar_particiones(p_retencion_meses INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_limite    DATE := (date_trunc('month', NOW()) - make_interval(months => p_retencion_meses))::DATE;
+    v_nombre    TEXT;
+    v_borradas  INTEGER := 0;
+BEGIN
+    FOR v_nombre IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit_log'::REGCLASS
+          AND c.relname ~ '^audit_log_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF (to_date(substring(v_nombre FROM 11), 'YYYY_MM') + INTERVAL '1 month')::DATE <= v_limite THEN
+            EXECUTE format('ALTER TABLE audit_log DETACH PARTITION %I', v_nombre);
+            EXECUTE format('DROP TABLE %I', v_nombre);
+            v_borradas := v_borradas + 1;
+        END IF;
+    END LOOP;
+    RETURN v_borradas;
+END;
+$$;
+
+SELECT fn_audit_log_crear_particiones(CURRENT_DATE, 4);
+
+-- Outbox transaccional de auditoría: AuditLogWriter escribe aquí dentro de la transacción de
+-- negocio y un hilo escritor mueve las filas a audit_log por lotes (INSERT + DELETE en una misma
+-- transacción). Lo pendiente sobrevive a una caída y lo toma el próximo arranque.
+CREATE TABLE audit_outbox (
     id          BIGSERIAL       PRIMARY KEY,
     entity_name VARCHAR(50)     NOT NULL,
     entity_id   BIGINT,
@@ -229,7 +361,97 @@ CREATE TABLE audit_log (
     old_value   TEXT,
     new_value   TEXT,
     field       VARCHAR(100),
-    timestamp   TIMESTAMP       NOT NULL DEFAULT NOW()
+    timestamp   TIMESTAMP       NOT NULL
+);
+
+-- Respuestas de POST con Idempotency-Key: un reintento con la misma clave devuelve la respuesta
+-- guardada sin volver a ejecutar la escritura. status_code NULL = solicitud en curso.
+CREATE TABLE idempotency_keys (
+    id            VARCHAR(64)     PRIMARY KEY,   -- SHA-256 de usuario + endpoint + clave
+    username      VARCHAR(50)     NOT NULL,
+    endpoint      VARCHAR(100)    NOT NULL,
+    request_hash  VARCHAR(64)     NOT NULL,
+    status_code   INTEGER,
+    response_body TEXT,
+    created_at    TIMESTAMP       NOT NULL DEFAULT NOW(),
+    expires_at    TIMESTAMP       NOT NULL
+);
+
+-- ============================================================
+-- 6.1 ARCHIVO DE TICKETS CERRADOS
+-- ============================================================
+-- TicketArchiver mueve aquí los tickets cerrados hace más de app.archive.months meses, con su
+-- bitácora y su auditoría. Sin claves foráneas: los nombres asociados se guardan resueltos.
+
+CREATE TABLE tickets_archive (
+    id                  BIGINT          PRIMARY KEY,
+    asunto              VARCHAR(200)    NOT NULL,
+    descripcion         TEXT,
+    status              VARCHAR(20)     NOT NULL,
+    prioridad           VARCHAR(10)     NOT NULL,
+    juzgado_id          BIGINT,
+    juzgado_nombre      VARCHAR(200),
+    solicitante_id      BIGINT,
+    solicitante_nombre  VARCHAR(100),
+    tecnico_asignado_id BIGINT,
+    tecnico_nombre      VARCHAR(100),
+    hardware_id         BIGINT,
+    hardware_inventario VARCHAR(30),
+    bitacora_count      INTEGER         NOT NULL DEFAULT 0,
+    canal               VARCHAR(50),
+    created_at          TIMESTAMP       NOT NULL,
+    updated_at          TIMESTAMP,
+    closed_at           TIMESTAMP,
+    sla_vencimiento     TIMESTAMP,
+    deleted             BOOLEAN         NOT NULL DEFAULT FALSE,
+    version             BIGINT          NOT NULL DEFAULT 0,
+    archived_at         TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE ticket_bitacora_archive (
+    id          BIGINT          PRIMARY KEY,
+    ticket_id   BIGINT          NOT NULL,
+    autor       VARCHAR(50),
+    texto       TEXT            NOT NULL,
+    created_at  TIMESTAMP       NOT NULL
+);
+
+CREATE TABLE audit_log_archive (
+    id          BIGINT          PRIMARY KEY,
+    entity_name VARCHAR(50)     NOT NULL,
+    entity_id   BIGINT,
+    action      VARCHAR(30)     NOT NULL,
+    username    VARCHAR(50),
+    old_value   TEXT,
+    new_value   TEXT,
+    field       VARCHAR(100),
+    timestamp   TIMESTAMP       NOT NULL,
+    chain_seq   BIGINT,
+    hash        VARCHAR(64)
+);
+
+-- Cabeza de la cadena de auditoría: una sola fila. Cada lote de AuditLogWriter la bloquea con
+-- SELECT ... FOR UPDATE, numera sus filas a continuación de last_seq y la actualiza en la misma
+-- transacción: varias instancias encadenan de a una y el orden no depende de los ids.
+CREATE TABLE audit_chain_head (
+    id          INTEGER         PRIMARY KEY CHECK (id = 1),
+    last_seq    BIGINT          NOT NULL,
+    last_hash   VARCHAR(64)     NOT NULL
+);
+
+INSERT INTO audit_chain_head (id, last_seq, last_hash) VALUES (1, 0, REPEAT('0', 64));
+
+-- Verificación incremental de la cadena de auditoría: cada corrida parte del último punto válido
+-- (última posición verificada y su hash) y solo recorre lo agregado después. valid = FALSE registra una
+-- ruptura en broken_id y no avanza el punto de partida.
+CREATE TABLE audit_checkpoints (
+    id            BIGSERIAL       PRIMARY KEY,
+    last_seq      BIGINT          NOT NULL,
+    last_hash     VARCHAR(64),
+    rows_verified BIGINT          NOT NULL,
+    valid         BOOLEAN         NOT NULL,
+    broken_id     BIGINT,
+    verified_at   TIMESTAMP       NOT NULL DEFAULT NOW()
 );
 
 -- ============================================================
@@ -268,6 +490,17 @@ CREATE INDEX idx_tickets_tecnico             ON tickets (tecnico_asignado_id);
 CREATE INDEX idx_tickets_hardware            ON tickets (hardware_id);
 CREATE INDEX idx_tickets_created             ON tickets (created_at DESC);
 CREATE INDEX idx_tickets_deleted             ON tickets (deleted);
+-- Paginación keyset (GET /api/tickets/page y /api/tickets/my/page)
+CREATE INDEX idx_tickets_keyset              ON tickets (created_at DESC, id DESC) WHERE deleted = FALSE;
+CREATE INDEX idx_tickets_tecnico_keyset      ON tickets (tecnico_asignado_id, created_at DESC, id DESC) WHERE deleted = FALSE;
+CREATE INDEX idx_tickets_solicitante_keyset  ON tickets (solicitante_id, created_at DESC, id DESC) WHERE deleted = FALSE;
+-- Un solo ticket activo por equipo (lo traduce TicketService.create a BusinessRuleException)
+CREATE UNIQUE INDEX uk_tickets_hardware_activo ON tickets (hardware_id) WHERE status <> 'CERRADO' AND deleted = FALSE;
+-- Candidatos a archivo (TicketArchiver)
+CREATE INDEX idx_tickets_archivables        ON tickets (closed_at, id) WHERE status = 'CERRADO';
+
+-- Bitácora (historial paginado por keyset sobre id)
+CREATE INDEX idx_bitacora_ticket             ON ticket_bitacora (ticket_id, id);
 
 -- Contratos
 CREATE INDEX idx_contracts_active            ON contracts (active);
@@ -275,9 +508,25 @@ CREATE INDEX idx_contracts_fecha_fin         ON contracts (fecha_fin);
 CREATE INDEX idx_contracts_proveedor         ON contracts (proveedor);
 
 -- Auditoría
-CREATE INDEX idx_audit_entity                ON audit_log (entity_name, entity_id);
-CREATE INDEX idx_audit_timestamp             ON audit_log (timestamp DESC);
-CREATE INDEX idx_audit_username              ON audit_log (username);
+-- (filtro, timestamp DESC, id DESC): mismo orden que el keyset de GET /api/audit/search
+CREATE INDEX idx_audit_timestamp             ON audit_log (timestamp DESC, id DESC);
+CREATE INDEX idx_audit_entity                ON audit_log (entity_name, entity_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_entity_name           ON audit_log (entity_name, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_username              ON audit_log (username, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_action                ON audit_log (action, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_field                 ON audit_log (field, timestamp DESC, id DESC) WHERE field IS NOT NULL;
+CREATE INDEX idx_audit_chain_seq             ON audit_log (chain_seq);
+CREATE INDEX idx_idempotency_expires         ON idempotency_keys (expires_at);
+CREATE INDEX idx_audit_checkpoints_valid     ON audit_checkpoints (valid, id DESC);
+
+-- Archivo
+CREATE INDEX idx_bitacora_archive_ticket     ON ticket_bitacora_archive (ticket_id, id);
+CREATE INDEX idx_audit_archive_timestamp     ON audit_log_archive (timestamp DESC, id DESC);
+CREATE INDEX idx_audit_archive_entity        ON audit_log_archive (entity_name, entity_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_archive_username      ON audit_log_archive (username, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_archive_action        ON audit_log_archive (action, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_archive_chain_seq     ON audit_log_archive (chain_seq);
+CREATE INDEX idx_audit_archive_field         ON audit_log_archive (field, timestamp DESC, id DESC) WHERE field IS NOT NULL;
 
 -- ============================================================
 -- 8. DATOS SEMILLA (SEED DATA)
@@ -349,13 +598,30 @@ INSERT INTO contracts (nombre, proveedor, numero_contrato, fecha_inicio, fecha_f
     ('Licencias Microsoft EA',      'Microsoft',         'CONT-MS-2025',  '2025-01-01', '2027-12-31', NULL,                                'Office 365, Windows, Server CALs', 'Renovación anual automática.'),
     ('Soporte Impresoras',          'PrintServices SA',  'CONT-2025-004', '2025-06-01', '2026-06-01', 'Impresoras Brother y HP',           NULL,                              'Respuesta en 8 horas hábiles. Incluye tóner.');
 
--- 8.9 Tickets de ejemplo
-INSERT INTO tickets (asunto, descripcion, status, prioridad, juzgado_id, solicitante_id, tecnico_asignado_id, hardware_id, bitacora, canal) VALUES
-    ('PC no enciende',              'La PC del puesto 1 no enciende desde esta mañana.',                'ASIGNADO',   'ALTA',  1, 4, 2, 1, '2026-02-25 08:00 - Ticket creado por operador1\n2026-02-25 08:15 - Asignado a tecnico1', 'WEB'),
-    ('Instalar Office en nuevo equipo','Se requiere instalación de Office 365 en equipo recién recibido.','SOLICITADO', 'MEDIA', 2, 4, NULL, NULL, '2026-02-25 09:00 - Ticket creado por operador1', 'WEB'),
-    ('Impresora atascada',          'La impresora del área común se atasca constantemente.',             'EN_CURSO',   'MEDIA', 2, 4, 2, 3, '2026-02-25 10:00 - Ticket creado\n2026-02-25 10:30 - Técnico en camino', 'PORTAL'),
-    ('Sin acceso a internet',       'No hay conectividad en todo el juzgado desde las 14:00.',          'SOLICITADO', 'ALTA',  4, 5, NULL, NULL, '2026-02-25 14:00 - Ticket creado por operador2', 'EMAIL'),
-    ('Solicitar tóner',             'Se agotó el tóner de la impresora Brother del piso 2.',            'CERRADO',    'BAJA',  1, 4, 2, 3, '2026-02-24 - Solicitado\n2026-02-25 - Tóner reemplazado. Cerrado.', 'PORTAL');
+-- 8.9 Reglas de prioridad
+INSERT INTO priority_rules (keyword, prioridad) VALUES
+    ('juez',      'ALTA'),
+    ('audiencia', 'ALTA'),
+    ('sala',      'ALTA');
+
+-- 8.10 Tickets de ejemplo
+INSERT INTO tickets (asunto, descripcion, status, prioridad, juzgado_id, solicitante_id, tecnico_asignado_id, hardware_id, bitacora_count, canal) VALUES
+    ('PC no enciende',              'La PC del puesto 1 no enciende desde esta mañana.',                'ASIGNADO',   'ALTA',  1, 4, 2, 1, 2, 'WEB'),
+    ('Instalar Office en nuevo equipo','Se requiere instalación de Office 365 en equipo recién recibido.','SOLICITADO', 'MEDIA', 2, 4, NULL, NULL, 1, 'WEB'),
+    ('Impresora atascada',          'La impresora del área común se atasca constantemente.',             'EN_CURSO',   'MEDIA', 2, 4, 2, 3, 2, 'PORTAL'),
+    ('Sin acceso a internet',       'No hay conectividad en todo el juzgado desde las 14:00.',          'SOLICITADO', 'ALTA',  4, 5, NULL, NULL, 1, 'EMAIL'),
+    ('Solicitar tóner',             'Se agotó el tóner de la impresora Brother del piso 2.',            'CERRADO',    'BAJA',  1, 4, 2, 3, 2, 'PORTAL');
+
+-- 8.11 Bitácora de los tickets de ejemplo
+INSERT INTO ticket_bitacora (ticket_id, autor, texto, created_at) VALUES
+    (1, 'operador1', 'Ticket creado',           '2026-02-25 08:00'),
+    (1, 'admin',     'Asignado a tecnico1',     '2026-02-25 08:15'),
+    (2, 'operador1', 'Ticket creado',           '2026-02-25 09:00'),
+    (3, 'operador1', 'Ticket creado',           '2026-02-25 10:00'),
+    (3, 'tecnico1',  'Técnico en camino',       '2026-02-25 10:30'),
+    (4, 'operador2', 'Ticket creado',           '2026-02-25 14:00'),
+    (5, 'operador1', 'Solicitado',              '2026-02-24 00:00'),
+    (5, 'tecnico1',  'Tóner reemplazado. Cerrado.', '2026-02-25 00:00');
 
 -- ============================================================
 -- FIN DEL DDL
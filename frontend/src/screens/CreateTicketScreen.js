@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useRef, useState } from 'react';
 import {
     View,
     Text,
@@ -8,16 +8,19 @@ import {
     ScrollView,
     Alert,
     ActivityIndicator,
+    Switch,
 } from 'react-native';
 import { Ionicons } from '@expo/vector-icons';
-import { ticketsAPI } from '../services/api';
+import { newIdempotencyKey, ticketsAPI } from '../services/api';
 import { COLORS } from '../constants/theme';
 
 export default function CreateTicketScreen({ navigation }) {
     const [asunto, setAsunto] = useState('');
     const [descripcion, setDescripcion] = useState('');
     const [prioridad, setPrioridad] = useState('MEDIA');
+    const [autoAsignar, setAutoAsignar] = useState(false);
     const [loading, setLoading] = useState(false);
+    const idempotencyKey = useRef(newIdempotencyKey());
 
     const priorities = [
         { value: 'BAJA', label: 'Baja', color: COLORS.success },
@@ -33,16 +36,26 @@ export default function CreateTicketScreen({ navigation }) {
 
         setLoading(true);
         try {
-            await ticketsAPI.create({
+            const response = await ticketsAPI.create({
                 asunto: asunto.trim(),
                 descripcion: descripcion.trim(),
                 prioridad,
                 canal: 'APP_MOVIL',
-            });
-            Alert.alert('Éxito', 'Ticket creado correctamente', [
+                autoAsignar,
+            }, idempotencyKey.current);
+            const duplicados = response.data.posiblesDuplicados || [];
+            const mensaje = duplicados.length > 0
+                ? `Ticket creado. Posible duplicado de: ${duplicados.map((id) => `#${id}`).join(', ')}`
+                : 'Ticket creado correctamente';
+            Alert.alert('Éxito', mensaje, [
                 { text: 'OK', onPress: () => navigation.goBack() },
             ]);
         } catch (error) {
+            // Sin respuesta (corte de red) se reintenta con la misma clave; si el servidor respondió, el
+            // próximo envío es un alta nueva
+            if (error.response) {
+                idempotencyKey.current = newIdempotencyKey();
+            }
             Alert.alert('Error', 'No se pudo crear el ticket');
         } finally {
             setLoading(false);
@@ -109,6 +122,16 @@ export default function CreateTicketScreen({ navigation }) {
                     </View>
                 </View>
 
+                {/* Asignación automática */}
+                <View style={[styles.field, styles.switchRow]}>
+                    <Text style={styles.label}>Asignar técnico automáticamente</Text>
+                    <Switch
+                        value={autoAsignar}
+                        onValueChange={setAutoAsignar}
+                        trackColor={{ true: COLORS.accent }}
+                    />
+                </View>
+
                 {/* Submit */}
                 <TouchableOpacity
                     style={[styles.submitBtn, loading && { opacity: 0.7 }]}
@@ -185,6 +208,11 @@ const styles = StyleSheet.create({
         fontSize: 13,
         color: COLORS.textMuted,
     },
+    switchRow: {
+        flexDirection: 'row',
+        alignItems: 'center',
+        justifyContent: 'space-between',
+    },
     submitBtn: {
         flexDirection: 'row',
         alignItems: 'center',
@@ -1,4 +1,4 @@
-import React, { useState, useCallback } from 'react';
+import React, { useState, useCallback, useRef } from 'react';
 import {
     View,
     Text,
@@ -12,6 +12,7 @@ import { Ionicons } from '@expo/vector-icons';
 import { useFocusEffect } from '@react-navigation/native';
 import { useAuth } from '../context/AuthContext';
 import { dashboardAPI } from '../services/api';
+import { subscribeTicketStream } from '../services/ticketStream';
 import { COLORS } from '../constants/theme';
 
 export default function DashboardScreen({ navigation }) {
@@ -32,9 +33,21 @@ export default function DashboardScreen({ navigation }) {
         }
     };
 
+    // Una ráfaga de cambios de tickets se traduce en una sola relectura de las estadísticas
+    const reloadTimer = useRef(null);
+    const scheduleReload = () => {
+        clearTimeout(reloadTimer.current);
+        reloadTimer.current = setTimeout(loadStats, 1000);
+    };
+
     useFocusEffect(
         useCallback(() => {
             loadStats();
+            const unsubscribe = subscribeTicketStream({ scope: 'all', onTicket: scheduleReload, onReset: scheduleReload });
+            return () => {
+                clearTimeout(reloadTimer.current);
+                unsubscribe();
+            };
         }, [])
     );
 
@@ -58,6 +71,14 @@ export default function DashboardScreen({ navigation }) {
         { label: 'Hardware', value: stats?.totalHardware ?? 0, icon: 'hardware-chip-outline', color: COLORS.accent },
         { label: 'Software', value: stats?.totalSoftware ?? 0, icon: 'apps-outline', color: COLORS.warning },
         { label: 'Contratos', value: stats?.contratosVigentes ?? 0, icon: 'document-text-outline', color: COLORS.success },
+        { label: 'SLA en riesgo', value: stats?.slaEnRiesgo ?? 0, icon: 'time-outline', color: COLORS.warning },
+        { label: 'SLA incumplidos', value: stats?.slaIncumplidos ?? 0, icon: 'alarm-outline', color: COLORS.danger },
+        {
+            label: 'Próximo vencimiento',
+            value: stats?.slaMinutosProximoIncumplimiento != null ? `${stats.slaMinutosProximoIncumplimiento} min` : '—',
+            icon: 'hourglass-outline',
+            color: COLORS.info,
+        },
     ];
 
     return (
@@ -15,6 +15,7 @@ import { COLORS, TICKET_STATUS, PRIORITY } from '../constants/theme';
 export default function TicketDetailScreen({ route, navigation }) {
     const { ticketId } = route.params;
     const [ticket, setTicket] = useState(null);
+    const [bitacora, setBitacora] = useState({ items: [], nextCursor: null, hasMore: false });
     const [loading, setLoading] = useState(true);
 
     useEffect(() => {
@@ -23,8 +24,12 @@ export default function TicketDetailScreen({ route, navigation }) {
 
     const loadTicket = async () => {
         try {
-            const response = await ticketsAPI.getById(ticketId);
+            const [response, historial] = await Promise.all([
+                ticketsAPI.getById(ticketId),
+                ticketsAPI.getBitacora(ticketId),
+            ]);
             setTicket(response.data);
+            setBitacora(historial.data);
         } catch (error) {
             Alert.alert('Error', 'No se pudo cargar el ticket');
             navigation.goBack();
@@ -33,15 +38,30 @@ export default function TicketDetailScreen({ route, navigation }) {
         }
     };
 
+    const loadMoreBitacora = async () => {
+        try {
+            const response = await ticketsAPI.getBitacora(ticketId, bitacora.nextCursor);
+            setBitacora({ ...response.data, items: [...bitacora.items, ...response.data.items] });
+        } catch (error) {
+            Alert.alert('Error', 'No se pudo cargar la bitácora');
+        }
+    };
+
     const changeStatus = async (newStatus) => {
         try {
             await ticketsAPI.changeStatus(ticketId, {
                 status: newStatus,
                 comentario: `Estado cambiado a ${newStatus}`,
+                version: ticket.version,
             });
             loadTicket();
             Alert.alert('Éxito', `Estado actualizado a ${newStatus}`);
         } catch (error) {
+            if (error.response?.status === 409 && error.response.data?.current) {
+                setTicket(error.response.data.current);
+                Alert.alert('Conflicto', 'El ticket fue modificado por otro usuario. Revise el estado actual.');
+                return;
+            }
             Alert.alert('Error', 'No se pudo actualizar el estado');
         }
     };
@@ -91,12 +111,21 @@ export default function TicketDetailScreen({ route, navigation }) {
             )}
 
             {/* Bitácora */}
-            {ticket.bitacora && (
+            {ticket.bitacoraCount > 0 && (
                 <View style={styles.section}>
-                    <Text style={styles.sectionTitle}>Bitácora</Text>
+                    <Text style={styles.sectionTitle}>Bitácora ({ticket.bitacoraCount})</Text>
                     <View style={styles.logBox}>
-                        <Text style={styles.logText}>{ticket.bitacora}</Text>
+                        {bitacora.items.map((entry) => (
+                            <Text key={entry.id} style={styles.logText}>
+                                [{entry.createdAt}] {entry.autor ? `${entry.autor}: ` : ''}{entry.texto}
+                            </Text>
+                        ))}
                     </View>
+                    {bitacora.hasMore && (
+                        <TouchableOpacity onPress={loadMoreBitacora}>
+                            <Text style={styles.dateLabel}>Ver más</Text>
+                        </TouchableOpacity>
+                    )}
                 </View>
             )}
 
@@ -113,6 +142,12 @@ export default function TicketDetailScreen({ route, navigation }) {
                         <Text style={styles.dateValue}>{ticket.updatedAt}</Text>
                     </View>
                 )}
+                {ticket.slaVencimiento && !ticket.closedAt && (
+                    <View style={styles.dateRow}>
+                        <Text style={styles.dateLabel}>Vence SLA:</Text>
+                        <Text style={styles.dateValue}>{ticket.slaVencimiento}</Text>
+                    </View>
+                )}
                 {ticket.closedAt && (
                     <View style={styles.dateRow}>
                         <Text style={styles.dateLabel}>Cerrado:</Text>
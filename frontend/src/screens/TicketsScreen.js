@@ -12,6 +12,7 @@ import {
 import { Ionicons } from '@expo/vector-icons';
 import { useFocusEffect } from '@react-navigation/native';
 import { ticketsAPI } from '../services/api';
+import { subscribeTicketStream } from '../services/ticketStream';
 import { COLORS, TICKET_STATUS, PRIORITY } from '../constants/theme';
 
 export default function TicketsScreen({ navigation }) {
@@ -31,9 +32,30 @@ export default function TicketsScreen({ navigation }) {
         }
     };
 
+    // Cambios empujados por el servidor: se refresca solo la fila afectada, sin recargar el listado
+    const applyChange = async (change) => {
+        if (change.type === 'DELETED') {
+            setTickets((current) => current.filter((t) => t.id !== change.ticketId));
+            return;
+        }
+        try {
+            const { data } = await ticketsAPI.getById(change.ticketId);
+            setTickets((current) => {
+                const index = current.findIndex((t) => t.id === data.id);
+                if (index < 0) return [data, ...current];
+                const next = [...current];
+                next[index] = data;
+                return next;
+            });
+        } catch (error) {
+            console.error('Error refreshing ticket:', error);
+        }
+    };
+
     useFocusEffect(
         useCallback(() => {
             loadTickets();
+            return subscribeTicketStream({ scope: 'all', onTicket: applyChange, onReset: loadTickets });
         }, [])
     );
 
@@ -34,6 +34,13 @@ api.interceptors.response.use(
     }
 );
 
+// Idempotency-Key: una por alta (no por intento), así un reintento tras un corte de red no duplica
+export const newIdempotencyKey = () =>
+    `${Date.now().toString(36)}-${Math.random().toString(36).slice(2, 12)}`;
+
+const idempotent = (idempotencyKey) =>
+    idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined;
+
 // ---- Auth ----
 export const authAPI = {
     login: (username, password) =>
@@ -45,16 +52,21 @@ export const authAPI = {
 export const ticketsAPI = {
     getAll: () => api.get('/api/tickets'),
     getMyTickets: () => api.get('/api/tickets/my'),
+    getPage: (cursor, size = 50) => api.get('/api/tickets/page', { params: { cursor, size } }),
+    getMyPage: (cursor, size = 50) => api.get('/api/tickets/my/page', { params: { cursor, size } }),
     getById: (id) => api.get(`/api/tickets/${id}`),
-    create: (data) => api.post('/api/tickets', data),
+    getBitacora: (id, cursor, size = 50) => api.get(`/api/tickets/${id}/bitacora`, { params: { cursor, size } }),
+    create: (data, idempotencyKey) => api.post('/api/tickets', data, idempotent(idempotencyKey)),
     changeStatus: (id, data) => api.patch(`/api/tickets/${id}/status`, data),
+    bulk: (data) => api.post('/api/tickets/bulk', data),
 };
 
 // ---- Inventory ----
 export const inventoryAPI = {
     getAllHardware: () => api.get('/api/inventory/hardware'),
     getHardwareById: (id) => api.get(`/api/inventory/hardware/${id}`),
-    createHardware: (data) => api.post('/api/inventory/hardware', data),
+    createHardware: (data, idempotencyKey) =>
+        api.post('/api/inventory/hardware', data, idempotent(idempotencyKey)),
     getAllSoftware: () => api.get('/api/inventory/software'),
     getSoftwareById: (id) => api.get(`/api/inventory/software/${id}`),
     createSoftware: (data) => api.post('/api/inventory/software', data),
@@ -91,6 +103,10 @@ export const auditAPI = {
     getRecent: () => api.get('/api/audit'),
     getByEntity: (entityName, entityId) =>
         api.get(`/api/audit/entity/${entityName}/${entityId}`),
+    // filters: { username, action, entityName, entityId, field, desde, hasta } (fechas ISO, hasta exclusivo)
+    search: (filters, cursor, size = 50) =>
+        api.get('/api/audit/search', { params: { ...filters, cursor, size } }),
+    verifyChain: () => api.post('/api/audit/verify'),
 };
 
 export default api;
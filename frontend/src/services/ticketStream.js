@@ -0,0 +1,69 @@
+import AsyncStorage from '@react-native-async-storage/async-storage';
+import { API_BASE_URL } from '../constants/theme';
+
+// Cliente SSE mínimo sobre XMLHttpRequest: funciona en React Native y web, y a diferencia de
+// EventSource permite enviar el JWT en la cabecera Authorization.
+// Reconecta solo, reenviando Last-Event-ID para recibir lo que se perdió durante el corte.
+export function subscribeTicketStream({ scope = 'my', onTicket, onReset }) {
+    let xhr = null;
+    let closed = false;
+    let lastEventId = null;
+    let retryMs = 5000;
+    let timer = null;
+
+    const dispatch = (block) => {
+        let event = 'message';
+        let id = null;
+        const data = [];
+        block.split('\n').forEach((line) => {
+            if (!line || line.startsWith(':')) return;
+            const sep = line.indexOf(':');
+            const field = sep < 0 ? line : line.slice(0, sep);
+            const value = sep < 0 ? '' : line.slice(sep + 1).replace(/^ /, '');
+            if (field === 'event') event = value;
+            else if (field === 'id') id = value;
+            else if (field === 'data') data.push(value);
+            else if (field === 'retry' && /^\d+$/.test(value)) retryMs = Number(value);
+        });
+        if (id) lastEventId = id;
+        if (event === 'ticket' && data.length) {
+            onTicket?.(JSON.parse(data.join('\n')));
+        } else if (event === 'reset') {
+            onReset?.();
+        }
+    };
+
+    const connect = async () => {
+        const token = await AsyncStorage.getItem('token');
+        if (closed) return;
+        let offset = 0;
+        let buffer = '';
+        xhr = new XMLHttpRequest();
+        xhr.open('GET', `${API_BASE_URL}/api/tickets/stream?scope=${scope}`);
+        xhr.setRequestHeader('Accept', 'text/event-stream');
+        if (token) xhr.setRequestHeader('Authorization', `Bearer ${token}`);
+        if (lastEventId) xhr.setRequestHeader('Last-Event-ID', lastEventId);
+        xhr.onprogress = () => {
+            buffer += xhr.responseText.slice(offset);
+            offset = xhr.responseText.length;
+            let end;
+            while ((end = buffer.indexOf('\n\n')) >= 0) {
+                dispatch(buffer.slice(0, end));
+                buffer = buffer.slice(end + 2);
+            }
+        };
+        xhr.onloadend = () => {
+            if (closed || xhr.status === 401 || xhr.status === 403) return;
+            timer = setTimeout(connect, retryMs);
+        };
+        xhr.send();
+    };
+
+    connect();
+
+    return () => {
+        closed = true;
+        clearTimeout(timer);
+        xhr?.abort();
+    };
+}